@@ -12,6 +12,8 @@ signal battery_optimizations_permission_granted(permission_name: String)
 signal battery_optimizations_permission_denied(permission_name: String)
 signal notification_opened(notification_data: NotificationData)
 signal notification_dismissed(notification_data: NotificationData)
+signal notifications_dismissed_batch(notifications: Array[NotificationData])
+signal notification_fired(notification_data: NotificationData, scheduled_time_ms: int, delivered_time_ms: int, lateness_ms: int)
 
 const PLUGIN_SINGLETON_NAME: String = "@pluginName@"
 
@@ -22,6 +24,23 @@ const BATTERY_OPTIMIZATIONS_PERMISSION_GRANTED_SIGNAL_NAME = "battery_optimizati
 const BATTERY_OPTIMIZATIONS_PERMISSION_DENIED_SIGNAL_NAME = "battery_optimizations_permission_denied"
 const NOTIFICATION_OPENED_SIGNAL_NAME = "notification_opened"
 const NOTIFICATION_DISMISSED_SIGNAL_NAME = "notification_dismissed"
+const NOTIFICATIONS_DISMISSED_BATCH_SIGNAL_NAME = "notifications_dismissed_batch"
+const NOTIFICATION_FIRED_SIGNAL_NAME = "notification_fired"
+const EVENTS_REPLAYED_SIGNAL_NAME = "events_replayed"
+const NOTIFICATION_EVENTS_SIGNAL_NAME = "notification_events"
+
+enum EventType {
+	OPENED = 1,
+	DISMISSED = 2,
+	FIRED = 3
+}
+
+# Type of the queued event that carries the sequence number of the last replayed stored event
+const EVENT_TYPE_REPLAYED: int = 0
+
+const EVENT_KEY_TYPE = "type"
+const EVENT_KEY_NOTIFICATION_DATA = "notification_data"
+const EVENT_KEY_SEQUENCE = "sequence"
 
 const DEFAULT_NOTIFICATION_ID: int = -1
 const DEFAULT_ICON_NAME: String = "ic_default_notification"
@@ -33,18 +52,22 @@ func _connect_signals() -> void:
 	_plugin_singleton.connect(INITIALIZATION_COMPLETED_SIGNAL_NAME, _on_initialization_completed)
 	_plugin_singleton.connect(NOTIFICATION_OPENED_SIGNAL_NAME, _on_notification_opened)
 	_plugin_singleton.connect(NOTIFICATION_DISMISSED_SIGNAL_NAME, _on_notification_dismissed)
+	_plugin_singleton.connect(NOTIFICATIONS_DISMISSED_BATCH_SIGNAL_NAME, _on_notifications_dismissed_batch)
+	_plugin_singleton.connect(NOTIFICATION_FIRED_SIGNAL_NAME, _on_notification_fired)
+	_plugin_singleton.connect(EVENTS_REPLAYED_SIGNAL_NAME, _on_events_replayed)
+	_plugin_singleton.connect(NOTIFICATION_EVENTS_SIGNAL_NAME, _on_notification_events)
 	_plugin_singleton.connect(POST_NOTIFICATIONS_PERMISSION_GRANTED_SIGNAL_NAME, _on_post_notifications_permission_granted)
 	_plugin_singleton.connect(POST_NOTIFICATIONS_PERMISSION_DENIED_SIGNAL_NAME, _on_post_notifications_permission_denied)
 	_plugin_singleton.connect(BATTERY_OPTIMIZATIONS_PERMISSION_GRANTED_SIGNAL_NAME, _on_battery_optimizations_permission_granted)
 	_plugin_singleton.connect(BATTERY_OPTIMIZATIONS_PERMISSION_DENIED_SIGNAL_NAME, _on_battery_optimizations_permission_denied)
 
 
-func initialize() -> void:
+func initialize(a_settings: SchedulerSettings = SchedulerSettings.new()) -> void:
 	if _plugin_singleton == null:
 		if Engine.has_singleton(PLUGIN_SINGLETON_NAME):
 			_plugin_singleton = Engine.get_singleton(PLUGIN_SINGLETON_NAME)
 			_connect_signals()
-			_plugin_singleton.initialize()
+			_plugin_singleton.initialize(a_settings.get_raw_data())
 		elif not OS.has_feature("editor_hint"):
 			log_error("%s singleton not found!" % PLUGIN_SINGLETON_NAME)
 
@@ -61,6 +84,26 @@ func create_notification_channel(a_notification_channel: NotificationChannel) ->
 	return __result
 
 
+func create_notification_channels(a_channels: Array[NotificationChannel],
+		a_groups: Array[NotificationChannelGroup] = []) -> PackedInt32Array:
+	var __result: PackedInt32Array
+
+	if _plugin_singleton:
+		var __raw_channel_array: Array = []
+		for __channel in a_channels:
+			__raw_channel_array.append(__channel.get_raw_data())
+		var __raw_group_array: Array = []
+		for __group in a_groups:
+			__raw_group_array.append(__group.get_raw_data())
+		__result = _plugin_singleton.create_notification_channels(__raw_channel_array, __raw_group_array)
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+		__result.resize(a_channels.size())
+		__result.fill(ERR_UNCONFIGURED)
+
+	return __result
+
+
 func schedule(a_notification_data: NotificationData) -> Error:
 	var __result: Error
 
@@ -73,6 +116,22 @@ func schedule(a_notification_data: NotificationData) -> Error:
 	return __result
 
 
+func schedule_batch(a_notifications: Array[NotificationData]) -> PackedInt32Array:
+	var __result: PackedInt32Array
+
+	if _plugin_singleton:
+		var __raw_data_array: Array = []
+		for __notification_data in a_notifications:
+			__raw_data_array.append(__notification_data.get_raw_data())
+		__result = _plugin_singleton.schedule_batch(__raw_data_array)
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+		__result.resize(a_notifications.size())
+		__result.fill(ERR_UNCONFIGURED)
+
+	return __result
+
+
 func cancel(a_notification_id: int) -> Error:
 	var __result: Error
 
@@ -85,6 +144,118 @@ func cancel(a_notification_id: int) -> Error:
 	return __result
 
 
+func cancel_all() -> int:
+	var __result: int = 0
+
+	if _plugin_singleton:
+		__result = _plugin_singleton.cancel_all()
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+
+	return __result
+
+
+func cancel_by_channel(a_channel_id: String) -> int:
+	var __result: int = 0
+
+	if _plugin_singleton:
+		__result = _plugin_singleton.cancel_by_channel(a_channel_id)
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+
+	return __result
+
+
+func cancel_range(a_first_id: int, a_last_id: int) -> int:
+	var __result: int = 0
+
+	if _plugin_singleton:
+		__result = _plugin_singleton.cancel_range(a_first_id, a_last_id)
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+
+	return __result
+
+
+func is_scheduled(a_notification_id: int) -> bool:
+	var __result: bool = false
+
+	if _plugin_singleton:
+		__result = _plugin_singleton.is_scheduled(a_notification_id)
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+
+	return __result
+
+
+func get_scheduled_notifications() -> Array[NotificationData]:
+	var __result: Array[NotificationData] = []
+
+	if _plugin_singleton:
+		for __notification_data in _plugin_singleton.get_scheduled_notifications():
+			__result.append(NotificationData.new(__notification_data))
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+
+	return __result
+
+
+func get_scheduled_by_channel(a_channel_id: String) -> Array[NotificationData]:
+	var __result: Array[NotificationData] = []
+
+	if _plugin_singleton:
+		for __notification_data in _plugin_singleton.get_scheduled_by_channel(a_channel_id):
+			__result.append(NotificationData.new(__notification_data))
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+
+	return __result
+
+
+func get_next_due(a_limit: int) -> Array[NotificationData]:
+	var __result: Array[NotificationData] = []
+
+	if _plugin_singleton:
+		for __notification_data in _plugin_singleton.get_next_due(a_limit):
+			__result.append(NotificationData.new(__notification_data))
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+
+	return __result
+
+
+func get_metrics() -> Dictionary:
+	var __result: Dictionary = {}
+
+	if _plugin_singleton:
+		__result = _plugin_singleton.get_metrics()
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+
+	return __result
+
+
+# Returns the events that were queued since the last call, oldest first, when event delivery is POLL. Each event has
+# the EVENT_KEY_TYPE and EVENT_KEY_NOTIFICATION_DATA keys; FIRED events also have the keys of notification_fired.
+func drain_events(a_max_count: int = 0) -> Array[Dictionary]:
+	var __result: Array[Dictionary] = []
+
+	if _plugin_singleton:
+		var __last_replayed_sequence: int = -1
+		for __event in _plugin_singleton.drain_events(a_max_count):
+			if __event[EVENT_KEY_TYPE] == EVENT_TYPE_REPLAYED:
+				__last_replayed_sequence = __event[EVENT_KEY_SEQUENCE]
+			else:
+				__event[EVENT_KEY_NOTIFICATION_DATA] = NotificationData.new(__event[EVENT_KEY_NOTIFICATION_DATA])
+				__result.append(__event)
+		if __last_replayed_sequence >= 0:
+			_on_events_replayed(__last_replayed_sequence)
+	else:
+		log_error("%s singleton not initialized!" % PLUGIN_SINGLETON_NAME)
+
+	return __result
+
+
 func set_badge_count(a_count: int) -> Error:
 	var __result: Error
 
@@ -174,6 +345,37 @@ func _on_notification_dismissed(a_notification_data: Dictionary) -> void:
 	notification_dismissed.emit(NotificationData.new(a_notification_data))
 
 
+func _on_notifications_dismissed_batch(a_notifications: Array) -> void:
+	var __notifications: Array[NotificationData] = []
+	for __notification_data in a_notifications:
+		__notifications.append(NotificationData.new(__notification_data))
+	notifications_dismissed_batch.emit(__notifications)
+
+
+func _on_notification_fired(a_event: Dictionary) -> void:
+	notification_fired.emit(NotificationData.new(a_event["notification_data"]), a_event["scheduled_time_ms"],
+			a_event["delivered_time_ms"], a_event["lateness_ms"])
+
+
+# Stored events remain on the device until acknowledged, so they are delivered again if the app exits before handling them
+func _on_events_replayed(a_last_sequence: int) -> void:
+	_plugin_singleton.acknowledge_events(a_last_sequence)
+
+
+# Emits the signal of each event that was queued in the last frame, when event delivery is FRAME
+func _on_notification_events(a_events: Array) -> void:
+	for __event in a_events:
+		match __event[EVENT_KEY_TYPE]:
+			EventType.OPENED:
+				_on_notification_opened(__event[EVENT_KEY_NOTIFICATION_DATA])
+			EventType.DISMISSED:
+				_on_notification_dismissed(__event[EVENT_KEY_NOTIFICATION_DATA])
+			EventType.FIRED:
+				_on_notification_fired(__event)
+			EVENT_TYPE_REPLAYED:
+				_on_events_replayed(__event[EVENT_KEY_SEQUENCE])
+
+
 func _on_post_notifications_permission_granted(a_permission_name: String) -> void:
 	post_notifications_permission_granted.emit(a_permission_name)
 
@@ -107,6 +107,9 @@ class AndroidExportPlugin extends EditorExportPlugin:
 				<intent-filter>
 					<action android:name="android.intent.action.BOOT_COMPLETED" />
 					<action android:name="android.intent.action.QUICKBOOT_POWERON" />
+					<action android:name="android.intent.action.MY_PACKAGE_REPLACED" />
+					<action android:name="android.intent.action.TIME_SET" />
+					<action android:name="android.intent.action.TIMEZONE_CHANGED" />
 				</intent-filter>
 			</receiver>
 			""" % BOOT_RECEIVER_CLASS_PATH
@@ -13,11 +13,30 @@ enum Importance {
 	MAX = 5	# Unused as of SDK 34
 }
 
+enum LockscreenVisibility {
+	SECRET = -1,
+	PRIVATE = 0,
+	PUBLIC = 1
+}
+
 const DATA_KEY_ID = "id"
 const DATA_KEY_NAME = "name"
 const DATA_KEY_DESCRIPTION = "description"
 const DATA_KEY_IMPORTANCE = "importance"
 const DATA_KEY_BADGE_ENABLED = "badge_enabled"
+const DATA_KEY_COALESCE_WINDOW = "coalesce_window"
+const DATA_KEY_GROUP_ID = "group_id"
+const DATA_KEY_SOUND_ENABLED = "sound_enabled"
+const DATA_KEY_VIBRATION_ENABLED = "vibration_enabled"
+const DATA_KEY_VIBRATION_PATTERN = "vibration_pattern"
+const DATA_KEY_LIGHTS_ENABLED = "lights_enabled"
+const DATA_KEY_LIGHT_COLOR = "light_color"
+const DATA_KEY_LOCKSCREEN_VISIBILITY = "lockscreen_visibility"
+const DATA_KEY_BYPASS_DND = "bypass_dnd"
+const DATA_KEY_QUOTA_MAX_COUNT = "quota_max_count"
+const DATA_KEY_QUOTA_WINDOW = "quota_window"
+const DATA_KEY_QUIET_HOURS_START = "quiet_hours_start"
+const DATA_KEY_QUIET_HOURS_END = "quiet_hours_end"
 
 var _data: Dictionary
 
@@ -51,5 +70,76 @@ func set_badge_enabled(a_is_enabled: bool) -> NotificationChannel:
 	return self
 
 
+# Android only. Notifications of the channel that are due within this many seconds of each other are delivered
+# together as a notification group. Set to 0 to disable.
+func set_coalesce_window(a_seconds: int) -> NotificationChannel:
+	_data[DATA_KEY_COALESCE_WINDOW] = a_seconds
+	return self
+
+
+# Android only. At most a_max_count notifications of the channel are posted within any a_window_seconds. Notifications
+# beyond that are handled as set by SchedulerSettings.set_quota_action(). Set either to 0 to disable.
+func set_quota(a_max_count: int, a_window_seconds: int) -> NotificationChannel:
+	_data[DATA_KEY_QUOTA_MAX_COUNT] = a_max_count
+	_data[DATA_KEY_QUOTA_WINDOW] = a_window_seconds
+	return self
+
+
+# Android only. Quiet hours of the channel, which replace the ones set with SchedulerSettings.set_quiet_hours(). Set the
+# same start and end time to exempt the channel from quiet hours.
+func set_quiet_hours(a_start_hour: int, a_start_minute: int, a_end_hour: int, a_end_minute: int) -> NotificationChannel:
+	_data[DATA_KEY_QUIET_HOURS_START] = a_start_hour * 60 + a_start_minute
+	_data[DATA_KEY_QUIET_HOURS_END] = a_end_hour * 60 + a_end_minute
+	return self
+
+
+# Android only. ID of a NotificationChannelGroup that is created before or along with the channel.
+func set_group_id(a_group_id: String) -> NotificationChannel:
+	_data[DATA_KEY_GROUP_ID] = a_group_id
+	return self
+
+
+# Android only. Set to false for a silent channel.
+func set_sound_enabled(a_is_enabled: bool) -> NotificationChannel:
+	_data[DATA_KEY_SOUND_ENABLED] = a_is_enabled
+	return self
+
+
+# Android only.
+func set_vibration_enabled(a_is_enabled: bool) -> NotificationChannel:
+	_data[DATA_KEY_VIBRATION_ENABLED] = a_is_enabled
+	return self
+
+
+# Android only. Durations in milliseconds, alternating between off and on.
+func set_vibration_pattern(a_pattern: Array[int]) -> NotificationChannel:
+	_data[DATA_KEY_VIBRATION_PATTERN] = a_pattern
+	return self
+
+
+# Android only.
+func set_lights_enabled(a_is_enabled: bool) -> NotificationChannel:
+	_data[DATA_KEY_LIGHTS_ENABLED] = a_is_enabled
+	return self
+
+
+# Android only.
+func set_light_color(a_color: Color) -> NotificationChannel:
+	_data[DATA_KEY_LIGHT_COLOR] = a_color.to_argb32()
+	return self
+
+
+# Android only.
+func set_lockscreen_visibility(a_visibility: LockscreenVisibility) -> NotificationChannel:
+	_data[DATA_KEY_LOCKSCREEN_VISIBILITY] = a_visibility
+	return self
+
+
+# Android only. Only takes effect if the app has been granted access to Do Not Disturb.
+func set_bypass_dnd(a_is_enabled: bool) -> NotificationChannel:
+	_data[DATA_KEY_BYPASS_DND] = a_is_enabled
+	return self
+
+
 func get_raw_data() -> Dictionary:
 	return _data
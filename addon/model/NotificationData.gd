@@ -4,6 +4,29 @@
 
 class_name NotificationData extends RefCounted
 
+enum Precision {
+	EXACT = 0,		# Delivered at the exact time, even if the device is idle (default)
+	WINDOW = 1,		# Delivered within a window that starts at the scheduled time
+	INEXACT = 2,	# Delivered at a time chosen by the system that may be several minutes late
+	NON_WAKEUP = 3	# Delivered when the device is next awake
+}
+
+enum MissedPolicy {
+	COLLAPSE = 0,	# Missed occurrences of a repeating notification are delivered once (default)
+	SKIP = 1		# Missed occurrences of a repeating notification are not delivered
+}
+
+# Days of the week for set_repeat_days(); combine with |
+const DAY_SUNDAY = 1
+const DAY_MONDAY = 1 << 1
+const DAY_TUESDAY = 1 << 2
+const DAY_WEDNESDAY = 1 << 3
+const DAY_THURSDAY = 1 << 4
+const DAY_FRIDAY = 1 << 5
+const DAY_SATURDAY = 1 << 6
+const WEEKDAYS = DAY_MONDAY | DAY_TUESDAY | DAY_WEDNESDAY | DAY_THURSDAY | DAY_FRIDAY
+const WEEKEND = DAY_SATURDAY | DAY_SUNDAY
+
 const DATA_KEY_ID = "notification_id"
 const DATA_KEY_CHANNEL_ID = "channel_id"
 const DATA_KEY_TITLE = "title"
@@ -15,6 +38,11 @@ const DATA_KEY_DEEPLINK = "deeplink"
 const DATA_KEY_INTERVAL = "interval"
 const DATA_KEY_BADGE_COUNT= "badge_count"
 const DATA_KEY_CUSTOM_DATA= "custom_data"
+const DATA_KEY_PRECISION = "precision"
+const DATA_KEY_PRECISION_WINDOW = "precision_window"
+const DATA_KEY_REPEAT_TIME = "repeat_time"
+const DATA_KEY_REPEAT_DAYS = "repeat_days"
+const DATA_KEY_MISSED_POLICY = "missed_policy"
 
 const OPTION_KEY_RESTART_APP = "restart_app"
 
@@ -85,6 +113,37 @@ func set_custom_data(a_custom_data: CustomData) -> NotificationData:
 	return self
 
 
+# Android only
+func set_precision(a_precision: Precision) -> NotificationData:
+	_data[DATA_KEY_PRECISION] = a_precision
+	return self
+
+
+# Android only. Sets precision to WINDOW with a window of the given length in seconds.
+func set_precision_window(a_seconds: int) -> NotificationData:
+	_data[DATA_KEY_PRECISION] = Precision.WINDOW
+	_data[DATA_KEY_PRECISION_WINDOW] = a_seconds
+	return self
+
+
+# Android only. Repeats the notification daily at the given local time. Takes precedence over set_interval().
+func set_repeat_time(a_hour: int, a_minute: int) -> NotificationData:
+	_data[DATA_KEY_REPEAT_TIME] = a_hour * 60 + a_minute
+	return self
+
+
+# Android only. Limits a notification that repeats at a local time to the given days (eg. WEEKDAYS).
+func set_repeat_days(a_days: int) -> NotificationData:
+	_data[DATA_KEY_REPEAT_DAYS] = a_days
+	return self
+
+
+# Android only
+func set_missed_policy(a_policy: MissedPolicy) -> NotificationData:
+	_data[DATA_KEY_MISSED_POLICY] = a_policy
+	return self
+
+
 func set_restart_app_option() -> NotificationData:
 	_data[OPTION_KEY_RESTART_APP] = true
 	return self
@@ -134,6 +193,31 @@ func get_custom_data() -> CustomData:
 	return CustomData.new(_data[DATA_KEY_CUSTOM_DATA]) if _data.has(DATA_KEY_CUSTOM_DATA) else null
 
 
+func get_precision() -> Precision:
+	return _data[DATA_KEY_PRECISION] if _data.has(DATA_KEY_PRECISION) else Precision.EXACT
+
+
+func get_precision_window() -> int:
+	return _data[DATA_KEY_PRECISION_WINDOW] if _data.has(DATA_KEY_PRECISION_WINDOW) else 0
+
+
+func has_repeat_time() -> bool:
+	return _data.has(DATA_KEY_REPEAT_TIME)
+
+
+# Minutes after midnight
+func get_repeat_time() -> int:
+	return _data[DATA_KEY_REPEAT_TIME] if _data.has(DATA_KEY_REPEAT_TIME) else 0
+
+
+func get_repeat_days() -> int:
+	return _data[DATA_KEY_REPEAT_DAYS] if _data.has(DATA_KEY_REPEAT_DAYS) else 0
+
+
+func get_missed_policy() -> MissedPolicy:
+	return _data[DATA_KEY_MISSED_POLICY] if _data.has(DATA_KEY_MISSED_POLICY) else MissedPolicy.COLLAPSE
+
+
 func get_restart_app_option() -> bool:
 	return _data[OPTION_KEY_RESTART_APP] if _data.has(OPTION_KEY_RESTART_APP) else false
 
@@ -0,0 +1,149 @@
+#
+# © 2024-present https://github.com/cengiz-pz
+#
+
+class_name SchedulerSettings extends RefCounted
+
+enum AlarmMode {
+	PER_NOTIFICATION = 0,	# One alarm is registered for each scheduled notification
+	NEXT_DUE = 1	# A single alarm is registered for the earliest scheduled notification
+}
+
+enum ScheduleStore {
+	JOURNAL = 0,
+	PREFERENCES = 1
+}
+
+enum ReplayMode {
+	IMMEDIATE = 0,	# Stored dismissed events are emitted synchronously at startup
+	PER_FRAME = 1,	# Stored dismissed events are emitted a bounded number per frame
+	BATCH = 2	# Stored dismissed events are emitted in a single notifications_dismissed_batch signal
+}
+
+enum IntentEncoding {
+	EXTRAS = 0,	# Notification data is passed as individual intent extras
+	BINARY = 1,	# Notification data is passed as a single binary intent extra
+	STORE_KEY = 2	# Alarms only pass the notification ID; data is read from the schedule store when the alarm fires
+}
+
+enum LogLevel {
+	DEFAULT = -1,	# DEBUG in debug builds, WARN in release builds
+	NONE = 0,
+	ERROR = 1,
+	WARN = 2,
+	INFO = 3,
+	DEBUG = 4
+}
+
+enum EventDelivery {
+	SIGNALS = 0,	# Each event is emitted with its own signal
+	POLL = 1,	# Events are queued until they are taken with NotificationScheduler.drain_events()
+	FRAME = 2	# Events are queued and passed to GDScript together once per frame, then emitted with their own signals
+}
+
+enum QuotaAction {
+	DROP = 0,	# Notifications that exceed a delivery quota are not posted
+	DEFER = 1,	# Notifications that exceed a delivery quota are posted once the quotas allow them
+	MERGE = 2	# Notifications that exceed a delivery quota are posted into their channel's group without alerting
+}
+
+enum QuietHoursPolicy {
+	SHIFT = 0,	# Notifications that are due within quiet hours are posted when quiet hours end
+	DROP = 1	# Notifications that are due within quiet hours are not posted; repeating ones skip to their next occurrence
+}
+
+const DATA_KEY_ALARM_MODE = "alarm_mode"
+const DATA_KEY_SCHEDULE_STORE = "schedule_store"
+const DATA_KEY_REPLAY_MODE = "replay_mode"
+const DATA_KEY_REPLAY_EVENTS_PER_FRAME = "replay_events_per_frame"
+const DATA_KEY_INTENT_ENCODING = "intent_encoding"
+const DATA_KEY_LOG_LEVEL = "log_level"
+const DATA_KEY_EVENT_DELIVERY = "event_delivery"
+const DATA_KEY_QUOTA_DAILY_CAP = "quota_daily_cap"
+const DATA_KEY_QUOTA_MIN_SPACING = "quota_min_spacing"
+const DATA_KEY_QUOTA_ACTION = "quota_action"
+const DATA_KEY_QUIET_HOURS_START = "quiet_hours_start"
+const DATA_KEY_QUIET_HOURS_END = "quiet_hours_end"
+const DATA_KEY_QUIET_HOURS_POLICY = "quiet_hours_policy"
+const DATA_KEY_QUIET_HOURS_TIME_ZONE = "quiet_hours_time_zone"
+
+var _data: Dictionary
+
+
+func _init() -> void:
+	_data = {}
+
+
+func set_alarm_mode(a_alarm_mode: AlarmMode) -> SchedulerSettings:
+	_data[DATA_KEY_ALARM_MODE] = a_alarm_mode
+	return self
+
+
+func set_schedule_store(a_schedule_store: ScheduleStore) -> SchedulerSettings:
+	_data[DATA_KEY_SCHEDULE_STORE] = a_schedule_store
+	return self
+
+
+func set_replay_mode(a_replay_mode: ReplayMode) -> SchedulerSettings:
+	_data[DATA_KEY_REPLAY_MODE] = a_replay_mode
+	return self
+
+
+func set_replay_events_per_frame(a_events_per_frame: int) -> SchedulerSettings:
+	_data[DATA_KEY_REPLAY_EVENTS_PER_FRAME] = a_events_per_frame
+	return self
+
+
+func set_intent_encoding(a_intent_encoding: IntentEncoding) -> SchedulerSettings:
+	_data[DATA_KEY_INTENT_ENCODING] = a_intent_encoding
+	return self
+
+
+func set_log_level(a_log_level: LogLevel) -> SchedulerSettings:
+	_data[DATA_KEY_LOG_LEVEL] = a_log_level
+	return self
+
+
+func set_event_delivery(a_event_delivery: EventDelivery) -> SchedulerSettings:
+	_data[DATA_KEY_EVENT_DELIVERY] = a_event_delivery
+	return self
+
+
+# At most a_max_count notifications are posted per calendar day. Set to 0 to disable.
+func set_quota_daily_cap(a_max_count: int) -> SchedulerSettings:
+	_data[DATA_KEY_QUOTA_DAILY_CAP] = a_max_count
+	return self
+
+
+# Notifications are posted at least a_seconds apart. Set to 0 to disable.
+func set_quota_min_spacing(a_seconds: int) -> SchedulerSettings:
+	_data[DATA_KEY_QUOTA_MIN_SPACING] = a_seconds
+	return self
+
+
+func set_quota_action(a_quota_action: QuotaAction) -> SchedulerSettings:
+	_data[DATA_KEY_QUOTA_ACTION] = a_quota_action
+	return self
+
+
+# Notifications are not posted daily from the start time until the end time. A window that ends before it starts ends on
+# the next day. Set the same start and end time to disable.
+func set_quiet_hours(a_start_hour: int, a_start_minute: int, a_end_hour: int, a_end_minute: int) -> SchedulerSettings:
+	_data[DATA_KEY_QUIET_HOURS_START] = a_start_hour * 60 + a_start_minute
+	_data[DATA_KEY_QUIET_HOURS_END] = a_end_hour * 60 + a_end_minute
+	return self
+
+
+func set_quiet_hours_policy(a_quiet_hours_policy: QuietHoursPolicy) -> SchedulerSettings:
+	_data[DATA_KEY_QUIET_HOURS_POLICY] = a_quiet_hours_policy
+	return self
+
+
+# Time zone ID of the quiet hours (eg. "Europe/London"). Quiet hours are in the device's time zone by default.
+func set_quiet_hours_time_zone(a_time_zone_id: String) -> SchedulerSettings:
+	_data[DATA_KEY_QUIET_HOURS_TIME_ZONE] = a_time_zone_id
+	return self
+
+
+func get_raw_data() -> Dictionary:
+	return _data
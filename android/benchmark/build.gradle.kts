@@ -0,0 +1,96 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+// Microbenchmarks for the plugin's scheduling and persistence hot paths. Benchmarks run on a connected device:
+//
+//	./gradlew :benchmark:connectedReleaseAndroidTest :benchmark:benchmarkReport
+//
+
+import groovy.json.JsonSlurper
+
+
+plugins {
+	alias(libs.plugins.android.library)
+	alias(libs.plugins.kotlin.android)
+	alias(libs.plugins.androidx.benchmark)
+}
+
+apply(from = "${rootDir}/config.gradle.kts")
+
+android {
+	namespace = "${project.extra["pluginPackageName"]}.benchmark"
+	compileSdk = libs.versions.compileSdk.get().toInt()
+
+	defaultConfig {
+		minSdk = libs.versions.minSdk.get().toInt()
+		testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+	}
+
+	// Benchmarks are run against a non-debuggable build
+	testBuildType = "release"
+	buildTypes {
+		release {
+			isDefault = true
+		}
+	}
+
+	compileOptions {
+		sourceCompatibility = JavaVersion.VERSION_17
+		targetCompatibility = JavaVersion.VERSION_17
+	}
+
+	kotlin {
+		compilerOptions {
+			jvmTarget.set(org.jetbrains.kotlin.gradle.dsl.JvmTarget.JVM_17)
+		}
+	}
+
+	buildToolsVersion = libs.versions.buildTools.get()
+}
+
+dependencies {
+	androidTestImplementation(project(":notification_scheduler"))
+	androidTestImplementation("godot:godot-lib:${project.extra["godotVersion"]}.${project.extra["releaseType"]}@aar")
+	androidTestImplementation(libs.androidx.appcompat)
+	androidTestImplementation(libs.androidx.benchmark.junit4)
+	androidTestImplementation(libs.androidx.test.ext.junit)
+	androidTestImplementation(libs.androidx.test.rules)
+}
+
+tasks {
+	named("preBuild") {
+		dependsOn(":notification_scheduler:downloadGodotAar")
+	}
+
+	register("benchmarkReport") {
+		description = "Prints throughput (ops/s) and allocations per operation from the last benchmark run"
+
+		doLast {
+			val outputDir = layout.buildDirectory.dir("outputs/connected_android_test_additional_output").get().asFile
+			val reports = outputDir.walkTopDown().filter { it.isFile && it.name.endsWith("benchmarkData.json") }.toList()
+			if (reports.isEmpty()) {
+				println("No benchmark results found in ${outputDir.path}")
+				return@doLast
+			}
+
+			reports.forEach { report ->
+				println("Results from ${report.path}")
+				println(String.format("%-72s %14s %14s", "Benchmark", "ops/s", "allocs/op"))
+
+				@Suppress("UNCHECKED_CAST")
+				val benchmarks = (JsonSlurper().parse(report) as Map<String, Any>)["benchmarks"] as List<Map<String, Any>>
+				benchmarks.forEach { benchmark ->
+					@Suppress("UNCHECKED_CAST")
+					val metrics = benchmark["metrics"] as Map<String, Map<String, Any>>
+					val medianNs = (metrics["timeNs"]?.get("median") as Number?)?.toDouble() ?: 0.0
+					val allocations = (metrics["allocationCount"]?.get("median") as Number?)?.toDouble()
+					val name = "${(benchmark["className"] as String).substringAfterLast('.')}.${benchmark["name"]}"
+
+					println(String.format("%-72s %14.1f %14s", name,
+						if (medianNs > 0) 1_000_000_000.0 / medianNs else 0.0,
+						allocations?.let { String.format("%.1f", it) } ?: "-"))
+				}
+			}
+		}
+	}
+}
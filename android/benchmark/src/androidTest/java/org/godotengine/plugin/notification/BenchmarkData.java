@@ -0,0 +1,98 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.content.Context;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.godotengine.godot.Dictionary;
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.NotificationDataCodec;
+import org.godotengine.plugin.notification.model.SchedulerSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared fixtures for the benchmarks
+ */
+final class BenchmarkData {
+
+	static final String ICON_NAME = "benchmark_icon";
+	static final String CHANNEL_ID = "benchmark_channel";
+
+	// Android limits the number of alarms that an app can register
+	static final int MAX_PER_NOTIFICATION_ALARMS = 400;
+
+	private static final long FIRE_TIME_OFFSET_MS = 24 * 60 * 60 * 1000L;
+	private static final long FIRE_TIME_SPACING_MS = 60 * 1000L;
+
+	private BenchmarkData() {
+	}
+
+	static Context getContext() {
+		return InstrumentationRegistry.getInstrumentation().getTargetContext();
+	}
+
+	static NotificationData createNotification(int id) {
+		Dictionary customData = new Dictionary();
+		customData.put("reward_type", "coins");
+		customData.put("reward_amount", 100);
+
+		Dictionary data = new Dictionary();
+		data.put(NotificationData.DATA_KEY_ID, id);
+		data.put(NotificationData.DATA_KEY_CHANNEL_ID, CHANNEL_ID);
+		data.put(NotificationData.DATA_KEY_TITLE, "Daily reward #" + id);
+		data.put(NotificationData.DATA_KEY_CONTENT, "Your daily reward is ready to be collected!");
+		data.put(NotificationData.DATA_KEY_SMALL_ICON_NAME, ICON_NAME);
+		data.put(NotificationData.DATA_KEY_DELAY, 60);
+		data.put(NotificationData.DATA_KEY_CUSTOM_DATA, customData);
+		return NotificationDataCodec.fromDictionary(data);
+	}
+
+	static List<NotificationData> createNotifications(int count) {
+		List<NotificationData> batch = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			batch.add(createNotification(i));
+		}
+		return batch;
+	}
+
+	/**
+	 * Returns fire times in the future, so that no alarm goes off while benchmarks are running
+	 */
+	static long[] createFireTimes(int count) {
+		long baseTime = System.currentTimeMillis() + FIRE_TIME_OFFSET_MS;
+		long[] fireTimes = new long[count];
+		for (int i = 0; i < count; i++) {
+			fireTimes[i] = baseTime + i * FIRE_TIME_SPACING_MS;
+		}
+		return fireTimes;
+	}
+
+	static void applySettings(Context context, int alarmMode, int scheduleStore) {
+		Dictionary data = new Dictionary();
+		data.put(SchedulerSettings.DATA_KEY_ALARM_MODE, alarmMode);
+		data.put(SchedulerSettings.DATA_KEY_SCHEDULE_STORE, scheduleStore);
+		NotificationSchedulerPlugin.applySettings(context, new SchedulerSettings(data));
+	}
+
+	/**
+	 * Removes all scheduled notifications and cancels their alarms
+	 */
+	static void reset(Context context, List<NotificationData> batch) {
+		NotificationSchedulerPlugin.getScheduleStore(context).clear();
+
+		if (NotificationSchedulerPlugin.getSettings(context).isNextDueAlarmMode()) {
+			// Rebuilding from the empty store drops stale heap entries and cancels the alarm
+			NextDueDispatcher.getInstance().restore(context);
+		} else {
+			for (NotificationData data : batch) {
+				NotificationSchedulerPlugin.cancelNotification(context, data.getId());
+			}
+		}
+	}
+}
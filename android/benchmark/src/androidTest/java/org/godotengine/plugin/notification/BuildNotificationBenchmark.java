@@ -0,0 +1,68 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import static org.junit.Assert.assertNotNull;
+
+import android.Manifest;
+import android.content.Context;
+import android.os.Build;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.rule.GrantPermissionRule;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures building the notification object when a notification fires.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class BuildNotificationBenchmark {
+
+	@Rule
+	public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+	@Rule
+	public GrantPermissionRule permissionRule = Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+			? GrantPermissionRule.grant(Manifest.permission.POST_NOTIFICATIONS)
+			: GrantPermissionRule.grant();
+
+	private Context context;
+
+	@Before
+	public void setUp() {
+		context = BenchmarkData.getContext();
+	}
+
+	@Test
+	public void buildNotification() {
+		measureBuildNotification(BenchmarkData.createNotification(1));
+	}
+
+	@Test
+	public void buildNotificationWithLargeIcon() {
+		measureBuildNotification(BenchmarkData.createNotification(1).toBuilder()
+				.setLargeIconName(BenchmarkData.ICON_NAME)
+				.build());
+	}
+
+	private void measureBuildNotification(NotificationData notificationData) {
+		assertNotNull(notificationData.buildNotification(context));
+
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			notificationData.buildNotification(context);
+		}
+	}
+}
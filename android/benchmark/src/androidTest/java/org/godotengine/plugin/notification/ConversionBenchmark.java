@@ -0,0 +1,144 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.content.Intent;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.godotengine.godot.Dictionary;
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.NotificationDataCodec;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures conversions of notification data between its Dictionary, JSON, Intent, binary and Bundle representations.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class ConversionBenchmark {
+
+	@Rule
+	public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+	private Dictionary dictionary;
+	private NotificationData notificationData;
+	private String json;
+	private Intent intent;
+	private Intent binaryIntent;
+	private byte[] bytes;
+
+	@Before
+	public void setUp() {
+		notificationData = BenchmarkData.createNotification(1);
+		dictionary = notificationData.getRawData();
+		json = NotificationDataCodec.toJson(notificationData).toString();
+		intent = new Intent();
+		notificationData.populateIntent(intent);
+		bytes = NotificationDataCodec.toBytes(notificationData);
+		binaryIntent = new Intent();
+		NotificationDataCodec.writePayloadToIntent(notificationData.getId(), bytes, binaryIntent);
+	}
+
+	@Test
+	public void dictionaryToNotificationData() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationDataCodec.fromDictionary(dictionary);
+		}
+	}
+
+	@Test
+	public void notificationDataToDictionary() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationDataCodec.toDictionary(notificationData);
+		}
+	}
+
+	@Test
+	public void notificationDataToJson() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationDataCodec.toJson(notificationData).toString();
+		}
+	}
+
+	@Test
+	public void jsonToNotificationData() throws JSONException {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationDataCodec.fromJson(new JSONObject(json));
+		}
+	}
+
+	@Test
+	public void notificationDataToIntent() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			notificationData.populateIntent(new Intent());
+		}
+	}
+
+	@Test
+	public void intentToNotificationData() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationDataCodec.fromIntent(intent);
+		}
+	}
+
+	@Test
+	public void notificationDataToBinaryIntent() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationDataCodec.writePayloadToIntent(notificationData.getId(), NotificationDataCodec.toBytes(notificationData),
+					new Intent());
+		}
+	}
+
+	@Test
+	public void binaryIntentToNotificationData() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationDataCodec.fromIntent(binaryIntent);
+		}
+	}
+
+	@Test
+	public void notificationDataToBytes() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationDataCodec.toBytes(notificationData);
+		}
+	}
+
+	@Test
+	public void bytesToNotificationData() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationDataCodec.fromBytes(bytes);
+		}
+	}
+
+	@Test
+	public void customDataToBundle() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			// A fresh instance is decoded, as the bundle is cached once built
+			NotificationDataCodec.fromBytes(bytes).getCustomDataBundle();
+		}
+	}
+}
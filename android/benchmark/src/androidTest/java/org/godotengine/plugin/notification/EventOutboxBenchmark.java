@@ -0,0 +1,106 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.store.EventOutbox;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Measures storing events while the app is not running and reading them for replay at startup, with a backlog of
+ * {@code count} stored events.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class EventOutboxBenchmark {
+
+	@Rule
+	public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+	@Parameterized.Parameters(name = "count={0}")
+	public static Collection<Object[]> parameters() {
+		return Arrays.asList(new Object[][] { { 10 }, { 100 }, { 1000 } });
+	}
+
+	private final int count;
+
+	private Context context;
+	private EventOutbox outbox;
+	private int lastSequence;
+
+	public EventOutboxBenchmark(int count) {
+		this.count = count;
+	}
+
+	@Before
+	public void setUp() {
+		context = BenchmarkData.getContext();
+		outbox = new EventOutbox(context);
+		acknowledgeAll();
+		lastSequence = outbox.appendAll(EventOutbox.EVENT_DISMISSED, BenchmarkData.createNotifications(count));
+	}
+
+	@After
+	public void tearDown() {
+		acknowledgeAll();
+		outbox.close();
+	}
+
+	@Test
+	public void storeEvent() {
+		NotificationData notificationData = BenchmarkData.createNotification(count);
+
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			outbox.append(EventOutbox.EVENT_DISMISSED, notificationData);
+		}
+	}
+
+	@Test
+	public void readStoredEvents() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			// A new instance reads the outbox from disk, as at startup
+			EventOutbox newOutbox = new EventOutbox(context);
+			newOutbox.getPending(0);
+			newOutbox.close();
+		}
+	}
+
+	@Test
+	public void acknowledgeEvents() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			outbox.acknowledge(lastSequence);
+
+			state.pauseTiming();
+			lastSequence = outbox.appendAll(EventOutbox.EVENT_DISMISSED, BenchmarkData.createNotifications(count));
+			state.resumeTiming();
+		}
+	}
+
+	private void acknowledgeAll() {
+		List<EventOutbox.Event> pending = outbox.getPending(0);
+		if (!pending.isEmpty()) {
+			outbox.acknowledge(pending.get(pending.size() - 1).getSequence());
+		}
+	}
+}
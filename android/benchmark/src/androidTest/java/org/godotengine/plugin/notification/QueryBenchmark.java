@@ -0,0 +1,105 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.SchedulerSettings;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Measures queries over scheduled notifications.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class QueryBenchmark {
+
+	private static final int NEXT_DUE_LIMIT = 10;
+
+	@Rule
+	public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+	@Parameterized.Parameters(name = "count={0}")
+	public static Collection<Object[]> parameters() {
+		return Arrays.asList(new Object[][] { { 100 }, { 1000 } });
+	}
+
+	private final int count;
+
+	private Context context;
+	private List<NotificationData> batch;
+
+	public QueryBenchmark(int count) {
+		this.count = count;
+	}
+
+	@Before
+	public void setUp() {
+		context = BenchmarkData.getContext();
+		batch = BenchmarkData.createNotifications(count);
+		BenchmarkData.applySettings(context, SchedulerSettings.ALARM_MODE_PER_NOTIFICATION, SchedulerSettings.SCHEDULE_STORE_JOURNAL);
+
+		// Persisted without arming alarms, as only the queries are measured
+		NotificationSchedulerPlugin.saveScheduledNotifications(context, batch, BenchmarkData.createFireTimes(count));
+	}
+
+	@After
+	public void tearDown() {
+		BenchmarkData.reset(context, batch);
+	}
+
+	@Test
+	public void buildIndex() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			new ScheduleIndex(NotificationSchedulerPlugin.getScheduleStore(context));
+		}
+	}
+
+	@Test
+	public void getAll() {
+		ScheduleIndex index = new ScheduleIndex(NotificationSchedulerPlugin.getScheduleStore(context));
+
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			index.getAll(System.currentTimeMillis());
+		}
+	}
+
+	@Test
+	public void getByChannel() {
+		ScheduleIndex index = new ScheduleIndex(NotificationSchedulerPlugin.getScheduleStore(context));
+
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			index.getByChannel(BenchmarkData.CHANNEL_ID, System.currentTimeMillis());
+		}
+	}
+
+	@Test
+	public void getNextDue() {
+		ScheduleIndex index = new ScheduleIndex(NotificationSchedulerPlugin.getScheduleStore(context));
+
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			index.getNextDue(NEXT_DUE_LIMIT, System.currentTimeMillis());
+		}
+	}
+}
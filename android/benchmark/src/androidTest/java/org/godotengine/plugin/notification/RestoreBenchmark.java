@@ -0,0 +1,112 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import static org.junit.Assume.assumeTrue;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.SchedulerSettings;
+import org.godotengine.plugin.notification.store.JournalScheduleStore;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Measures restoring persisted notifications after a reboot.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class RestoreBenchmark {
+
+	@Rule
+	public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+	@Parameterized.Parameters(name = "count={0},store={1}")
+	public static Collection<Object[]> parameters() {
+		List<Object[]> parameters = new ArrayList<>();
+		for (int count : new int[] { 100, 1000 }) {
+			parameters.add(new Object[] { count, SchedulerSettings.SCHEDULE_STORE_JOURNAL });
+			parameters.add(new Object[] { count, SchedulerSettings.SCHEDULE_STORE_PREFERENCES });
+		}
+		return parameters;
+	}
+
+	private final int count;
+	private final int scheduleStore;
+
+	private Context context;
+	private List<NotificationData> batch;
+
+	public RestoreBenchmark(int count, int scheduleStore) {
+		this.count = count;
+		this.scheduleStore = scheduleStore;
+	}
+
+	@Before
+	public void setUp() {
+		context = BenchmarkData.getContext();
+		batch = BenchmarkData.createNotifications(count);
+	}
+
+	@After
+	public void tearDown() {
+		BenchmarkData.reset(context, batch);
+	}
+
+	/**
+	 * Replays the journal into a new store instance, as happens in a freshly started process
+	 */
+	@Test
+	public void loadJournal() {
+		assumeTrue(scheduleStore == SchedulerSettings.SCHEDULE_STORE_JOURNAL);
+		persist(SchedulerSettings.ALARM_MODE_PER_NOTIFICATION);
+
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			JournalScheduleStore store = new JournalScheduleStore(context);
+			store.size();
+			store.close();
+		}
+	}
+
+	@Test
+	public void rescheduleAllWithPerNotificationAlarms() {
+		assumeTrue(count <= BenchmarkData.MAX_PER_NOTIFICATION_ALARMS);
+		persist(SchedulerSettings.ALARM_MODE_PER_NOTIFICATION);
+		measureRescheduleAll();
+	}
+
+	@Test
+	public void rescheduleAllWithNextDueAlarm() {
+		persist(SchedulerSettings.ALARM_MODE_NEXT_DUE);
+		measureRescheduleAll();
+	}
+
+	private void persist(int alarmMode) {
+		BenchmarkData.applySettings(context, alarmMode, scheduleStore);
+		NotificationSchedulerPlugin.saveScheduledNotifications(context, batch, BenchmarkData.createFireTimes(count));
+	}
+
+	private void measureRescheduleAll() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationSchedulerPlugin.rescheduleAll(context);
+		}
+	}
+}
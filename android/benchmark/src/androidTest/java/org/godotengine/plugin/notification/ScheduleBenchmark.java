@@ -0,0 +1,114 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import static org.junit.Assume.assumeTrue;
+
+import android.content.Context;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.SchedulerSettings;
+import org.godotengine.plugin.notification.store.ScheduleStore;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Measures persisting and arming a batch of notifications, as done by {@code schedule()} and
+ * {@code schedule_batch()}.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class ScheduleBenchmark {
+
+	@Rule
+	public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+	@Parameterized.Parameters(name = "count={0},store={1}")
+	public static Collection<Object[]> parameters() {
+		List<Object[]> parameters = new ArrayList<>();
+		for (int count : new int[] { 1, 100, 1000 }) {
+			parameters.add(new Object[] { count, SchedulerSettings.SCHEDULE_STORE_JOURNAL });
+			parameters.add(new Object[] { count, SchedulerSettings.SCHEDULE_STORE_PREFERENCES });
+		}
+		return parameters;
+	}
+
+	private final int count;
+	private final int scheduleStore;
+
+	private Context context;
+	private List<NotificationData> batch;
+	private long[] fireTimes;
+
+	public ScheduleBenchmark(int count, int scheduleStore) {
+		this.count = count;
+		this.scheduleStore = scheduleStore;
+	}
+
+	@Before
+	public void setUp() {
+		context = BenchmarkData.getContext();
+		batch = BenchmarkData.createNotifications(count);
+		fireTimes = BenchmarkData.createFireTimes(count);
+	}
+
+	@After
+	public void tearDown() {
+		BenchmarkData.reset(context, batch);
+	}
+
+	@Test
+	public void persist() {
+		BenchmarkData.applySettings(context, SchedulerSettings.ALARM_MODE_PER_NOTIFICATION, scheduleStore);
+		ScheduleStore store = NotificationSchedulerPlugin.getScheduleStore(context);
+
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationSchedulerPlugin.saveScheduledNotifications(context, batch, fireTimes);
+
+			state.pauseTiming();
+			store.clear();
+			state.resumeTiming();
+		}
+	}
+
+	@Test
+	public void scheduleWithPerNotificationAlarms() {
+		assumeTrue(count <= BenchmarkData.MAX_PER_NOTIFICATION_ALARMS);
+		BenchmarkData.applySettings(context, SchedulerSettings.ALARM_MODE_PER_NOTIFICATION, scheduleStore);
+		measureSchedule();
+	}
+
+	@Test
+	public void scheduleWithNextDueAlarm() {
+		BenchmarkData.applySettings(context, SchedulerSettings.ALARM_MODE_NEXT_DUE, scheduleStore);
+		measureSchedule();
+	}
+
+	private void measureSchedule() {
+		BenchmarkState state = benchmarkRule.getState();
+		while (state.keepRunning()) {
+			NotificationSchedulerPlugin.saveScheduledNotifications(context, batch, fireTimes);
+			NotificationSchedulerPlugin.armAlarms(context, batch, fireTimes);
+
+			state.pauseTiming();
+			BenchmarkData.reset(context, batch);
+			state.resumeTiming();
+		}
+	}
+}
@@ -7,6 +7,7 @@ plugins {
 	alias(libs.plugins.android.library) apply false
 	alias(libs.plugins.kotlin.android) apply false
 	alias(libs.plugins.undercouch.download) apply false
+	alias(libs.plugins.androidx.benchmark) apply false
 }
 
 allprojects {
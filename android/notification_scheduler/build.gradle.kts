@@ -31,6 +31,16 @@ android {
 		buildConfigField("String", "GODOT_PLUGIN_NAME", "\"${project.extra["pluginName"]}\"")
 	}
 
+	buildTypes {
+		// Default log levels; see PluginLog for values
+		getByName("debug") {
+			buildConfigField("int", "LOG_LEVEL", "4")
+		}
+		getByName("release") {
+			buildConfigField("int", "LOG_LEVEL", "2")
+		}
+	}
+
 	compileOptions {
 		sourceCompatibility = JavaVersion.VERSION_17
 		targetCompatibility = JavaVersion.VERSION_17
@@ -7,18 +7,30 @@ package org.godotengine.plugin.notification;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.util.Log;
-
-import org.godotengine.plugin.notification.model.NotificationData;
 
 public class BootReceiver extends BroadcastReceiver {
 	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + BootReceiver.class.getSimpleName();
 
+	private static final String ACTION_QUICKBOOT_POWERON = "android.intent.action.QUICKBOOT_POWERON";
+
+	// Executor key of restore work
+	private static final int RESTORE_EXECUTOR_KEY = 0;
+
 	@Override
 	public void onReceive(Context context, Intent intent) {
-		if (Intent.ACTION_BOOT_COMPLETED.equals(intent.getAction())) {
-			Log.i(LOG_TAG, "Device rebooted. Rescheduling notifications...");
-			NotificationSchedulerPlugin.rescheduleAll(context);
+		String action = intent == null ? null : intent.getAction();
+
+		if (Intent.ACTION_BOOT_COMPLETED.equals(action) || ACTION_QUICKBOOT_POWERON.equals(action)
+				|| Intent.ACTION_MY_PACKAGE_REPLACED.equals(action) || Intent.ACTION_TIME_CHANGED.equals(action)
+				|| Intent.ACTION_TIMEZONE_CHANGED.equals(action)) {
+			PluginLog.i(LOG_TAG, "Received %s. Rescheduling notifications...", action);
+			final Context appContext = context.getApplicationContext();
+			ReceiverExecutor.execute(this, RESTORE_EXECUTOR_KEY, () -> BootRestorer.restore(appContext, false));
+		} else if (BootRestorer.ACTION_RESUME_RESTORE.equals(action)) {
+			final Context appContext = context.getApplicationContext();
+			ReceiverExecutor.execute(this, RESTORE_EXECUTOR_KEY, () -> BootRestorer.restore(appContext, true));
+		} else {
+			PluginLog.w(LOG_TAG, "Ignoring unexpected action: " + action);
 		}
 	}
 }
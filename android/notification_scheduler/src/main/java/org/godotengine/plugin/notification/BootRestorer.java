@@ -0,0 +1,136 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import static android.content.Context.ALARM_SERVICE;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+
+import org.godotengine.plugin.notification.store.ScheduleStore;
+
+import java.util.Arrays;
+
+/**
+ * Restores alarms for persisted notifications after reboot, app update or a change of system time.
+ *
+ * <p>Notifications are restored in ascending ID order, in chunks. The ID of the last restored notification is
+ * checkpointed after each chunk. When the time budget of a broadcast runs out, or if the process is killed, the
+ * restore is resumed from the checkpoint by a follow-up alarm that is delivered to {@link BootReceiver}.
+ */
+final class BootRestorer {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + BootRestorer.class.getSimpleName();
+
+	static final String ACTION_RESUME_RESTORE = "org.godotengine.plugin.notification.action.RESUME_RESTORE";
+
+	private static final String KEY_RESTORE_IN_PROGRESS = "restore_in_progress";
+	private static final String KEY_RESTORE_CHECKPOINT = "restore_checkpoint";
+
+	private static final int RESUME_REQUEST_CODE = 0;
+
+	private static final int CHUNK_SIZE = 50;
+
+	// Kept well below the receiver timeout, as the broadcast may have waited for other work before starting
+	private static final long TIME_BUDGET_MS = 5000L;
+
+	// Delay of the follow-up alarm that resumes an interrupted restore
+	private static final long RESUME_DELAY_MS = 1000L;
+	private static final long WATCHDOG_RESUME_DELAY_MS = 30 * 1000L;
+
+	private BootRestorer() {
+	}
+
+	/**
+	 * @param isResume true to continue from the last checkpoint, false to restore all notifications
+	 */
+	static synchronized void restore(Context context, boolean isResume) {
+		SharedPreferences prefs = context.getSharedPreferences(NotificationSchedulerPlugin.PREF_NAME, Context.MODE_PRIVATE);
+
+		if (isResume && !prefs.getBoolean(KEY_RESTORE_IN_PROGRESS, false)) {
+			PluginLog.d(LOG_TAG, "restore():: no restore in progress");
+			return;
+		}
+
+		long startTime = Metrics.start();
+
+		if (NotificationSchedulerPlugin.getSettings(context).isNextDueAlarmMode()) {
+			// A single alarm is armed, so there is nothing to split into chunks
+			NextDueDispatcher.getInstance().restore(context);
+			complete(context, prefs);
+			Metrics.record(Metrics.OP_BOOT_RESTORE, startTime);
+			return;
+		}
+
+		SharedPreferences.Editor editor = prefs.edit().putBoolean(KEY_RESTORE_IN_PROGRESS, true);
+		if (!isResume) {
+			editor.remove(KEY_RESTORE_CHECKPOINT);
+		}
+		editor.commit();
+
+		// Resumes the restore if this process is killed before it completes
+		scheduleResume(context, WATCHDOG_RESUME_DELAY_MS);
+
+		ScheduleStore store = NotificationSchedulerPlugin.getScheduleStore(context);
+		int[] notificationIds = NotificationSchedulerPlugin.getScheduledNotificationIds(store);
+
+		int offset = 0;
+		if (prefs.contains(KEY_RESTORE_CHECKPOINT)) {
+			int checkpoint = prefs.getInt(KEY_RESTORE_CHECKPOINT, Integer.MIN_VALUE);
+			while (offset < notificationIds.length && notificationIds[offset] <= checkpoint) {
+				offset++;
+			}
+			PluginLog.i(LOG_TAG, "Resuming restore after notification %s", checkpoint);
+		}
+
+		AlarmManager alarmManager = (AlarmManager) context.getSystemService(ALARM_SERVICE);
+		long deadline = SystemClock.elapsedRealtime() + TIME_BUDGET_MS;
+		int restoredCount = 0;
+
+		while (offset < notificationIds.length) {
+			int end = Math.min(offset + CHUNK_SIZE, notificationIds.length);
+			restoredCount += NotificationSchedulerPlugin.restoreAlarms(context, alarmManager, store,
+					Arrays.copyOfRange(notificationIds, offset, end));
+			prefs.edit().putInt(KEY_RESTORE_CHECKPOINT, notificationIds[end - 1]).commit();
+			offset = end;
+
+			if (offset < notificationIds.length && SystemClock.elapsedRealtime() > deadline) {
+				PluginLog.i(LOG_TAG, "Restored %d notifications. %d remaining notifications will be restored"
+						+ " in a follow-up broadcast.", restoredCount, notificationIds.length - offset);
+				scheduleResume(context, RESUME_DELAY_MS);
+				Metrics.record(Metrics.OP_BOOT_RESTORE, startTime);
+				return;
+			}
+		}
+
+		complete(context, prefs);
+		Metrics.record(Metrics.OP_BOOT_RESTORE, startTime);
+		PluginLog.i(LOG_TAG, "Restored %s notifications.", restoredCount);
+	}
+
+	private static void complete(Context context, SharedPreferences prefs) {
+		prefs.edit()
+				.remove(KEY_RESTORE_IN_PROGRESS)
+				.remove(KEY_RESTORE_CHECKPOINT)
+				.commit();
+		((AlarmManager) context.getSystemService(ALARM_SERVICE)).cancel(createResumePendingIntent(context));
+	}
+
+	private static void scheduleResume(Context context, long delayMs) {
+		AlarmManager alarmManager = (AlarmManager) context.getSystemService(ALARM_SERVICE);
+		alarmManager.setAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, SystemClock.elapsedRealtime() + delayMs,
+				createResumePendingIntent(context));
+	}
+
+	private static PendingIntent createResumePendingIntent(Context context) {
+		Intent intent = new Intent(context, BootReceiver.class);
+		intent.setAction(ACTION_RESUME_RESTORE);
+		return PendingIntent.getBroadcast(context, RESUME_REQUEST_CODE, intent,
+				PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+	}
+}
@@ -7,9 +7,9 @@ package org.godotengine.plugin.notification;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.util.Log;
 
 import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.NotificationDataCodec;
 
 
 public class CancelNotificationReceiver extends BroadcastReceiver {
@@ -23,13 +23,15 @@ public class CancelNotificationReceiver extends BroadcastReceiver {
 	@Override
 	public void onReceive(Context context, Intent intent) {
 		if (intent == null) {
-			Log.e(LOG_TAG, String.format("%s():: Received intent is null. Unable to generate notification.",
+			PluginLog.e(LOG_TAG, String.format("%s():: Received intent is null. Unable to generate notification.",
 					"onReceive"));
 		} else if (intent.hasExtra(NotificationData.DATA_KEY_ID)) {
-			NotificationData notificationData = new NotificationData(intent);
-			NotificationSchedulerPlugin.handleNotificationDismissed(context, notificationData);
+			final Context appContext = context.getApplicationContext();
+			final NotificationData notificationData = NotificationDataCodec.fromIntent(intent);
+			ReceiverExecutor.execute(this, notificationData.getId(),
+					() -> NotificationSchedulerPlugin.handleNotificationDismissed(appContext, notificationData));
 		} else {
-			Log.e(LOG_TAG, String.format("%s():: %s extra not found in intent. Unable to generate notification.",
+			PluginLog.e(LOG_TAG, String.format("%s():: %s extra not found in intent. Unable to generate notification.",
 					"onReceive", NotificationData.DATA_KEY_ID));
 		}
 	}
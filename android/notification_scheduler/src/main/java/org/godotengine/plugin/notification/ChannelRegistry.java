@@ -0,0 +1,90 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.app.NotificationChannel;
+import android.app.NotificationChannelGroup;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Build;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of the IDs of the app's notification channels and channel groups.
+ *
+ * <p>IDs are fetched from the system once per process and updated as the plugin creates channels and groups, so
+ * that checking whether a channel exists does not need a binder call. A lookup that misses fetches the IDs again
+ * once, as channels may have been created by another process.
+ *
+ * <p>Notification channels do not exist below API level 26, where every channel is reported as existing.
+ */
+final class ChannelRegistry {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + ChannelRegistry.class.getSimpleName();
+
+	private static ChannelRegistry instance;
+
+	private final NotificationManager notificationManager;
+	private final Set<String> channelIds = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	private final Set<String> groupIds = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	private ChannelRegistry(Context context) {
+		this.notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+		refresh();
+	}
+
+	static synchronized ChannelRegistry getInstance(Context context) {
+		if (instance == null) {
+			instance = new ChannelRegistry(context.getApplicationContext());
+		}
+		return instance;
+	}
+
+	/**
+	 * @return true if the channel exists, according to the cache
+	 */
+	boolean hasChannel(String channelId) {
+		return Build.VERSION.SDK_INT < Build.VERSION_CODES.O || channelIds.contains(channelId);
+	}
+
+	boolean hasGroup(String groupId) {
+		return Build.VERSION.SDK_INT < Build.VERSION_CODES.O || groupIds.contains(groupId);
+	}
+
+	/**
+	 * @return true if the channel exists, fetching the channels from the system if it is not cached
+	 */
+	boolean verifyChannel(String channelId) {
+		if (hasChannel(channelId)) {
+			return true;
+		}
+		refresh();
+		return channelIds.contains(channelId);
+	}
+
+	void onChannelCreated(String channelId) {
+		channelIds.add(channelId);
+	}
+
+	void onGroupCreated(String groupId) {
+		groupIds.add(groupId);
+	}
+
+	synchronized void refresh() {
+		if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+			return;
+		}
+
+		for (NotificationChannel channel : notificationManager.getNotificationChannels()) {
+			channelIds.add(channel.getId());
+		}
+		for (NotificationChannelGroup group : notificationManager.getNotificationChannelGroups()) {
+			groupIds.add(group.getId());
+		}
+		PluginLog.d(LOG_TAG, "Fetched %d notification channels and %d channel groups.", channelIds.size(), groupIds.size());
+	}
+}
@@ -0,0 +1,436 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.content.Context;
+import android.icu.util.Calendar;
+
+import org.godotengine.plugin.notification.model.ChannelData;
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
+import org.godotengine.plugin.notification.model.SchedulerSettings;
+import org.godotengine.plugin.notification.store.ConfigMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Limits how often notifications are posted. Quotas are checked by the notification receiver's process right before
+ * notifications are posted (see {@link NotificationCoalescer#post(Context, List)}):
+ * <ul>
+ *	<li>a maximum number of notifications per channel within a rolling window, set per channel,</li>
+ *	<li>a maximum number of notifications per calendar day, and</li>
+ *	<li>a minimum time between notifications.</li>
+ * </ul>
+ * Notifications that exceed a quota are dropped, deferred or merged, as set by
+ * {@link SchedulerSettings#getQuotaAction()}, and counted in {@link Metrics}.
+ *
+ * <p>Quotas are checked against a compact file of post counters, which holds the time of the last post, the number
+ * of posts of the current day and, for each channel with a quota, the times of its most recent posts. Channel quotas
+ * are persisted in a {@link ConfigMap}, as they are read by the notification receiver's process.
+ */
+final class DeliveryQuota {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + DeliveryQuota.class.getSimpleName();
+
+	private static final String CONFIG_NAME = "notification_scheduler_quotas";
+	private static final String KEY_PREFIX_MAX_COUNT = "max_count:";
+	private static final String KEY_PREFIX_WINDOW = "window:";
+
+	private static final String COUNTERS_FILE_NAME = "notification_scheduler_quota_counters";
+	private static final int FILE_VERSION = 1;
+
+	// Upper bound of a channel's quota, which bounds the number of post times kept per channel in the counters file
+	private static final int MAX_QUOTA_COUNT = 256;
+
+	/**
+	 * Times of recent posts that quotas are checked against
+	 */
+	private static final class Counters {
+		// Start of the local day that dayCount counts posts of
+		long dayStart;
+		int dayCount;
+		long lastPostTime;
+
+		// Ascending post times of each channel with a quota, at most the channel's maximum count
+		final Map<String, ArrayDeque<Long>> channelPostTimes = new HashMap<>();
+
+		/**
+		 * Returns the earliest time, not before {@code now}, at which a notification of the channel is within all quotas
+		 */
+		long getAllowedTime(String channelId, int maxCount, long windowMs, int dailyCap, long minSpacingMs, long now) {
+			long allowedTime = now;
+
+			if (maxCount > 0) {
+				ArrayDeque<Long> postTimes = channelPostTimes.get(channelId);
+				if (postTimes != null && postTimes.size() >= maxCount) {
+					// The oldest of the last maxCount posts has to leave the window; times may be later than now if
+					// the clock was set back
+					allowedTime = Math.max(allowedTime, Math.min(postTimes.peekFirst(), now) + windowMs);
+				}
+			}
+
+			if (dailyCap > 0 && dayStart == getDayStart(now) && dayCount >= dailyCap) {
+				allowedTime = Math.max(allowedTime, getNextDayStart(now));
+			}
+
+			if (minSpacingMs > 0 && lastPostTime > 0) {
+				allowedTime = Math.max(allowedTime, Math.min(lastPostTime, now) + minSpacingMs);
+			}
+
+			return allowedTime;
+		}
+
+		void add(String channelId, int maxCount, long now) {
+			long today = getDayStart(now);
+			if (dayStart != today) {
+				dayStart = today;
+				dayCount = 0;
+			}
+			dayCount++;
+			lastPostTime = now;
+
+			if (maxCount > 0) {
+				ArrayDeque<Long> postTimes = channelPostTimes.get(channelId);
+				if (postTimes == null) {
+					postTimes = new ArrayDeque<>();
+					channelPostTimes.put(channelId, postTimes);
+				}
+				postTimes.addLast(now);
+				while (postTimes.size() > maxCount) {
+					postTimes.pollFirst();
+				}
+			}
+		}
+
+		/**
+		 * Drops the post times of channels that no longer have a quota
+		 */
+		void prune(ConfigMap config) {
+			Iterator<String> iterator = channelPostTimes.keySet().iterator();
+			while (iterator.hasNext()) {
+				if (config.getInt(KEY_PREFIX_MAX_COUNT + iterator.next(), 0) <= 0) {
+					iterator.remove();
+				}
+			}
+		}
+
+		void writeTo(DataOutputStream out) throws IOException {
+			out.writeLong(dayStart);
+			out.writeInt(dayCount);
+			out.writeLong(lastPostTime);
+			out.writeInt(channelPostTimes.size());
+			for (Map.Entry<String, ArrayDeque<Long>> entry : channelPostTimes.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeInt(entry.getValue().size());
+				for (long postTime : entry.getValue()) {
+					out.writeLong(postTime);
+				}
+			}
+		}
+
+		void readFrom(DataInputStream in) throws IOException {
+			dayStart = in.readLong();
+			dayCount = in.readInt();
+			lastPostTime = in.readLong();
+			int channelCount = in.readInt();
+			for (int i = 0; i < channelCount; i++) {
+				String channelId = in.readUTF();
+				int count = in.readInt();
+				ArrayDeque<Long> postTimes = new ArrayDeque<>(count);
+				for (int j = 0; j < count; j++) {
+					postTimes.addLast(in.readLong());
+				}
+				channelPostTimes.put(channelId, postTimes);
+			}
+		}
+	}
+
+	private DeliveryQuota() {
+	}
+
+	/**
+	 * Sets the quota of a channel. A maximum count or window of 0 removes the quota.
+	 */
+	static void setChannelQuota(Context context, ChannelData channelData) {
+		ConfigMap.Editor editor = getConfig(context).edit();
+		putChannelQuota(editor, channelData);
+		editor.commit();
+	}
+
+	/**
+	 * Sets the quotas of the channels with a single commit.
+	 */
+	static void setChannelQuotas(Context context, List<ChannelData> channels) {
+		ConfigMap.Editor editor = getConfig(context).edit();
+		for (ChannelData channelData : channels) {
+			putChannelQuota(editor, channelData);
+		}
+		editor.commit();
+	}
+
+	private static void putChannelQuota(ConfigMap.Editor editor, ChannelData channelData) {
+		int maxCount = channelData.getQuotaMaxCount();
+		int windowSeconds = channelData.getQuotaWindow();
+		if (maxCount > MAX_QUOTA_COUNT) {
+			PluginLog.w(LOG_TAG, "Quota of channel " + channelData.getId() + " is limited to " + MAX_QUOTA_COUNT
+					+ " notifications per window");
+			maxCount = MAX_QUOTA_COUNT;
+		}
+
+		if (maxCount > 0 && windowSeconds > 0) {
+			editor.putInt(KEY_PREFIX_MAX_COUNT + channelData.getId(), maxCount);
+			editor.putInt(KEY_PREFIX_WINDOW + channelData.getId(), windowSeconds);
+		} else {
+			editor.remove(KEY_PREFIX_MAX_COUNT + channelData.getId());
+			editor.remove(KEY_PREFIX_WINDOW + channelData.getId());
+		}
+	}
+
+	/**
+	 * Applies the quotas to notifications that are about to be posted, in order, and counts the ones that are within
+	 * the quotas as posted. Notifications that exceed a quota are handled as set by
+	 * {@link SchedulerSettings#getQuotaAction()}: dropped ones are discarded, deferred ones are rescheduled for when the
+	 * quotas allow them, and merged ones are added to {@code merged}, to be posted without alerting. Repeating
+	 * notifications are dropped rather than deferred, as their next occurrence is already scheduled.
+	 *
+	 * @return notifications that are within the quotas
+	 */
+	static synchronized List<ScheduledNotification> apply(Context context, List<ScheduledNotification> notifications,
+			List<ScheduledNotification> merged) {
+		SchedulerSettings settings = NotificationSchedulerPlugin.getSettings(context);
+		ConfigMap config = getConfig(context);
+		int dailyCap = settings.getQuotaDailyCap();
+		long minSpacingMs = settings.getQuotaMinSpacing() * 1000L;
+		if (dailyCap <= 0 && minSpacingMs <= 0 && config.isEmpty()) {
+			return notifications;
+		}
+
+		long now = System.currentTimeMillis();
+		File file = getCountersFile(context);
+		Counters counters = read(file);
+
+		List<ScheduledNotification> allowed = new ArrayList<>(notifications.size());
+		QuietHours quietHours = null;
+		List<NotificationData> deferred = new ArrayList<>();
+		List<Long> deferredTimes = new ArrayList<>();
+		for (ScheduledNotification scheduledNotification : notifications) {
+			NotificationData data = scheduledNotification.getData();
+			String channelId = data.getChannelId();
+			int maxCount = config.getInt(KEY_PREFIX_MAX_COUNT + channelId, 0);
+			long windowMs = config.getInt(KEY_PREFIX_WINDOW + channelId, 0) * 1000L;
+
+			long allowedTime = counters.getAllowedTime(channelId, maxCount, windowMs, dailyCap, minSpacingMs, now);
+			if (allowedTime <= now) {
+				counters.add(channelId, maxCount, now);
+				allowed.add(scheduledNotification);
+				continue;
+			}
+
+			int action = settings.getQuotaAction();
+			if (action == SchedulerSettings.QUOTA_ACTION_MERGE) {
+				merged.add(scheduledNotification);
+				Metrics.increment(Metrics.COUNTER_QUOTA_MERGED);
+			} else if (action == SchedulerSettings.QUOTA_ACTION_DEFER && !data.isRepeating()) {
+				// The deferred occurrence is armed again, so it is subject to quiet hours
+				if (quietHours == null) {
+					quietHours = QuietHours.load(context);
+				}
+				long deferredTime = quietHours.resolve(data, allowedTime, now);
+				if (deferredTime != QuietHours.NOT_SCHEDULED) {
+					deferred.add(data);
+					deferredTimes.add(deferredTime);
+				}
+				Metrics.increment(Metrics.COUNTER_QUOTA_DEFERRED);
+			} else {
+				Metrics.increment(Metrics.COUNTER_QUOTA_DROPPED);
+			}
+			PluginLog.i(LOG_TAG, "Notification %d of channel %s exceeds a delivery quota until %d (action %d)",
+					data.getId(), channelId, allowedTime, action);
+		}
+
+		counters.prune(config);
+		write(file, counters);
+
+		if (!deferred.isEmpty()) {
+			long[] fireTimes = new long[deferredTimes.size()];
+			for (int i = 0; i < fireTimes.length; i++) {
+				fireTimes[i] = deferredTimes.get(i);
+			}
+			NotificationSchedulerPlugin.saveScheduledNotifications(context, deferred, fireTimes);
+			NotificationSchedulerPlugin.armAlarms(context, deferred, fireTimes);
+		}
+
+		return allowed;
+	}
+
+	/**
+	 * Logs a warning for each quota that notifications that were just scheduled will exceed, as far as can be told from
+	 * their fire times and the recent posts in the counters file. Other scheduled notifications are not taken into
+	 * account, which keeps the check cheap enough for the scheduling path. Called when notifications are scheduled, so
+	 * that overlapping schedules are noticed before the notifications are due.
+	 *
+	 * @param fireTimes fire times of the notifications in {@code batch}, in the same order; may be longer than {@code batch}
+	 */
+	static void warnIfExceeded(Context context, List<NotificationData> batch, long[] fireTimes) {
+		if (!PluginLog.isLoggable(PluginLog.LEVEL_WARN)) {
+			return;
+		}
+
+		SchedulerSettings settings = NotificationSchedulerPlugin.getSettings(context);
+		ConfigMap config = getConfig(context);
+		int dailyCap = settings.getQuotaDailyCap();
+		long minSpacingMs = settings.getQuotaMinSpacing() * 1000L;
+		if (dailyCap <= 0 && minSpacingMs <= 0 && config.isEmpty()) {
+			return;
+		}
+
+		Counters counters = read(getCountersFile(context));
+
+		// Fire times of the notifications of each channel with a quota
+		Map<String, List<Long>> channelFireTimes = new HashMap<>();
+		for (int i = 0; i < batch.size(); i++) {
+			String channelId = batch.get(i).getChannelId();
+			if (config.getInt(KEY_PREFIX_MAX_COUNT + channelId, 0) > 0) {
+				List<Long> times = channelFireTimes.get(channelId);
+				if (times == null) {
+					times = new ArrayList<>();
+					channelFireTimes.put(channelId, times);
+				}
+				times.add(fireTimes[i]);
+			}
+		}
+
+		for (Map.Entry<String, List<Long>> entry : channelFireTimes.entrySet()) {
+			String channelId = entry.getKey();
+			int maxCount = config.getInt(KEY_PREFIX_MAX_COUNT + channelId, 0);
+			long windowMs = config.getInt(KEY_PREFIX_WINDOW + channelId, 0) * 1000L;
+
+			List<Long> times = new ArrayList<>(entry.getValue());
+			ArrayDeque<Long> postTimes = counters.channelPostTimes.get(channelId);
+			if (postTimes != null) {
+				times.addAll(postTimes);
+			}
+			Collections.sort(times);
+
+			for (int i = 0; i + maxCount < times.size(); i++) {
+				if (times.get(i + maxCount) - times.get(i) < windowMs) {
+					PluginLog.w(LOG_TAG, "More than " + maxCount + " notifications of channel " + channelId
+							+ " are due within " + windowMs / 1000L + " seconds from " + times.get(i));
+					break;
+				}
+			}
+		}
+
+		if (dailyCap <= 0 && minSpacingMs <= 0) {
+			return;
+		}
+
+		long[] sortedFireTimes = Arrays.copyOf(fireTimes, batch.size());
+		Arrays.sort(sortedFireTimes);
+
+		// Continued from the posts in the counters file
+		long previousTime = counters.lastPostTime;
+		long dayStart = counters.dayStart;
+		long nextDayStart = dayStart > 0 ? getNextDayStart(dayStart) : 0;
+		int dayCount = counters.dayCount;
+		boolean isDayWarned = false;
+		boolean isSpacingWarned = false;
+		for (long fireTime : sortedFireTimes) {
+			if (minSpacingMs > 0 && !isSpacingWarned && previousTime > 0 && fireTime - previousTime < minSpacingMs) {
+				PluginLog.w(LOG_TAG, "Notifications are due less than " + minSpacingMs / 1000L + " seconds apart at "
+						+ fireTime);
+				isSpacingWarned = true;
+			}
+			previousTime = fireTime;
+
+			if (dailyCap > 0) {
+				if (fireTime >= nextDayStart) {
+					dayStart = getDayStart(fireTime);
+					nextDayStart = getNextDayStart(fireTime);
+					dayCount = 0;
+					isDayWarned = false;
+				}
+				if (++dayCount > dailyCap && !isDayWarned) {
+					PluginLog.w(LOG_TAG, "More than " + dailyCap + " notifications are due on the day that starts at "
+							+ dayStart);
+					isDayWarned = true;
+				}
+			}
+		}
+	}
+
+	private static long getDayStart(long time) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(time);
+		calendar.set(Calendar.HOUR_OF_DAY, 0);
+		calendar.set(Calendar.MINUTE, 0);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		return calendar.getTimeInMillis();
+	}
+
+	private static long getNextDayStart(long time) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(getDayStart(time));
+		// Days are not always 24 hours long, due to daylight saving time
+		calendar.add(Calendar.DAY_OF_MONTH, 1);
+		return calendar.getTimeInMillis();
+	}
+
+	private static Counters read(File file) {
+		Counters counters = new Counters();
+		if (!file.exists()) {
+			return counters;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() == FILE_VERSION) {
+				counters.readFrom(in);
+			}
+		} catch (IOException e) {
+			PluginLog.w(LOG_TAG, "Failed to read quota counters", e);
+			return new Counters();
+		}
+		return counters;
+	}
+
+	private static void write(File file, Counters counters) {
+		File tempFile = new File(file.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			out.writeInt(FILE_VERSION);
+			counters.writeTo(out);
+		} catch (IOException e) {
+			PluginLog.w(LOG_TAG, "Failed to write quota counters", e);
+			return;
+		}
+
+		if (!tempFile.renameTo(file)) {
+			PluginLog.w(LOG_TAG, "Failed to replace quota counters");
+		}
+	}
+
+	private static File getCountersFile(Context context) {
+		return new File(context.getNoBackupFilesDir(), COUNTERS_FILE_NAME);
+	}
+
+	private static ConfigMap getConfig(Context context) {
+		return ConfigMap.get(context, CONFIG_NAME);
+	}
+}
@@ -0,0 +1,76 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import org.godotengine.godot.Dictionary;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, lock-free queue of events that are waiting to be passed to GDScript in a batch. Events are added from any
+ * thread and drained by a single consumer.
+ *
+ * <p>The oldest events are dropped once the queue is full, so that the queue does not grow without bound if events
+ * are never drained.
+ */
+final class EventDeliveryQueue {
+
+	private final int capacity;
+	private final ConcurrentLinkedQueue<Dictionary> queue = new ConcurrentLinkedQueue<>();
+
+	// Tracked separately, as ConcurrentLinkedQueue.size() traverses the queue
+	private final AtomicInteger size = new AtomicInteger();
+
+	EventDeliveryQueue(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * @return number of events that were dropped to make room for the event
+	 */
+	int add(Dictionary event) {
+		queue.add(event);
+
+		int droppedCount = 0;
+		if (size.incrementAndGet() > capacity) {
+			while (size.get() > capacity && queue.poll() != null) {
+				size.decrementAndGet();
+				droppedCount++;
+			}
+		}
+		return droppedCount;
+	}
+
+	/**
+	 * Removes and returns up to {@code maxCount} of the oldest events, or all events if {@code maxCount} is not
+	 * positive.
+	 */
+	Object[] drain(int maxCount) {
+		int count = size.get();
+		if (maxCount > 0) {
+			count = Math.min(count, maxCount);
+		}
+
+		Object[] events = new Object[Math.max(0, count)];
+		int drainedCount = 0;
+		Dictionary event;
+		while (drainedCount < events.length && (event = queue.poll()) != null) {
+			events[drainedCount++] = event;
+		}
+		size.addAndGet(-drainedCount);
+
+		if (drainedCount < events.length) {
+			Object[] result = new Object[drainedCount];
+			System.arraycopy(events, 0, result, 0, drainedCount);
+			return result;
+		}
+		return events;
+	}
+
+	boolean isEmpty() {
+		return queue.isEmpty();
+	}
+}
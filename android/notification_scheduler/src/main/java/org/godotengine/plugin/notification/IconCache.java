@@ -0,0 +1,199 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of notification icons.
+ *
+ * <p>Icon resource IDs are memoized by resource name. Large icon bitmaps are downsampled to the system's large icon
+ * dimensions and kept in an LRU cache that is keyed by resource name and screen density and bounded by bytes.
+ */
+public final class IconCache {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + IconCache.class.getSimpleName();
+
+	private static final String ICON_RESOURCE_TYPE = "drawable";
+
+	private static final int MAX_CACHE_BYTES = 4 * 1024 * 1024;
+	private static final int MEMORY_CLASS_DIVISOR = 32;
+
+	private static IconCache instance;
+
+	private final Map<String, Integer> resourceIds = new ConcurrentHashMap<>();
+	private final LruCache<String, Bitmap> largeIcons;
+
+	private IconCache() {
+		int maxBytes = (int) Math.min(MAX_CACHE_BYTES, Runtime.getRuntime().maxMemory() / MEMORY_CLASS_DIVISOR);
+		largeIcons = new LruCache<String, Bitmap>(maxBytes) {
+			@Override
+			protected int sizeOf(String key, Bitmap bitmap) {
+				return bitmap.getAllocationByteCount();
+			}
+		};
+	}
+
+	public static synchronized IconCache getInstance(Context context) {
+		if (instance == null) {
+			instance = new IconCache();
+			context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks2() {
+				@Override
+				public void onTrimMemory(int level) {
+					if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+						instance.largeIcons.evictAll();
+					} else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+						instance.largeIcons.trimToSize(instance.largeIcons.maxSize() / 2);
+					}
+				}
+
+				@Override
+				public void onConfigurationChanged(@NonNull Configuration newConfig) {
+				}
+
+				@Override
+				public void onLowMemory() {
+					instance.largeIcons.evictAll();
+				}
+			});
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the ID of the drawable resource with the given name, or 0 if there is no such resource.
+	 */
+	public int getResourceId(Context context, String name) {
+		Integer resourceId = resourceIds.get(name);
+		if (resourceId == null) {
+			resourceId = context.getResources().getIdentifier(name, ICON_RESOURCE_TYPE, context.getPackageName());
+			resourceIds.put(name, resourceId);
+		}
+		return resourceId;
+	}
+
+	/**
+	 * Returns the named drawable resource as a bitmap that fits the system's large icon dimensions.
+	 */
+	@Nullable
+	public Bitmap getLargeIcon(Context context, String name) {
+		Resources resources = context.getResources();
+		String key = name + "@" + resources.getDisplayMetrics().densityDpi;
+
+		Bitmap bitmap = largeIcons.get(key);
+		if (bitmap != null) {
+			return bitmap;
+		}
+
+		int resourceId = getResourceId(context, name);
+		if (resourceId == 0) {
+			PluginLog.w(LOG_TAG, "Large icon resource ID not found for name: " + name);
+			return null;
+		}
+
+		int targetWidth = resources.getDimensionPixelSize(android.R.dimen.notification_large_icon_width);
+		int targetHeight = resources.getDimensionPixelSize(android.R.dimen.notification_large_icon_height);
+
+		bitmap = decodeBitmap(resources, resourceId, targetWidth, targetHeight);
+		if (bitmap == null) {
+			bitmap = rasterizeDrawable(context, resourceId, name, targetWidth, targetHeight);
+		}
+
+		if (bitmap != null) {
+			largeIcons.put(key, bitmap);
+		}
+		return bitmap;
+	}
+
+	/**
+	 * Decodes a bitmap resource at the smallest power-of-two sample size that still covers the target dimensions.
+	 * Returns null for resources that are not bitmaps (eg. vector drawables).
+	 */
+	@Nullable
+	private static Bitmap decodeBitmap(Resources resources, int resourceId, int targetWidth, int targetHeight) {
+		BitmapFactory.Options options = new BitmapFactory.Options();
+		options.inJustDecodeBounds = true;
+		options.inScaled = false;
+		BitmapFactory.decodeResource(resources, resourceId, options);
+
+		if (options.outWidth <= 0 || options.outHeight <= 0) {
+			return null;
+		}
+
+		int sampleSize = 1;
+		while (options.outWidth / (sampleSize * 2) >= targetWidth && options.outHeight / (sampleSize * 2) >= targetHeight) {
+			sampleSize *= 2;
+		}
+
+		options.inJustDecodeBounds = false;
+		options.inSampleSize = sampleSize;
+		Bitmap decoded = BitmapFactory.decodeResource(resources, resourceId, options);
+		if (decoded == null) {
+			return null;
+		}
+
+		float scale = Math.min((float) targetWidth / decoded.getWidth(), (float) targetHeight / decoded.getHeight());
+		if (scale >= 1f) {
+			return decoded;
+		}
+
+		Bitmap scaled = Bitmap.createScaledBitmap(decoded, Math.max(1, Math.round(decoded.getWidth() * scale)),
+				Math.max(1, Math.round(decoded.getHeight() * scale)), true);
+		if (scaled != decoded) {
+			decoded.recycle();
+		}
+		return scaled;
+	}
+
+	/**
+	 * Draws vector and other XML drawables directly at the target size, keeping the drawable's aspect ratio.
+	 */
+	@Nullable
+	private static Bitmap rasterizeDrawable(Context context, int resourceId, String name, int targetWidth, int targetHeight) {
+		Drawable drawable;
+		try {
+			drawable = context.getDrawable(resourceId);
+		} catch (Resources.NotFoundException e) {
+			PluginLog.w(LOG_TAG, "Resource not found for large icon: " + name);
+			return null;
+		}
+
+		if (drawable == null) {
+			PluginLog.w(LOG_TAG, "Could not load drawable for large icon: " + name);
+			return null;
+		}
+
+		int width = targetWidth;
+		int height = targetHeight;
+		int intrinsicWidth = drawable.getIntrinsicWidth();
+		int intrinsicHeight = drawable.getIntrinsicHeight();
+
+		// Drawables without an intrinsic size (eg. some XML shapes) fill the target area
+		if (intrinsicWidth > 0 && intrinsicHeight > 0) {
+			float scale = Math.min((float) targetWidth / intrinsicWidth, (float) targetHeight / intrinsicHeight);
+			width = Math.max(1, Math.round(intrinsicWidth * scale));
+			height = Math.max(1, Math.round(intrinsicHeight * scale));
+		}
+
+		Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+		Canvas canvas = new Canvas(bitmap);
+		drawable.setBounds(0, 0, width, height);
+		drawable.draw(canvas);
+		return bitmap;
+	}
+}
@@ -0,0 +1,377 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.content.Context;
+
+import org.godotengine.godot.Dictionary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process-wide registry of counters, per-operation latency histograms and delivery lateness histograms.
+ *
+ * <p>All values are kept in atomic arrays, so recording never blocks and a snapshot can be taken from any thread
+ * without locks. A snapshot is not atomic across values, which is acceptable for monitoring.
+ *
+ * <p>Values are recorded in buckets whose upper bounds are powers of two: microseconds for operation latencies and
+ * milliseconds for delivery lateness. Percentiles are reported as the upper bound of the bucket that contains them.
+ *
+ * <p>Notifications are delivered by a receiver that runs in a separate process. That process persists its metrics
+ * with {@link #persist(Context)}, so that they can be included in the app's snapshot.
+ */
+final class Metrics {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + Metrics.class.getSimpleName();
+
+	static final int OP_SCHEDULE = 0;
+	static final int OP_SCHEDULE_BATCH = 1;
+	static final int OP_CANCEL = 2;
+	static final int OP_RESCHEDULE_ALL = 3;
+	static final int OP_BOOT_RESTORE = 4;
+	static final int OP_DISPATCH = 5;
+	static final int OP_BUILD_NOTIFICATION = 6;
+	static final int OP_EVENT_REPLAY = 7;
+	private static final String[] OPERATION_NAMES = { "schedule", "schedule_batch", "cancel", "reschedule_all",
+			"boot_restore", "dispatch", "build_notification", "event_replay" };
+	private static final int OP_COUNT = OPERATION_NAMES.length;
+
+	static final int COUNTER_ALARMS_ARMED = 0;
+	static final int COUNTER_NOTIFICATIONS_POSTED = 1;
+	static final int COUNTER_EVENTS_DROPPED = 2;
+	static final int COUNTER_QUOTA_DROPPED = 3;
+	static final int COUNTER_QUOTA_DEFERRED = 4;
+	static final int COUNTER_QUOTA_MERGED = 5;
+	static final int COUNTER_QUIET_HOURS_SHIFTED = 6;
+	static final int COUNTER_QUIET_HOURS_DROPPED = 7;
+	private static final String[] COUNTER_NAMES = { "alarms_armed", "notifications_posted", "events_dropped",
+			"quota_dropped", "quota_deferred", "quota_merged", "quiet_hours_shifted", "quiet_hours_dropped" };
+	private static final int COUNTER_COUNT = COUNTER_NAMES.length;
+
+	// Indexed by alarm mode
+	private static final String[] ALARM_MODE_NAMES = { "per_notification", "next_due" };
+
+	// Bucket i holds values below 2^i; the last bucket holds all larger values
+	private static final int BUCKET_COUNT = 32;
+
+	private static final String KEY_STORE_SIZE = "store_size";
+	private static final String KEY_OPERATIONS = "operations";
+	private static final String KEY_LATENESS = "lateness";
+	private static final String KEY_BY_CHANNEL = "by_channel";
+	private static final String KEY_BY_ALARM_MODE = "by_alarm_mode";
+	private static final String KEY_RECEIVER = "receiver";
+
+	private static final String RECEIVER_METRICS_FILE_NAME = "notification_scheduler_receiver_metrics";
+	private static final int FILE_VERSION = 4;
+
+	private static final Metrics instance = new Metrics();
+
+	/**
+	 * Count, total, maximum and per-bucket counts of recorded values
+	 */
+	private static final class Histogram {
+		private static final int INDEX_COUNT = 0;
+		private static final int INDEX_TOTAL = 1;
+		private static final int INDEX_MAX = 2;
+		private static final int INDEX_FIRST_BUCKET = 3;
+
+		private final AtomicLongArray values = new AtomicLongArray(INDEX_FIRST_BUCKET + BUCKET_COUNT);
+
+		void add(long value) {
+			values.incrementAndGet(INDEX_COUNT);
+			values.addAndGet(INDEX_TOTAL, value);
+			values.incrementAndGet(INDEX_FIRST_BUCKET + getBucket(value));
+			updateMaximum(value);
+		}
+
+		void addAll(Histogram other) {
+			for (int i = 0; i < values.length(); i++) {
+				if (i == INDEX_MAX) {
+					updateMaximum(other.values.get(i));
+				} else {
+					values.addAndGet(i, other.values.get(i));
+				}
+			}
+		}
+
+		private void updateMaximum(long value) {
+			long max;
+			while (value > (max = values.get(INDEX_MAX))) {
+				if (values.compareAndSet(INDEX_MAX, max, value)) {
+					break;
+				}
+			}
+		}
+
+		long getCount() {
+			return values.get(INDEX_COUNT);
+		}
+
+		/**
+		 * @param unit suffix of the value keys, eg. "us"
+		 */
+		Dictionary toDictionary(String unit) {
+			long count = getCount();
+			Dictionary result = new Dictionary();
+			result.put("count", count);
+			result.put("total_" + unit, values.get(INDEX_TOTAL));
+			result.put("max_" + unit, values.get(INDEX_MAX));
+			result.put("p50_" + unit, getPercentile(count, 50));
+			result.put("p90_" + unit, getPercentile(count, 90));
+			result.put("p99_" + unit, getPercentile(count, 99));
+			return result;
+		}
+
+		private long getPercentile(long count, int percentile) {
+			long rank = (count * percentile + 99) / 100;
+			long seen = 0;
+			for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+				seen += values.get(INDEX_FIRST_BUCKET + bucket);
+				if (seen >= rank) {
+					return bucket == BUCKET_COUNT - 1 ? values.get(INDEX_MAX) : (1L << bucket) - 1;
+				}
+			}
+			return values.get(INDEX_MAX);
+		}
+
+		void writeTo(DataOutputStream out) throws IOException {
+			for (int i = 0; i < values.length(); i++) {
+				out.writeLong(values.get(i));
+			}
+		}
+
+		void readFrom(DataInputStream in) throws IOException {
+			for (int i = 0; i < values.length(); i++) {
+				values.set(i, in.readLong());
+			}
+		}
+
+		private static int getBucket(long value) {
+			return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value));
+		}
+	}
+
+	private final AtomicLongArray counters = new AtomicLongArray(COUNTER_COUNT);
+	private final Histogram[] operations = new Histogram[OP_COUNT];
+	private final ConcurrentHashMap<String, Histogram> channelLateness = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Histogram> alarmModeLateness = new ConcurrentHashMap<>();
+
+	// Whether metrics persisted by an earlier instance of this process have been added to this instance's metrics
+	private static volatile boolean isPersistedLoaded = false;
+
+	private Metrics() {
+		for (int i = 0; i < OP_COUNT; i++) {
+			operations[i] = new Histogram();
+		}
+	}
+
+	/**
+	 * Returns the start time of an operation, to be passed to {@link #record(int, long)}
+	 */
+	static long start() {
+		return System.nanoTime();
+	}
+
+	static void record(int operation, long startNanos) {
+		instance.operations[operation].add((System.nanoTime() - startNanos) / 1000L);
+	}
+
+	static void increment(int counter) {
+		instance.counters.incrementAndGet(counter);
+	}
+
+	static void add(int counter, long delta) {
+		instance.counters.addAndGet(counter, delta);
+	}
+
+	/**
+	 * Records how late a notification was delivered relative to its scheduled time. Early deliveries (eg. of
+	 * coalesced notifications) are recorded as on time.
+	 */
+	static void recordLateness(String channelId, int alarmMode, long latenessMs) {
+		long value = Math.max(0, latenessMs);
+		getHistogram(instance.channelLateness, channelId).add(value);
+		String alarmModeName = alarmMode >= 0 && alarmMode < ALARM_MODE_NAMES.length
+				? ALARM_MODE_NAMES[alarmMode] : String.valueOf(alarmMode);
+		getHistogram(instance.alarmModeLateness, alarmModeName).add(value);
+	}
+
+	private static Histogram getHistogram(ConcurrentHashMap<String, Histogram> histograms, String key) {
+		Histogram histogram = histograms.get(key);
+		if (histogram == null) {
+			Histogram newHistogram = new Histogram();
+			histogram = histograms.putIfAbsent(key, newHistogram);
+			if (histogram == null) {
+				histogram = newHistogram;
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Returns a snapshot of this process' metrics, along with those persisted by the receiver process
+	 *
+	 * @param storeSize current number of scheduled notifications
+	 */
+	static Dictionary snapshot(Context context, int storeSize) {
+		Dictionary result = instance.toDictionary();
+		result.put(KEY_STORE_SIZE, storeSize);
+
+		Metrics receiverMetrics = read(getReceiverMetricsFile(context));
+		if (receiverMetrics != null) {
+			result.put(KEY_RECEIVER, receiverMetrics.toDictionary());
+		}
+		return result;
+	}
+
+	private Dictionary toDictionary() {
+		Dictionary result = new Dictionary();
+		for (int i = 0; i < COUNTER_COUNT; i++) {
+			result.put(COUNTER_NAMES[i], counters.get(i));
+		}
+
+		Dictionary operationsDictionary = new Dictionary();
+		for (int i = 0; i < OP_COUNT; i++) {
+			if (operations[i].getCount() > 0) {
+				operationsDictionary.put(OPERATION_NAMES[i], operations[i].toDictionary("us"));
+			}
+		}
+		result.put(KEY_OPERATIONS, operationsDictionary);
+
+		if (!alarmModeLateness.isEmpty()) {
+			Dictionary lateness = new Dictionary();
+			lateness.put(KEY_BY_CHANNEL, toDictionary(channelLateness));
+			lateness.put(KEY_BY_ALARM_MODE, toDictionary(alarmModeLateness));
+			result.put(KEY_LATENESS, lateness);
+		}
+		return result;
+	}
+
+	private static Dictionary toDictionary(Map<String, Histogram> histograms) {
+		Dictionary result = new Dictionary();
+		for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().toDictionary("ms"));
+		}
+		return result;
+	}
+
+	/**
+	 * Persists the receiver process' metrics. Metrics that were persisted by an earlier instance of the process are
+	 * carried over, so that the persisted metrics are cumulative.
+	 */
+	static synchronized void persist(Context context) {
+		File file = getReceiverMetricsFile(context);
+
+		if (!isPersistedLoaded) {
+			Metrics persisted = read(file);
+			if (persisted != null) {
+				instance.addAll(persisted);
+			}
+			isPersistedLoaded = true;
+		}
+
+		File tempFile = new File(file.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			out.writeInt(FILE_VERSION);
+			instance.writeTo(out);
+		} catch (IOException e) {
+			PluginLog.w(LOG_TAG, "Failed to persist metrics", e);
+			return;
+		}
+
+		if (!tempFile.renameTo(file)) {
+			PluginLog.w(LOG_TAG, "Failed to replace persisted metrics");
+		}
+	}
+
+	private static Metrics read(File file) {
+		if (!file.exists()) {
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_VERSION) {
+				return null;
+			}
+			Metrics metrics = new Metrics();
+			metrics.readFrom(in);
+			return metrics;
+		} catch (IOException e) {
+			PluginLog.w(LOG_TAG, "Failed to read persisted metrics", e);
+			return null;
+		}
+	}
+
+	private void writeTo(DataOutputStream out) throws IOException {
+		for (int i = 0; i < COUNTER_COUNT; i++) {
+			out.writeLong(counters.get(i));
+		}
+		for (Histogram operation : operations) {
+			operation.writeTo(out);
+		}
+		writeHistograms(out, channelLateness);
+		writeHistograms(out, alarmModeLateness);
+	}
+
+	private void readFrom(DataInputStream in) throws IOException {
+		for (int i = 0; i < COUNTER_COUNT; i++) {
+			counters.set(i, in.readLong());
+		}
+		for (Histogram operation : operations) {
+			operation.readFrom(in);
+		}
+		readHistograms(in, channelLateness);
+		readHistograms(in, alarmModeLateness);
+	}
+
+	private static void writeHistograms(DataOutputStream out, Map<String, Histogram> histograms) throws IOException {
+		// Copied, so that the written count matches the written entries if a histogram is added meanwhile
+		Map<String, Histogram> copy = new HashMap<>(histograms);
+		out.writeInt(copy.size());
+		for (Map.Entry<String, Histogram> entry : copy.entrySet()) {
+			out.writeUTF(entry.getKey());
+			entry.getValue().writeTo(out);
+		}
+	}
+
+	private static void readHistograms(DataInputStream in, Map<String, Histogram> histograms) throws IOException {
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String key = in.readUTF();
+			Histogram histogram = new Histogram();
+			histogram.readFrom(in);
+			histograms.put(key, histogram);
+		}
+	}
+
+	private void addAll(Metrics other) {
+		for (int i = 0; i < COUNTER_COUNT; i++) {
+			counters.addAndGet(i, other.counters.get(i));
+		}
+		for (int i = 0; i < OP_COUNT; i++) {
+			operations[i].addAll(other.operations[i]);
+		}
+		for (Map.Entry<String, Histogram> entry : other.channelLateness.entrySet()) {
+			getHistogram(channelLateness, entry.getKey()).addAll(entry.getValue());
+		}
+		for (Map.Entry<String, Histogram> entry : other.alarmModeLateness.entrySet()) {
+			getHistogram(alarmModeLateness, entry.getKey()).addAll(entry.getValue());
+		}
+	}
+
+	private static File getReceiverMetricsFile(Context context) {
+		return new File(context.getNoBackupFilesDir(), RECEIVER_METRICS_FILE_NAME);
+	}
+}
@@ -0,0 +1,378 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import static android.content.Context.ALARM_SERVICE;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
+import org.godotengine.plugin.notification.store.ScheduleStore;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Alternative scheduling engine that keeps pending notifications in a min-heap ordered by fire time and registers a
+ * single alarm for the earliest one. When the alarm goes off, {@link NotificationReceiver} calls
+ * {@link #dispatch(Context)}, which posts every notification that is due and re-arms the alarm for the next one.
+ *
+ * <p>The schedule store is the source of truth. Heap entries are validated against it before an alarm is armed and
+ * before they are posted, which keeps the heap correct when notifications are removed or rescheduled. The heap is
+ * rebuilt from the store only when another process added to it since the heap was built.
+ */
+final class NextDueDispatcher {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + NextDueDispatcher.class.getSimpleName();
+
+	static final String ACTION_DISPATCH = "org.godotengine.plugin.notification.action.DISPATCH_DUE_NOTIFICATIONS";
+
+	private static final int DISPATCH_REQUEST_CODE = 0;
+
+	// Notifications that are due within this margin of the current time are posted by the same alarm
+	private static final long DUE_TOLERANCE_MS = 1000L;
+
+	private static NextDueDispatcher instance;
+
+	private static class DueEntry {
+		final int id;
+		final long fireTime;
+
+		DueEntry(int id, long fireTime) {
+			this.id = id;
+			this.fireTime = fireTime;
+		}
+	}
+
+	private final PriorityQueue<DueEntry> heap = new PriorityQueue<>(64, (a, b) -> Long.compare(a.fireTime, b.fireTime));
+	private boolean isBuilt = false;
+	private long builtExternalChangeCount;
+
+	private NextDueDispatcher() {
+	}
+
+	static synchronized NextDueDispatcher getInstance() {
+		if (instance == null) {
+			instance = new NextDueDispatcher();
+		}
+		return instance;
+	}
+
+	/**
+	 * Adds newly persisted notifications to the heap and re-arms the alarm.
+	 */
+	synchronized void onScheduled(Context context, List<NotificationData> batch, long[] fireTimes) {
+		ScheduleStore store = NotificationSchedulerPlugin.getScheduleStore(context);
+		if (isBuilt) {
+			for (int i = 0; i < batch.size(); i++) {
+				heap.add(new DueEntry(batch.get(i).getId(), fireTimes[i]));
+			}
+		} else {
+			rebuild(store);
+		}
+		arm(context, store);
+	}
+
+	/**
+	 * Re-arms the alarm after notifications have been removed from the store.
+	 */
+	synchronized void onCancelled(Context context) {
+		ScheduleStore store = NotificationSchedulerPlugin.getScheduleStore(context);
+		if (!isBuilt) {
+			rebuild(store);
+		}
+		arm(context, store);
+	}
+
+	/**
+	 * Rebuilds the heap from the store and re-arms the alarm (eg. after reboot).
+	 */
+	synchronized void restore(Context context) {
+		ScheduleStore store = NotificationSchedulerPlugin.getScheduleStore(context);
+		restoreOccurrences(context, store, QuietHours.load(context));
+		rebuild(store);
+		PluginLog.i(LOG_TAG, "Restored %s scheduled notifications.", heap.size());
+		arm(context, store);
+	}
+
+	/**
+	 * Recomputes the occurrences of all scheduled notifications, as the time zone or quiet hours may have changed since
+	 * they were armed. Repeating notifications whose occurrence was missed are moved to their next occurrence if their
+	 * missed policy is to skip; other missed notifications are left in place, so that they are posted by the next
+	 * dispatch. Notifications whose occurrence is dropped within quiet hours are removed.
+	 */
+	private static void restoreOccurrences(Context context, ScheduleStore store, QuietHours quietHours) {
+		long now = System.currentTimeMillis();
+		List<NotificationData> moved = new ArrayList<>();
+		List<Long> movedFireTimes = new ArrayList<>();
+		List<Long> movedOccurrenceTimes = new ArrayList<>();
+		List<Integer> droppedIds = new ArrayList<>();
+		for (ScheduledNotification scheduledNotification : store.getAll()) {
+			NotificationData data = scheduledNotification.getData();
+			if (!data.isValid()) {
+				// Discarded by the next dispatch
+				continue;
+			}
+
+			long occurrenceTime = RepeatSchedule.getRestoredOccurrenceTime(data, scheduledNotification.getFireTime(),
+					scheduledNotification.getOccurrenceTime(), now);
+			long fireTime = quietHours.resolve(data, occurrenceTime, now);
+			if (fireTime == QuietHours.NOT_SCHEDULED) {
+				droppedIds.add(data.getId());
+			} else if (fireTime != scheduledNotification.getFireTime()
+					|| occurrenceTime != scheduledNotification.getOccurrenceTime()) {
+				moved.add(data);
+				movedFireTimes.add(fireTime);
+				movedOccurrenceTimes.add(occurrenceTime);
+			}
+		}
+
+		if (!droppedIds.isEmpty()) {
+			int[] ids = new int[droppedIds.size()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = droppedIds.get(i);
+			}
+			NotificationSchedulerPlugin.removeScheduledNotifications(context, ids);
+		}
+
+		if (!moved.isEmpty()) {
+			long[] fireTimes = new long[movedFireTimes.size()];
+			long[] occurrenceTimes = new long[movedOccurrenceTimes.size()];
+			for (int i = 0; i < fireTimes.length; i++) {
+				fireTimes[i] = movedFireTimes.get(i);
+				occurrenceTimes[i] = movedOccurrenceTimes.get(i);
+			}
+			NotificationSchedulerPlugin.saveScheduledNotifications(context, moved, fireTimes, occurrenceTimes);
+		}
+
+		if (!droppedIds.isEmpty() || !moved.isEmpty()) {
+			PluginLog.i(LOG_TAG, "Moved %d and dropped %d scheduled notifications on restore.", moved.size(),
+					droppedIds.size());
+		}
+	}
+
+	/**
+	 * Posts all notifications that are due, reschedules repeating ones and re-arms the alarm for the next one.
+	 */
+	synchronized void dispatch(Context context) {
+		long startTime = Metrics.start();
+		ScheduleStore store = NotificationSchedulerPlugin.getScheduleStore(context);
+
+		// Changes made by this process are already in the heap, but notifications scheduled by the app are not
+		if (!isBuilt || store.getExternalChangeCount() != builtExternalChangeCount) {
+			rebuild(store);
+		}
+
+		QuietHours quietHours = QuietHours.load(context);
+		long now = System.currentTimeMillis();
+		List<Integer> completedIds = new ArrayList<>();
+		List<NotificationData> repeating = new ArrayList<>();
+		List<Long> nextFireTimes = new ArrayList<>();
+		List<Long> nextOccurrenceTimes = new ArrayList<>();
+		List<ScheduledNotification> dueNotifications = new ArrayList<>();
+		Set<String> dueChannels = new HashSet<>();
+
+		// Next occurrences of repeating notifications, added to the heap once all due notifications are collected
+		List<DueEntry> rescheduled = new ArrayList<>();
+
+		while (!heap.isEmpty() && heap.peek().fireTime <= now + DUE_TOLERANCE_MS) {
+			DueEntry entry = heap.poll();
+			ScheduledNotification scheduledNotification = getValidNotification(store, entry, completedIds);
+			if (scheduledNotification != null) {
+				NotificationData data = scheduledNotification.getData();
+				dueNotifications.add(new ScheduledNotification(entry.id, data, entry.fireTime));
+				dueChannels.add(data.getChannelId());
+				complete(entry, scheduledNotification, quietHours, now, completedIds, repeating, nextFireTimes,
+						nextOccurrenceTimes, rescheduled);
+			}
+		}
+
+		// Notifications that are due within the coalescing window of a channel with due notifications are posted early
+		long maxWindowMs = dueChannels.isEmpty() ? 0 : NotificationCoalescer.getMaxWindowMs(context);
+		List<DueEntry> deferred = new ArrayList<>();
+		while (!heap.isEmpty() && heap.peek().fireTime <= now + maxWindowMs) {
+			DueEntry entry = heap.poll();
+			ScheduledNotification scheduledNotification = getValidNotification(store, entry, completedIds);
+			if (scheduledNotification == null) {
+				continue;
+			}
+
+			NotificationData data = scheduledNotification.getData();
+			if (dueChannels.contains(data.getChannelId())
+					&& entry.fireTime <= now + NotificationCoalescer.getWindowMs(context, data.getChannelId())) {
+				dueNotifications.add(new ScheduledNotification(entry.id, data, entry.fireTime));
+				complete(entry, scheduledNotification, quietHours, now, completedIds, repeating, nextFireTimes,
+						nextOccurrenceTimes, rescheduled);
+			} else {
+				deferred.add(entry);
+			}
+		}
+		heap.addAll(deferred);
+		heap.addAll(rescheduled);
+
+		if (!completedIds.isEmpty()) {
+			int[] ids = new int[completedIds.size()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = completedIds.get(i);
+			}
+			NotificationSchedulerPlugin.removeScheduledNotifications(context, ids);
+		}
+
+		if (!repeating.isEmpty()) {
+			long[] fireTimes = new long[nextFireTimes.size()];
+			long[] occurrenceTimes = new long[nextOccurrenceTimes.size()];
+			for (int i = 0; i < fireTimes.length; i++) {
+				fireTimes[i] = nextFireTimes.get(i);
+				occurrenceTimes[i] = nextOccurrenceTimes.get(i);
+			}
+			NotificationSchedulerPlugin.saveScheduledNotifications(context, repeating, fireTimes, occurrenceTimes);
+		}
+
+		// Posted once the store is updated, as notifications that exceed a delivery quota may be deferred, which
+		// schedules them again
+		NotificationCoalescer.post(context, dueNotifications);
+
+		PluginLog.d(LOG_TAG, "dispatch():: posted %d notifications", completedIds.size() + repeating.size());
+
+		arm(context, store);
+		Metrics.record(Metrics.OP_DISPATCH, startTime);
+	}
+
+	/**
+	 * Returns the stored notification of a heap entry, or null if it was removed, rescheduled or is invalid
+	 */
+	private static ScheduledNotification getValidNotification(ScheduleStore store, DueEntry entry,
+			List<Integer> completedIds) {
+		ScheduledNotification scheduledNotification = store.get(entry.id);
+		if (scheduledNotification == null || scheduledNotification.getFireTime() != entry.fireTime) {
+			return null;
+		}
+
+		NotificationData data = scheduledNotification.getData();
+		if (!data.isValid()) {
+			PluginLog.w(LOG_TAG, "Discarding invalid notification " + entry.id);
+			completedIds.add(entry.id);
+			return null;
+		}
+		return scheduledNotification;
+	}
+
+	/**
+	 * Marks a posted notification as completed, or schedules its next occurrence if it repeats. The next occurrence is
+	 * computed from the time of the posted occurrence before quiet hours were applied to it.
+	 */
+	private static void complete(DueEntry entry, ScheduledNotification scheduledNotification, QuietHours quietHours,
+			long now, List<Integer> completedIds, List<NotificationData> repeating, List<Long> nextFireTimes,
+			List<Long> nextOccurrenceTimes, List<DueEntry> rescheduled) {
+		NotificationData data = scheduledNotification.getData();
+		if (data.isRepeating()) {
+			long nextOccurrenceTime = RepeatSchedule.getNextOccurrenceTime(data, entry.fireTime,
+					scheduledNotification.getOccurrenceTime(), now);
+			long nextFireTime = quietHours.resolve(data, nextOccurrenceTime, now);
+			repeating.add(data);
+			nextFireTimes.add(nextFireTime);
+			nextOccurrenceTimes.add(nextOccurrenceTime);
+			rescheduled.add(new DueEntry(entry.id, nextFireTime));
+		} else {
+			completedIds.add(entry.id);
+		}
+	}
+
+	/**
+	 * Cancels the dispatcher's alarm (eg. when switching to per-notification alarms).
+	 */
+	static void cancelAlarm(Context context) {
+		AlarmManager alarmManager = (AlarmManager) context.getSystemService(ALARM_SERVICE);
+		alarmManager.cancel(createPendingIntent(context));
+	}
+
+	private void rebuild(ScheduleStore store) {
+		builtExternalChangeCount = store.getExternalChangeCount();
+		heap.clear();
+		store.forEachFireTime((notificationId, fireTime) -> heap.add(new DueEntry(notificationId, fireTime)));
+		isBuilt = true;
+	}
+
+	private void arm(Context context, ScheduleStore store) {
+		// Drop entries that were removed or rescheduled since they were added to the heap
+		while (!heap.isEmpty()) {
+			DueEntry head = heap.peek();
+			long storedFireTime = store.getFireTime(head.id);
+			if (storedFireTime == head.fireTime) {
+				break;
+			}
+			heap.poll();
+			if (storedFireTime != -1) {
+				heap.add(new DueEntry(head.id, storedFireTime));
+			}
+		}
+
+		if (heap.isEmpty()) {
+			cancelAlarm(context);
+			PluginLog.d(LOG_TAG, "arm():: no pending notifications");
+			return;
+		}
+
+		DueEntry head = heap.peek();
+		long windowMs = getWindowMs(store, head);
+		AlarmManager alarmManager = (AlarmManager) context.getSystemService(ALARM_SERVICE);
+		NotificationSchedulerPlugin.setAlarm(alarmManager,
+				windowMs > 0 ? NotificationData.PRECISION_WINDOW : NotificationData.PRECISION_EXACT,
+				windowMs, head.fireTime, createPendingIntent(context));
+		Metrics.increment(Metrics.COUNTER_ALARMS_ARMED);
+		if (PluginLog.isLoggable(PluginLog.LEVEL_INFO)) {
+			PluginLog.i(LOG_TAG, "Armed dispatcher for notification '%d' at %d with %dms window (%d pending).", head.id,
+					head.fireTime, windowMs, heap.size());
+		}
+	}
+
+	/**
+	 * Returns how late the alarm for the head of the heap may go off, based on the delivery precision of the head's
+	 * notification. The single alarm also serves the following notifications, so the window never extends beyond the
+	 * fire time of the next one.
+	 */
+	private long getWindowMs(ScheduleStore store, DueEntry head) {
+		ScheduledNotification scheduledNotification = store.get(head.id);
+		if (scheduledNotification == null) {
+			return 0;
+		}
+
+		NotificationData data = scheduledNotification.getData();
+		long windowMs;
+		switch (data.getPrecision()) {
+			case NotificationData.PRECISION_WINDOW:
+				windowMs = data.getPrecisionWindow() * 1000L;
+				break;
+
+			case NotificationData.PRECISION_INEXACT:
+			case NotificationData.PRECISION_NON_WAKEUP:
+				// The alarm wakes the device regardless, as it may be needed by the following notifications
+				windowMs = AlarmManager.INTERVAL_FIFTEEN_MINUTES;
+				break;
+
+			default:
+				return 0;
+		}
+
+		heap.poll();
+		DueEntry next = heap.peek();
+		heap.add(head);
+
+		return next == null ? windowMs : Math.min(windowMs, next.fireTime - head.fireTime);
+	}
+
+	private static PendingIntent createPendingIntent(Context context) {
+		Intent intent = new Intent(context, NotificationReceiver.class);
+		intent.setAction(ACTION_DISPATCH);
+		return PendingIntent.getBroadcast(context, DISPATCH_REQUEST_CODE, intent,
+				PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+	}
+}
@@ -0,0 +1,298 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.app.AlarmManager;
+import android.app.Notification;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+
+import org.godotengine.plugin.notification.model.ChannelData;
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
+import org.godotengine.plugin.notification.store.ConfigMap;
+import org.godotengine.plugin.notification.store.ScheduleStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Delivers notifications of a channel that are due within the channel's coalescing window as a single notification
+ * group. The group's notifications are posted silently, and an {@link NotificationCompat.InboxStyle} summary
+ * alerts once. Each notification in the group keeps its own content and delete intents, so opened and dismissed
+ * events are still reported per notification.
+ *
+ * <p>All notifications are posted through {@link #post(Context, List)}, which reports them as fired.
+ *
+ * <p>Coalescing windows are persisted in a {@link ConfigMap}, as they are read by the notification receiver's process.
+ */
+final class NotificationCoalescer {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + NotificationCoalescer.class.getSimpleName();
+
+	static final String ACTION_OPEN_GROUP = "org.godotengine.plugin.notification.action.OPEN_GROUP";
+
+	private static final String CONFIG_NAME = "notification_scheduler_coalescing";
+	private static final String GROUP_KEY_PREFIX = "nsp_group:";
+	private static final String SUMMARY_TAG_PREFIX = "nsp_summary:";
+	private static final int SUMMARY_ID = 0;
+
+	// Maximum number of lines in a summary
+	private static final int MAX_SUMMARY_LINES = 5;
+
+	private NotificationCoalescer() {
+	}
+
+	/**
+	 * @param windowSeconds notifications of the channel that are due within this many seconds of each other are
+	 *			delivered together; 0 to disable coalescing
+	 */
+	static void setWindow(Context context, String channelId, int windowSeconds) {
+		ConfigMap.Editor editor = getConfig(context).edit();
+		putWindow(editor, channelId, windowSeconds);
+		editor.commit();
+	}
+
+	/**
+	 * Sets the coalescing windows of the channels with a single commit.
+	 */
+	static void setWindows(Context context, List<ChannelData> channels) {
+		ConfigMap.Editor editor = getConfig(context).edit();
+		for (ChannelData channelData : channels) {
+			putWindow(editor, channelData.getId(), channelData.getCoalesceWindow());
+		}
+		editor.commit();
+	}
+
+	private static void putWindow(ConfigMap.Editor editor, String channelId, int windowSeconds) {
+		if (windowSeconds > 0) {
+			editor.putInt(channelId, windowSeconds);
+		} else {
+			editor.remove(channelId);
+		}
+	}
+
+	/**
+	 * @return coalescing window of the channel in milliseconds, or 0 if coalescing is disabled for the channel
+	 */
+	static long getWindowMs(Context context, String channelId) {
+		return channelId == null ? 0 : getConfig(context).getInt(channelId, 0) * 1000L;
+	}
+
+	/**
+	 * @return largest coalescing window of all channels in milliseconds
+	 */
+	static long getMaxWindowMs(Context context) {
+		long maxWindowMs = 0;
+		for (Object windowSeconds : getConfig(context).getAll().values()) {
+			if (windowSeconds instanceof Integer) {
+				maxWindowMs = Math.max(maxWindowMs, (Integer) windowSeconds * 1000L);
+			}
+		}
+		return maxWindowMs;
+	}
+
+	/**
+	 * Delivers a notification whose per-notification alarm went off, along with the one-shot notifications of its
+	 * channel that are due within the channel's coalescing window. The alarms of the latter are cancelled.
+	 *
+	 * <p>Repeating alarms cannot skip a single occurrence, so repeating notifications are not delivered early.
+	 */
+	static synchronized void deliver(Context context, ScheduledNotification scheduledNotification) {
+		NotificationData data = scheduledNotification.getData();
+		ScheduleStore store = NotificationSchedulerPlugin.getScheduleStore(context);
+
+		if (!data.isRepeating() && store.getFireTime(data.getId()) == -1) {
+			PluginLog.d(LOG_TAG, "Notification %s was already delivered with its group", data.getId());
+			return;
+		}
+
+		final long deadline = System.currentTimeMillis() + getWindowMs(context, data.getChannelId());
+		final List<Integer> candidateIds = new ArrayList<>();
+		store.forEachFireTime((notificationId, fireTime) -> {
+			if (notificationId != data.getId() && fireTime <= deadline) {
+				candidateIds.add(notificationId);
+			}
+		});
+
+		int[] ids = new int[candidateIds.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = candidateIds.get(i);
+		}
+
+		List<ScheduledNotification> group = new ArrayList<>();
+		group.add(scheduledNotification);
+		for (ScheduledNotification candidate : store.getAll(ids)) {
+			NotificationData candidateData = candidate.getData();
+			if (!candidateData.isRepeating() && candidateData.isValid() && data.getChannelId().equals(candidateData.getChannelId())) {
+				group.add(candidate);
+			}
+		}
+
+		int[] completedIds = new int[group.size()];
+		int completedCount = 0;
+		if (!data.isRepeating()) {
+			completedIds[completedCount++] = data.getId();
+		}
+
+		AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+		for (int i = 1; i < group.size(); i++) {
+			int notificationId = group.get(i).getId();
+			NotificationSchedulerPlugin.cancelAlarm(context, alarmManager, notificationId);
+			completedIds[completedCount++] = notificationId;
+		}
+		NotificationSchedulerPlugin.removeScheduledNotifications(context, Arrays.copyOf(completedIds, completedCount));
+
+		post(context, group);
+	}
+
+	/**
+	 * Posts the notifications, grouping those of the same channel when there are more than one, and reports the posted
+	 * ones as fired. Notifications of channels that do not exist are skipped, as the system would drop them.
+	 * Notifications that exceed a delivery quota are handled by {@link DeliveryQuota}; merged ones are added to their
+	 * channel's group without alerting.
+	 */
+	static void post(Context context, List<ScheduledNotification> notifications) {
+		ChannelRegistry channelRegistry = ChannelRegistry.getInstance(context);
+		List<ScheduledNotification> available = new ArrayList<>(notifications.size());
+		Set<String> missingChannelIds = new HashSet<>();
+		for (ScheduledNotification scheduledNotification : notifications) {
+			String channelId = scheduledNotification.getData().getChannelId();
+			if (missingChannelIds.contains(channelId) || !channelRegistry.verifyChannel(channelId)) {
+				missingChannelIds.add(channelId);
+				PluginLog.e(LOG_TAG, "Unable to post notification " + scheduledNotification.getId() + ": channel '"
+						+ channelId + "' does not exist");
+				continue;
+			}
+			available.add(scheduledNotification);
+		}
+
+		List<ScheduledNotification> merged = new ArrayList<>();
+		List<ScheduledNotification> allowed = DeliveryQuota.apply(context, available, merged);
+
+		Map<String, List<ScheduledNotification>> byChannel = new LinkedHashMap<>();
+		for (ScheduledNotification scheduledNotification : allowed) {
+			String channelId = scheduledNotification.getData().getChannelId();
+			List<ScheduledNotification> channelNotifications = byChannel.get(channelId);
+			if (channelNotifications == null) {
+				channelNotifications = new ArrayList<>();
+				byChannel.put(channelId, channelNotifications);
+			}
+			channelNotifications.add(scheduledNotification);
+		}
+
+		List<ScheduledNotification> fired = new ArrayList<>(notifications.size());
+		for (Map.Entry<String, List<ScheduledNotification>> entry : byChannel.entrySet()) {
+			List<ScheduledNotification> channelNotifications = entry.getValue();
+			if (channelNotifications.size() == 1) {
+				ScheduledNotification scheduledNotification = channelNotifications.get(0);
+				if (NotificationReceiver.postNotification(context, scheduledNotification.getData())) {
+					fired.add(scheduledNotification);
+				}
+			} else {
+				postGroup(context, entry.getKey(), channelNotifications, fired);
+			}
+		}
+
+		for (ScheduledNotification scheduledNotification : merged) {
+			postMerged(context, scheduledNotification, fired);
+		}
+
+		if (!fired.isEmpty()) {
+			NotificationSchedulerPlugin.handleNotificationsFired(context, fired, System.currentTimeMillis());
+		}
+	}
+
+	private static void postGroup(Context context, String channelId, List<ScheduledNotification> notifications,
+			List<ScheduledNotification> fired) {
+		String groupKey = GROUP_KEY_PREFIX + channelId;
+		NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
+		NotificationCompat.InboxStyle inboxStyle = new NotificationCompat.InboxStyle();
+		int postedCount = 0;
+
+		for (ScheduledNotification scheduledNotification : notifications) {
+			NotificationData data = scheduledNotification.getData();
+			long startTime = Metrics.start();
+			Notification notification = data.buildNotification(context, groupKey);
+			Metrics.record(Metrics.OP_BUILD_NOTIFICATION, startTime);
+			if (notification == null) {
+				PluginLog.w(LOG_TAG, "Unable to forward notification " + data.getId() + ": notification object is null");
+				continue;
+			}
+
+			notificationManager.notify(data.getId(), notification);
+			Metrics.increment(Metrics.COUNTER_NOTIFICATIONS_POSTED);
+			fired.add(scheduledNotification);
+			if (postedCount < MAX_SUMMARY_LINES) {
+				inboxStyle.addLine(data.getTitle());
+			}
+			postedCount++;
+		}
+
+		if (postedCount == 0) {
+			return;
+		}
+
+		if (postedCount > MAX_SUMMARY_LINES) {
+			inboxStyle.setSummaryText("+" + (postedCount - MAX_SUMMARY_LINES));
+		}
+
+		NotificationData first = notifications.get(0).getData();
+
+		// Opens the app without reporting an opened notification
+		Intent openIntent = new Intent(context, ResultActivity.class);
+		openIntent.setAction(ACTION_OPEN_GROUP);
+		openIntent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK | Intent.FLAG_ACTIVITY_NO_HISTORY);
+
+		Notification summary = new NotificationCompat.Builder(context, channelId)
+				.setSmallIcon(IconCache.getInstance(context).getResourceId(context, first.getSmallIconName()))
+				.setContentTitle(first.getTitle())
+				.setContentText(first.getContent())
+				.setNumber(postedCount)
+				.setStyle(inboxStyle)
+				.setGroup(groupKey)
+				.setGroupSummary(true)
+				.setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY)
+				.setContentIntent(PendingIntent.getActivity(context, channelId.hashCode(), openIntent,
+						PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE))
+				.setAutoCancel(true)
+				.build();
+
+		// Tagged, so that the summary does not replace a notification with the same ID
+		notificationManager.notify(SUMMARY_TAG_PREFIX + channelId, SUMMARY_ID, summary);
+		PluginLog.i(LOG_TAG, "Posted %d notifications of channel %s as a group", postedCount, channelId);
+	}
+
+	/**
+	 * Posts a notification into its channel's group, where it does not alert
+	 */
+	private static void postMerged(Context context, ScheduledNotification scheduledNotification,
+			List<ScheduledNotification> fired) {
+		NotificationData data = scheduledNotification.getData();
+		long startTime = Metrics.start();
+		Notification notification = data.buildNotification(context, GROUP_KEY_PREFIX + data.getChannelId());
+		Metrics.record(Metrics.OP_BUILD_NOTIFICATION, startTime);
+		if (notification == null) {
+			PluginLog.w(LOG_TAG, "Unable to forward notification " + data.getId() + ": notification object is null");
+			return;
+		}
+
+		NotificationManagerCompat.from(context).notify(data.getId(), notification);
+		Metrics.increment(Metrics.COUNTER_NOTIFICATIONS_POSTED);
+		fired.add(scheduledNotification);
+	}
+
+	private static ConfigMap getConfig(Context context) {
+		return ConfigMap.get(context, CONFIG_NAME);
+	}
+}
@@ -8,44 +8,113 @@ import android.app.Notification;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.util.Log;
 
 import androidx.core.app.NotificationManagerCompat;
 
 import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.NotificationDataCodec;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
 import org.godotengine.plugin.notification.NotificationSchedulerPlugin;
 
+import java.util.Collections;
+
 
 public class NotificationReceiver extends BroadcastReceiver {
 	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + NotificationReceiver.class.getSimpleName();
 
 	private static final String ICON_RESOURCE_TYPE = "drawable";
 
+	// Executor key of next-due dispatch work
+	private static final int DISPATCH_EXECUTOR_KEY = 0;
+
+	// Set on alarm intents that only pass the notification ID; data is read from the schedule store
+	static final String EXTRA_STORE_KEY = "notification_store_key";
+
+	// Time (milliseconds since epoch) for which the alarm was set
+	static final String EXTRA_FIRE_TIME = "notification_fire_time";
+
 	public NotificationReceiver() {
 	}
 
 	@Override
 	public void onReceive(Context context, Intent intent) {
 		if (intent == null) {
-			Log.e(LOG_TAG, String.format("%s():: Received intent is null. Unable to generate notification.",
+			PluginLog.e(LOG_TAG, String.format("%s():: Received intent is null. Unable to generate notification.",
 					"onReceive"));
+		} else if (NextDueDispatcher.ACTION_DISPATCH.equals(intent.getAction())) {
+			final Context appContext = context.getApplicationContext();
+			ReceiverExecutor.execute(this, DISPATCH_EXECUTOR_KEY, () -> {
+				NotificationSchedulerPlugin.reloadConfigIfChanged(appContext);
+				NextDueDispatcher.getInstance().dispatch(appContext);
+				Metrics.persist(appContext);
+			});
 		} else if (intent.hasExtra(NotificationData.DATA_KEY_ID)) {
-			NotificationData notificationData = new NotificationData(intent);
-
-			// Clean up storage for non-repeating notifications
-			if (!notificationData.hasInterval()) {
-				NotificationSchedulerPlugin.removeScheduledNotification(context, notificationData.getId());
-			}
-
-			Notification notification = notificationData.buildNotification(context);
-			if (notification != null) {
-				NotificationManagerCompat.from(context).notify(notificationData.getId(), notification);
-			} else {
-				Log.w(LOG_TAG, "Unable to forward notification " + notificationData.getId() + ": notification object is null");
-			}
+			final Context appContext = context.getApplicationContext();
+			final int notificationId = intent.getIntExtra(NotificationData.DATA_KEY_ID, -1);
+			final NotificationData intentData = intent.getBooleanExtra(EXTRA_STORE_KEY, false)
+					? null : NotificationDataCodec.fromIntent(intent);
+			final long intentFireTime = intent.getLongExtra(EXTRA_FIRE_TIME, 0);
+
+			ReceiverExecutor.execute(this, notificationId, () -> {
+				NotificationSchedulerPlugin.reloadConfigIfChanged(appContext);
+
+				ScheduledNotification scheduledNotification;
+				if (intentData == null) {
+					scheduledNotification = NotificationSchedulerPlugin.getScheduleStore(appContext).get(notificationId);
+					if (scheduledNotification == null) {
+						PluginLog.w(LOG_TAG, "Notification " + notificationId + " is no longer scheduled. Skipping.");
+						return;
+					}
+				} else {
+					scheduledNotification = new ScheduledNotification(notificationId, intentData, intentFireTime);
+				}
+				NotificationData notificationData = scheduledNotification.getData();
+
+				// Arm the next occurrence first, so that it is not lost if posting fails
+				if (notificationData.isRepeating() && !NotificationSchedulerPlugin.scheduleNextOccurrence(appContext, notificationId)) {
+					PluginLog.w(LOG_TAG, "Repeating notification " + notificationId + " is no longer scheduled. Skipping.");
+					return;
+				}
+
+				// The alarm has gone off; its PendingIntent is cancelled so that the notification is no longer
+				// reported as scheduled. This is done before posting, as a notification that exceeds a delivery quota
+				// may be deferred with a new alarm.
+				if (!notificationData.isRepeating()) {
+					PendingIntentRegistry.cancel(appContext, PendingIntentRegistry.KIND_ALARM, notificationId);
+				}
+
+				if (NotificationCoalescer.getWindowMs(appContext, notificationData.getChannelId()) > 0) {
+					NotificationCoalescer.deliver(appContext, scheduledNotification);
+				} else {
+					// Clean up storage for non-repeating notifications
+					if (!notificationData.isRepeating()) {
+						NotificationSchedulerPlugin.removeScheduledNotification(appContext, notificationData.getId());
+					}
+
+					NotificationCoalescer.post(appContext, Collections.singletonList(scheduledNotification));
+				}
+				Metrics.persist(appContext);
+			});
 		} else {
-			Log.e(LOG_TAG, String.format("%s():: %s extra not found in intent. Unable to generate notification.",
+			PluginLog.e(LOG_TAG, String.format("%s():: %s extra not found in intent. Unable to generate notification.",
 					"onReceive", NotificationData.DATA_KEY_ID));
 		}
 	}
+
+	/**
+	 * @return true if the notification was posted
+	 */
+	static boolean postNotification(Context context, NotificationData notificationData) {
+		long startTime = Metrics.start();
+		Notification notification = notificationData.buildNotification(context);
+		Metrics.record(Metrics.OP_BUILD_NOTIFICATION, startTime);
+		if (notification != null) {
+			NotificationManagerCompat.from(context).notify(notificationData.getId(), notification);
+			Metrics.increment(Metrics.COUNTER_NOTIFICATIONS_POSTED);
+			return true;
+		}
+
+		PluginLog.w(LOG_TAG, "Unable to forward notification " + notificationData.getId() + ": notification object is null");
+		return false;
+	}
 }
@@ -11,16 +11,21 @@ import android.Manifest;
 import android.app.Activity;
 import android.app.AlarmManager;
 import android.app.NotificationChannel;
+import android.app.NotificationChannelGroup;
 import android.app.NotificationManager;
 import android.app.PendingIntent;
+import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
+import android.content.IntentFilter;
 import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
-import android.icu.util.Calendar;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.PowerManager;
-import android.util.Log;
+import android.os.SystemClock;
+import android.view.Choreographer;
 import android.view.View;
 import android.provider.Settings;
 import android.net.Uri;
@@ -28,9 +33,11 @@ import android.net.Uri;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
 import androidx.collection.ArraySet;
 import androidx.core.app.ActivityCompat;
 import androidx.core.app.NotificationManagerCompat;
+import androidx.core.content.ContextCompat;
 
 import org.godotengine.godot.Dictionary;
 import org.godotengine.godot.Godot;
@@ -39,23 +46,34 @@ import org.godotengine.godot.plugin.GodotPlugin;
 import org.godotengine.godot.plugin.SignalInfo;
 import org.godotengine.godot.plugin.UsedByGodot;
 import org.godotengine.plugin.notification.model.ChannelData;
+import org.godotengine.plugin.notification.model.ChannelGroupData;
 import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.NotificationDataCodec;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
+import org.godotengine.plugin.notification.model.SchedulerSettings;
+import org.godotengine.plugin.notification.store.ConfigMap;
+import org.godotengine.plugin.notification.store.EventOutbox;
+import org.godotengine.plugin.notification.store.JournalScheduleStore;
+import org.godotengine.plugin.notification.store.PreferencesScheduleStore;
+import org.godotengine.plugin.notification.store.ScheduleStore;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class NotificationSchedulerPlugin extends GodotPlugin {
 	public static final String CLASS_NAME = NotificationSchedulerPlugin.class.getSimpleName();
 	public static final String LOG_TAG = "godot::" + CLASS_NAME;
 
-	static NotificationSchedulerPlugin instance;
+	static volatile NotificationSchedulerPlugin instance;
 
 	private static final SignalInfo INITIALIZATION_COMPLETED_SIGNAL = new SignalInfo("initialization_completed");
 	private static final SignalInfo POST_NOTIFICATIONS_PERMISSION_GRANTED_SIGNAL = new SignalInfo("post_notifications_permission_granted", String.class);
@@ -64,19 +82,78 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	private static final SignalInfo BATTERY_OPTIMIZATIONS_PERMISSION_DENIED_SIGNAL = new SignalInfo("battery_optimizations_permission_denied", String.class);
 	private static final SignalInfo NOTIFICATION_OPENED_SIGNAL = new SignalInfo("notification_opened", Dictionary.class);
 	private static final SignalInfo NOTIFICATION_DISMISSED_SIGNAL = new SignalInfo("notification_dismissed", Dictionary.class);
-
-	private static final String PREF_NAME = CLASS_NAME + "_prefs";
-	private static final String KEY_PENDING_DISMISSED = "pending_dismissed_ids";
-	private static final String KEY_SCHEDULED_NOTIFICATIONS = "scheduled_notifications";
-	private static final String DATA_KEY_FIRE_TIME = "fire_time_ms"; // Internal key for absolute time
+	private static final SignalInfo NOTIFICATION_FIRED_SIGNAL = new SignalInfo("notification_fired", Dictionary.class);
+	private static final SignalInfo NOTIFICATIONS_DISMISSED_BATCH_SIGNAL = new SignalInfo("notifications_dismissed_batch", Object[].class);
+	private static final SignalInfo EVENTS_REPLAYED_SIGNAL = new SignalInfo("events_replayed", Integer.class);
+	private static final SignalInfo NOTIFICATION_EVENTS_SIGNAL = new SignalInfo("notification_events", Object[].class);
+
+	// Sent by the notification receiver's process after it has stored events for the app's process to replay
+	static final String ACTION_EVENTS_STORED = "org.godotengine.plugin.notification.action.EVENTS_STORED";
+
+	private static final String EVENT_KEY_TYPE = "type";
+	private static final String EVENT_KEY_NOTIFICATION_DATA = "notification_data";
+	private static final String EVENT_KEY_SCHEDULED_TIME = "scheduled_time_ms";
+	private static final String EVENT_KEY_DELIVERED_TIME = "delivered_time_ms";
+	private static final String EVENT_KEY_LATENESS = "lateness_ms";
+	private static final String EVENT_KEY_SEQUENCE = "sequence";
+
+	// Type of the queued event that carries the sequence number to acknowledge once stored events have been replayed;
+	// other queued events have the types of EventOutbox
+	private static final int EVENT_TYPE_REPLAYED = 0;
+
+	static final String PREF_NAME = CLASS_NAME + "_prefs";
+	// Dismissed events stored by earlier versions; migrated to the event outbox
+	static final String KEY_PENDING_DISMISSED = "pending_dismissed_ids";
+
+	// Configuration that is shared with the receiver's process; see ConfigMap
+	private static final String CONFIG_NAME = CLASS_NAME + "_settings";
+	// Type of the store that holds the scheduled notifications; kept with the settings
+	private static final String KEY_ACTIVE_SCHEDULE_STORE = "active_schedule_store";
 
 	private static final int POST_NOTIFICATIONS_PERMISSION_REQUEST_CODE = 11803;
 	private static final int BATTERY_OPTIMIZATIONS_PERMISSION_REQUEST_CODE = 11804;
 
-	private static final List<NotificationData> pendingOpenedNotifications = new ArrayList<>();
+	private static final int OPENED_EVENT_ID_CAPACITY = 32;
+	private static final long PROCESSED_ID_EXPIRY_MS = 10 * 60 * 1000L;
+
+	// Oldest stored events are dropped beyond this number of unacknowledged events
+	private static final int MAX_STORED_EVENTS = 1024;
+
+	// Oldest queued events are dropped beyond this number of events that have not been drained
+	private static final int MAX_QUEUED_EVENTS = 1024;
+
+	// IDs of opened events that have already been emitted or stored
+	private static final RecentEventIds openedEventIds = new RecentEventIds(OPENED_EVENT_ID_CAPACITY, PROCESSED_ID_EXPIRY_MS);
+
+	private static SchedulerSettings settings;
+	private static ScheduleStore scheduleStore;
+	private static int scheduleStoreType;
+
+	// Set in the receiver's process, which only reads the configuration
+	private static boolean isReceiverProcess = false;
+	private static EventOutbox eventOutbox;
+
+	// Built on first query; only ever built in the app's process
+	private static ScheduleIndex scheduleIndex;
 
-	// Record of IDs we have already handled to prevent duplicates (using a Set ensures O(1) lookup time)
-	private static final Set<Integer> processedNotificationIds = new HashSet<>();
+	// Replay state; guarded by this
+	private StoredEventReplayer storedEventReplayer;
+	private boolean isReplayEnabled = false;
+	private boolean isReplayRequested = false;
+	private int replayedSequence = 0;
+
+	// Events waiting to be drained by GDScript or emitted on the next frame, depending on the event delivery setting
+	private final EventDeliveryQueue eventQueue = new EventDeliveryQueue(MAX_QUEUED_EVENTS);
+	private final AtomicBoolean isFrameDeliveryScheduled = new AtomicBoolean(false);
+	private final Handler mainHandler = new Handler(Looper.getMainLooper());
+	private final Choreographer.FrameCallback frameDeliveryCallback = frameTimeNanos -> emitQueuedEvents();
+
+	private final BroadcastReceiver eventsStoredReceiver = new BroadcastReceiver() {
+		@Override
+		public void onReceive(Context context, Intent intent) {
+			replayStoredEvents();
+		}
+	};
 
 	private Activity activity;
 	private boolean isInitialized;
@@ -88,13 +165,33 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 
 	/**
 	 * Initializes plugin.
+	 *
+	 * @param settingsData dictionary containing plugin settings (see {@link SchedulerSettings})
 	 */
 	@UsedByGodot
-	public void initialize() {
+	public void initialize(Dictionary settingsData) {
+		SchedulerSettings newSettings = new SchedulerSettings(settingsData);
+		applySettings(activity, newSettings);
+
 		isInitialized = true;
 
-		// Nothing to do on Android version (implemented for platform parity)
 		emitSignal(getGodot(), getPluginName(), INITIALIZATION_COMPLETED_SIGNAL);
+
+		// Events queued before a switch away from polling would otherwise wait for an explicit drain
+		if (newSettings.getEventDelivery() != SchedulerSettings.EVENT_DELIVERY_POLL && !eventQueue.isEmpty()) {
+			scheduleFrameDelivery();
+		}
+	}
+
+	/**
+	 * Removes and returns queued events (see {@link SchedulerSettings#EVENT_DELIVERY_POLL}).
+	 *
+	 * @param maxCount maximum number of events to return; all queued events are returned if not positive
+	 * @return array of event dictionaries, oldest first
+	 */
+	@UsedByGodot
+	public Object[] drain_events(int maxCount) {
+		return eventQueue.drain(maxCount);
 	}
 
 	/**
@@ -107,36 +204,132 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	@UsedByGodot
 	public int create_notification_channel(Dictionary data) {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "create_notification_channel(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "create_notification_channel(): plugin is not initialized!");
 			return Error.ERR_UNCONFIGURED.toNativeValue();
 		}
 
 		ChannelData channelData = new ChannelData(data);
 		if (channelData.isValid()) {
-			NotificationManager manager = (NotificationManager) activity.getSystemService(NOTIFICATION_SERVICE);
+			// Applied to existing channels as well, as they are not properties of the system channel
+			NotificationCoalescer.setWindow(activity, channelData.getId(), channelData.getCoalesceWindow());
+			DeliveryQuota.setChannelQuota(activity, channelData);
+			QuietHours.setChannelQuietHours(activity, channelData);
+
+			ChannelRegistry channelRegistry = ChannelRegistry.getInstance(activity);
 
 			// Check if channel already exists
-			if (manager.getNotificationChannel(channelData.getId()) == null) {
-				NotificationChannel channel = new NotificationChannel(channelData.getId(), channelData.getName(),
-						channelData.getImportance());
-				channel.setDescription(channelData.getDescription());
-				channel.setShowBadge(channelData.getBadgeEnabled());
-				manager.createNotificationChannel(channel);
-				Log.d(LOG_TAG, String.format("%s():: channel id: %s, name: %s, description: %s",
-						"create_notification_channel", channelData.getId(), channelData.getName(), channelData.getDescription()));
-			} else {
-				Log.d(LOG_TAG, String.format("%s():: channel id: %s already exists",
-						"create_notification_channel", channelData.getId()));
+			if (channelRegistry.hasChannel(channelData.getId())) {
+				PluginLog.d(LOG_TAG, "%s():: channel id: %s already exists", "create_notification_channel", channelData.getId());
 				return Error.ERR_ALREADY_EXISTS.toNativeValue();
 			}
+
+			if (channelData.getGroupId() != null && !channelRegistry.hasGroup(channelData.getGroupId())) {
+				PluginLog.e(LOG_TAG, "create_notification_channel(): channel group " + channelData.getGroupId() + " does not exist");
+				return Error.ERR_INVALID_DATA.toNativeValue();
+			}
+
+			NotificationManager manager = (NotificationManager) activity.getSystemService(NOTIFICATION_SERVICE);
+			manager.createNotificationChannel(channelData.createChannel());
+			channelRegistry.onChannelCreated(channelData.getId());
+			PluginLog.d(LOG_TAG, "%s():: channel id: %s, name: %s, description: %s",
+					"create_notification_channel", channelData.getId(), channelData.getName(), channelData.getDescription());
 		} else {
-			Log.e(LOG_TAG, "create_notification_channel(): invalid channel data object");
+			PluginLog.e(LOG_TAG, "create_notification_channel(): invalid channel data object");
 			return Error.ERR_INVALID_DATA.toNativeValue();
 		}
 
 		return Error.OK.toNativeValue();
 	}
 
+	/**
+	 * Creates notification channels and channel groups in a single call. Groups are created first, so that channels
+	 * can be added to them. Channels that do not exist yet are created with a single system call; existing channels
+	 * are left unchanged.
+	 *
+	 * @param channelArray array of dictionaries containing channel data (see {@link #create_notification_channel(Dictionary)})
+	 * @param groupArray array of dictionaries containing channel group ID, name and optional description
+	 * @return error code for each element of {@code channelArray}, in the same order
+	 */
+	@UsedByGodot
+	public int[] create_notification_channels(Object[] channelArray, Object[] groupArray) {
+		int[] results = new int[channelArray.length];
+
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "create_notification_channels(): plugin is not initialized!");
+			Arrays.fill(results, Error.ERR_UNCONFIGURED.toNativeValue());
+			return results;
+		}
+
+		ChannelRegistry channelRegistry = ChannelRegistry.getInstance(activity);
+		List<NotificationChannelGroup> groups = new ArrayList<>(groupArray.length);
+		Set<String> groupIds = new HashSet<>();
+		for (int i = 0; i < groupArray.length; i++) {
+			ChannelGroupData groupData = groupArray[i] instanceof Dictionary ? new ChannelGroupData((Dictionary) groupArray[i]) : null;
+			if (groupData == null || !groupData.isValid()) {
+				PluginLog.e(LOG_TAG, "create_notification_channels(): invalid channel group data object at index " + i);
+			} else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+				groups.add(groupData.createGroup());
+				groupIds.add(groupData.getId());
+			}
+		}
+
+		List<ChannelData> validChannels = new ArrayList<>(channelArray.length);
+		List<NotificationChannel> channels = new ArrayList<>(channelArray.length);
+		Set<String> channelIds = new HashSet<>();
+		for (int i = 0; i < channelArray.length; i++) {
+			ChannelData channelData = channelArray[i] instanceof Dictionary ? new ChannelData((Dictionary) channelArray[i]) : null;
+			if (channelData == null || !channelData.isValid()) {
+				PluginLog.e(LOG_TAG, "create_notification_channels(): invalid channel data object at index " + i);
+				results[i] = Error.ERR_INVALID_DATA.toNativeValue();
+				continue;
+			}
+
+			String groupId = channelData.getGroupId();
+			if (groupId != null && !groupIds.contains(groupId) && !channelRegistry.hasGroup(groupId)) {
+				PluginLog.e(LOG_TAG, "create_notification_channels(): channel group " + groupId + " does not exist");
+				results[i] = Error.ERR_INVALID_DATA.toNativeValue();
+				continue;
+			}
+
+			validChannels.add(channelData);
+			if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+				// Channels do not exist below API level 26
+				results[i] = Error.OK.toNativeValue();
+			} else if (channelRegistry.hasChannel(channelData.getId()) || !channelIds.add(channelData.getId())) {
+				results[i] = Error.ERR_ALREADY_EXISTS.toNativeValue();
+			} else {
+				channels.add(channelData.createChannel());
+				results[i] = Error.OK.toNativeValue();
+			}
+		}
+
+		// Applied to existing channels as well, as they are not properties of the system channel
+		NotificationCoalescer.setWindows(activity, validChannels);
+		DeliveryQuota.setChannelQuotas(activity, validChannels);
+		QuietHours.setChannelQuietHours(activity, validChannels);
+
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+			NotificationManager manager = (NotificationManager) activity.getSystemService(NOTIFICATION_SERVICE);
+			if (!groups.isEmpty()) {
+				manager.createNotificationChannelGroups(groups);
+				for (String groupId : groupIds) {
+					channelRegistry.onGroupCreated(groupId);
+				}
+			}
+			if (!channels.isEmpty()) {
+				manager.createNotificationChannels(channels);
+				for (String channelId : channelIds) {
+					channelRegistry.onChannelCreated(channelId);
+				}
+			}
+		}
+
+		PluginLog.d(LOG_TAG, "create_notification_channels():: created %d of %d channels and %d groups", channels.size(),
+				channelArray.length, groups.size());
+
+		return results;
+	}
+
 	/**
 	 * Schedule single, non-repeating notification
 	 *
@@ -146,34 +339,102 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	@UsedByGodot
 	public int schedule(Dictionary data) {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "schedule(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "schedule(): plugin is not initialized!");
 			return Error.ERR_UNCONFIGURED.toNativeValue();
 		}
 
-		NotificationData notificationData = new NotificationData(data);
-		Log.d(LOG_TAG, "schedule():: notification id: " + notificationData.getId());
+		long startTime = Metrics.start();
+		NotificationData notificationData = NotificationDataCodec.fromDictionary(data);
+		PluginLog.d(LOG_TAG, "schedule():: notification id: %s", notificationData.getId());
 
 		if (notificationData.isValid()) {
 			// Calculate absolute fire time for persistence
-			long fireTime = calculateTimeAfterDelay(notificationData.getDelay());
-			
+			long now = System.currentTimeMillis();
+			long occurrenceTime = RepeatSchedule.getFirstFireTime(notificationData, now);
+			long fireTime = QuietHours.load(activity).resolve(notificationData, occurrenceTime, now);
+			if (fireTime == QuietHours.NOT_SCHEDULED) {
+				Metrics.record(Metrics.OP_SCHEDULE, startTime);
+				return Error.ERR_SKIP.toNativeValue();
+			}
+
 			// Persist the notification data
-			saveScheduledNotification(activity, notificationData, fireTime);
+			saveScheduledNotification(activity, notificationData, fireTime, occurrenceTime);
 
 			// Schedule the alarm
-			if (notificationData.hasInterval()) {
-				scheduleRepeatingNotification(activity, notificationData, fireTime);
-			} else {
-				scheduleNotification(activity, notificationData, fireTime);
-			}
+			armAlarms(activity, Collections.singletonList(notificationData), new long[] { fireTime });
+
+			DeliveryQuota.warnIfExceeded(activity, Collections.singletonList(notificationData), new long[] { fireTime });
 		} else {
-			Log.e(LOG_TAG, "schedule(): invalid notification data object");
+			PluginLog.e(LOG_TAG, "schedule(): invalid notification data object");
+			Metrics.record(Metrics.OP_SCHEDULE, startTime);
 			return Error.ERR_INVALID_DATA.toNativeValue();
 		}
 
+		Metrics.record(Metrics.OP_SCHEDULE, startTime);
 		return Error.OK.toNativeValue();
 	}
 
+	/**
+	 * Schedule multiple notifications in a single call. All notification data objects are validated up front,
+	 * the valid ones are persisted with a single editor commit and their alarms are armed in a single pass.
+	 *
+	 * @param dataArray array of dictionaries containing notification data (see {@link #schedule(Dictionary)})
+	 * @return error code for each element of {@code dataArray}, in the same order
+	 */
+	@UsedByGodot
+	public int[] schedule_batch(Object[] dataArray) {
+		int[] results = new int[dataArray.length];
+
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "schedule_batch(): plugin is not initialized!");
+			Arrays.fill(results, Error.ERR_UNCONFIGURED.toNativeValue());
+			return results;
+		}
+
+		long startTime = Metrics.start();
+		List<NotificationData> batch = new ArrayList<>(dataArray.length);
+		long[] fireTimes = new long[dataArray.length];
+		long[] occurrenceTimes = new long[dataArray.length];
+		long now = System.currentTimeMillis();
+		QuietHours quietHours = QuietHours.load(activity);
+
+		for (int i = 0; i < dataArray.length; i++) {
+			if (dataArray[i] instanceof Dictionary) {
+				NotificationData notificationData = NotificationDataCodec.fromDictionary((Dictionary) dataArray[i]);
+				if (notificationData.isValid()) {
+					long occurrenceTime = RepeatSchedule.getFirstFireTime(notificationData, now);
+					long fireTime = quietHours.resolve(notificationData, occurrenceTime, now);
+					if (fireTime == QuietHours.NOT_SCHEDULED) {
+						results[i] = Error.ERR_SKIP.toNativeValue();
+						continue;
+					}
+					fireTimes[batch.size()] = fireTime;
+					occurrenceTimes[batch.size()] = occurrenceTime;
+					batch.add(notificationData);
+					results[i] = Error.OK.toNativeValue();
+					continue;
+				}
+			}
+			PluginLog.e(LOG_TAG, "schedule_batch(): invalid notification data object at index " + i);
+			results[i] = Error.ERR_INVALID_DATA.toNativeValue();
+		}
+
+		if (!batch.isEmpty()) {
+			// Persist all notifications with a single commit
+			saveScheduledNotifications(activity, batch, fireTimes, occurrenceTimes);
+
+			// Arm all alarms in a single pass
+			armAlarms(activity, batch, fireTimes);
+
+			DeliveryQuota.warnIfExceeded(activity, batch, fireTimes);
+		}
+
+		Metrics.record(Metrics.OP_SCHEDULE_BATCH, startTime);
+		PluginLog.d(LOG_TAG, "schedule_batch():: scheduled %d of %d notifications", batch.size(), dataArray.length);
+
+		return results;
+	}
+
 	/**
 	 * Cancel notification with given ID
 	 *
@@ -182,28 +443,207 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	@UsedByGodot
 	public int cancel(int notificationId) {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "cancel(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "cancel(): plugin is not initialized!");
 			return Error.ERR_UNCONFIGURED.toNativeValue();
 		}
 
+		long startTime = Metrics.start();
+
 		// Remove from persistence
 		removeScheduledNotification(activity, notificationId);
 		
 		// Cancel alarm
 		cancelNotification(activity, notificationId);
-		Log.d(LOG_TAG, "cancel():: notification id: " + notificationId);
+		Metrics.record(Metrics.OP_CANCEL, startTime);
+		PluginLog.d(LOG_TAG, "cancel():: notification id: %s", notificationId);
+
+		return Error.OK.toNativeValue();
+	}
+
+	/**
+	 * Returns true if the notification with given ID is scheduled. With per-notification alarms, this checks whether
+	 * the notification's alarm exists, without reading the schedule store.
+	 *
+	 * @param notificationId ID of notification
+	 */
+	@UsedByGodot
+	public boolean is_scheduled(int notificationId) {
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "is_scheduled(): plugin is not initialized!");
+			return false;
+		}
+
+		if (getSettings(activity).isNextDueAlarmMode()) {
+			// Notifications share the dispatcher's alarm
+			return getScheduleStore(activity).getFireTime(notificationId) != -1;
+		}
+		return PendingIntentRegistry.exists(activity, PendingIntentRegistry.KIND_ALARM, notificationId);
+	}
+
+	/**
+	 * Cancel all scheduled notifications
+	 *
+	 * @return number of notifications cancelled
+	 */
+	@UsedByGodot
+	public int cancel_all() {
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "cancel_all(): plugin is not initialized!");
+			return 0;
+		}
+
+		int cancelledCount = cancelNotifications(activity, getScheduledNotificationIds(getScheduleStore(activity)));
+		PluginLog.d(LOG_TAG, "cancel_all():: cancelled %s notifications", cancelledCount);
+
+		return cancelledCount;
+	}
+
+	/**
+	 * Cancel all scheduled notifications of the given channel
+	 *
+	 * @return number of notifications cancelled
+	 */
+	@UsedByGodot
+	public int cancel_by_channel(String channelId) {
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "cancel_by_channel(): plugin is not initialized!");
+			return 0;
+		}
+
+		List<ScheduledNotification> scheduledNotifications = getScheduleStore(activity).getAll();
+		int[] notificationIds = new int[scheduledNotifications.size()];
+		int count = 0;
+		for (ScheduledNotification scheduledNotification : scheduledNotifications) {
+			if (channelId.equals(scheduledNotification.getData().getChannelId())) {
+				notificationIds[count++] = scheduledNotification.getId();
+			}
+		}
+
+		int cancelledCount = cancelNotifications(activity, Arrays.copyOf(notificationIds, count));
+		PluginLog.d(LOG_TAG, "cancel_by_channel():: cancelled %s notifications of channel %s", cancelledCount, channelId);
+
+		return cancelledCount;
+	}
+
+	/**
+	 * Cancel all scheduled notifications with IDs in the given range
+	 *
+	 * @param firstId first notification ID of the range
+	 * @param lastId last notification ID of the range (inclusive)
+	 * @return number of notifications cancelled
+	 */
+	@UsedByGodot
+	public int cancel_range(int firstId, int lastId) {
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "cancel_range(): plugin is not initialized!");
+			return 0;
+		}
+
+		// IDs are sorted, so the range is a contiguous slice
+		int[] notificationIds = getScheduledNotificationIds(getScheduleStore(activity));
+		int start = 0;
+		while (start < notificationIds.length && notificationIds[start] < firstId) {
+			start++;
+		}
+		int end = start;
+		while (end < notificationIds.length && notificationIds[end] <= lastId) {
+			end++;
+		}
+
+		int cancelledCount = cancelNotifications(activity, Arrays.copyOfRange(notificationIds, start, end));
+		PluginLog.d(LOG_TAG, "cancel_range():: cancelled %d notifications with IDs from %d to %d", cancelledCount,
+				firstId, lastId);
+
+		return cancelledCount;
+	}
+
+	/**
+	 * Returns data of all scheduled notifications, in ascending ID order
+	 */
+	@UsedByGodot
+	public Object[] get_scheduled_notifications() {
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "get_scheduled_notifications(): plugin is not initialized!");
+			return new Object[0];
+		}
+
+		return toRawDataArray(getScheduleIndex(activity).getAll(System.currentTimeMillis()));
+	}
+
+	/**
+	 * Returns data of scheduled notifications of the given channel, in ascending ID order
+	 */
+	@UsedByGodot
+	public Object[] get_scheduled_by_channel(String channelId) {
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "get_scheduled_by_channel(): plugin is not initialized!");
+			return new Object[0];
+		}
+
+		return toRawDataArray(getScheduleIndex(activity).getByChannel(channelId, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Returns data of up to {@code limit} scheduled notifications that are due next, in ascending fire time order
+	 */
+	@UsedByGodot
+	public Object[] get_next_due(int limit) {
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "get_next_due(): plugin is not initialized!");
+			return new Object[0];
+		}
+
+		return toRawDataArray(getScheduleIndex(activity).getNextDue(limit, System.currentTimeMillis()));
+	}
+
+	/**
+	 * Returns counters and per-operation latency statistics of the app process and of the notification receiver
+	 * process (see {@link Metrics})
+	 */
+	@UsedByGodot
+	public Dictionary get_metrics() {
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "get_metrics(): plugin is not initialized!");
+			return new Dictionary();
+		}
 
+		return Metrics.snapshot(activity, getScheduleStore(activity).size());
+	}
+
+	/**
+	 * Acknowledges stored events up to and including the given sequence number, so that they are not replayed again.
+	 * Called by the GDScript wrapper once it has handled the events of a replay.
+	 *
+	 * @param sequence sequence number passed with the {@code events_replayed} signal
+	 */
+	@UsedByGodot
+	public int acknowledge_events(int sequence) {
+		if (!isInitialized) {
+			PluginLog.e(LOG_TAG, "acknowledge_events(): plugin is not initialized!");
+			return Error.ERR_UNCONFIGURED.toNativeValue();
+		}
+
+		getEventOutbox(activity).acknowledge(sequence);
+		PluginLog.d(LOG_TAG, "acknowledge_events():: acknowledged events up to %d", sequence);
 		return Error.OK.toNativeValue();
 	}
 
+	private static Object[] toRawDataArray(List<NotificationData> notifications) {
+		Object[] result = new Object[notifications.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = notifications.get(i).getRawData();
+		}
+		return result;
+	}
+
 	@UsedByGodot
 	public int set_badge_count(int badgeCount) {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "set_badge_count(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "set_badge_count(): plugin is not initialized!");
 			return Error.ERR_UNCONFIGURED.toNativeValue();
 		}
 
-		Log.e(LOG_TAG, "set_badge_count(): method not supported on Android");
+		PluginLog.e(LOG_TAG, "set_badge_count(): method not supported on Android");
 		return Error.ERR_UNAVAILABLE.toNativeValue();
 	}
 
@@ -215,7 +655,7 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	@UsedByGodot
 	public int get_notification_id(int defaultValue) {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "get_notification_id(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "get_notification_id(): plugin is not initialized!");
 			return defaultValue;
 		}
 
@@ -225,9 +665,9 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 			Intent intent = getActivity().getIntent();
 			if (intent.hasExtra(NotificationData.DATA_KEY_ID)) {
 				notificationId = intent.getIntExtra(NotificationData.DATA_KEY_ID, defaultValue);
-				Log.i(LOG_TAG, "get_notification_id():: intent with notification id: " + notificationId);
+				PluginLog.i(LOG_TAG, "get_notification_id():: intent with notification id: %s", notificationId);
 			} else {
-				Log.i(LOG_TAG, "get_notification_id():: notification id not found");
+				PluginLog.i(LOG_TAG, "get_notification_id():: notification id not found");
 			}
 		}
 		return notificationId;
@@ -239,7 +679,7 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	@UsedByGodot
 	public boolean has_post_notifications_permission() {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "has_post_notifications_permission(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "has_post_notifications_permission(): plugin is not initialized!");
 			return false;
 		}
 
@@ -250,7 +690,7 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 			}
 		} else {
 			result = true;
-			Log.d(LOG_TAG, "has_post_notifications_permission():: API level is " + Build.VERSION.SDK_INT);
+			PluginLog.d(LOG_TAG, "has_post_notifications_permission():: API level is %s", Build.VERSION.SDK_INT);
 		}
 		return result;
 	}
@@ -261,7 +701,7 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	@UsedByGodot
 	public int request_post_notifications_permission() {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "request_post_notifications_permission(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "request_post_notifications_permission(): plugin is not initialized!");
 			return Error.ERR_UNCONFIGURED.toNativeValue();
 		}
 
@@ -270,10 +710,11 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 				ActivityCompat.requestPermissions(activity, new String[]{ Manifest.permission.POST_NOTIFICATIONS },
 						POST_NOTIFICATIONS_PERMISSION_REQUEST_CODE);
 			} else {
-				Log.i(LOG_TAG, "request_post_notifications_permission():: can't request permission, because SDK version is " + Build.VERSION.SDK_INT);
+				PluginLog.i(LOG_TAG, "request_post_notifications_permission():: can't request permission, because SDK version is %s",
+						Build.VERSION.SDK_INT);
 			}
 		} catch (Exception e) {
-			Log.e(LOG_TAG, "request_post_notifications_permission():: Failed to request permission due to " + e.getMessage());
+			PluginLog.e(LOG_TAG, "request_post_notifications_permission():: Failed to request permission due to " + e.getMessage());
 		}
 
 		return Error.OK.toNativeValue();
@@ -285,7 +726,7 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	@UsedByGodot
 	public boolean is_ignoring_battery_optimizations() {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "is_ignoring_battery_optimizations(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "is_ignoring_battery_optimizations(): plugin is not initialized!");
 			return false;
 		}
 
@@ -293,7 +734,7 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 			PowerManager powerManager = (PowerManager) activity.getSystemService(Context.POWER_SERVICE);
 			return powerManager.isIgnoringBatteryOptimizations(activity.getPackageName());
 		} else {
-			Log.i(LOG_TAG, "is_ignoring_battery_optimizations():: can't check permission, because SDK version is " + Build.VERSION.SDK_INT);
+			PluginLog.i(LOG_TAG, "is_ignoring_battery_optimizations():: can't check permission, because SDK version is %s", Build.VERSION.SDK_INT);
 		}
 		return true;
 	}
@@ -305,7 +746,7 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	@UsedByGodot
 	public int request_ignore_battery_optimizations_permission() {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "request_ignore_battery_optimizations_permission(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "request_ignore_battery_optimizations_permission(): plugin is not initialized!");
 			return Error.ERR_UNCONFIGURED.toNativeValue();
 		}
 
@@ -321,7 +762,7 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 				intent.setData(Uri.parse("package:" + activity.getPackageName()));
 				activity.startActivityForResult(intent, BATTERY_OPTIMIZATIONS_PERMISSION_REQUEST_CODE);
 			} catch (Exception e) {
-				Log.e(LOG_TAG, "request_ignore_battery_optimizations_permission():: Failed due to " + e.getMessage());
+				PluginLog.e(LOG_TAG, "request_ignore_battery_optimizations_permission():: Failed due to " + e.getMessage());
 				return Error.FAILED.toNativeValue();
 			}
 		} else {
@@ -338,11 +779,11 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	@UsedByGodot
 	public int open_app_info_settings() {
 		if (!isInitialized) {
-			Log.e(LOG_TAG, "open_app_info_settings(): plugin is not initialized!");
+			PluginLog.e(LOG_TAG, "open_app_info_settings(): plugin is not initialized!");
 			return Error.ERR_UNCONFIGURED.toNativeValue();
 		}
 
-		Log.d(LOG_TAG, "open_app_info_settings()");
+		PluginLog.d(LOG_TAG, "open_app_info_settings()");
 
 		try {
 			Intent intent = new Intent(Settings.ACTION_APPLICATION_DETAILS_SETTINGS);
@@ -351,7 +792,7 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 			intent.setData(uri);
 			activity.startActivity(intent);
 		} catch (Exception e) {
-			Log.e(LOG_TAG, "open_app_info_settings():: Failed due to "+ e.getMessage());
+			PluginLog.e(LOG_TAG, "open_app_info_settings():: Failed due to "+ e.getMessage());
 		}
 
 		return Error.OK.toNativeValue();
@@ -370,6 +811,10 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 		signals.add(INITIALIZATION_COMPLETED_SIGNAL);
 		signals.add(NOTIFICATION_OPENED_SIGNAL);
 		signals.add(NOTIFICATION_DISMISSED_SIGNAL);
+		signals.add(NOTIFICATION_FIRED_SIGNAL);
+		signals.add(NOTIFICATIONS_DISMISSED_BATCH_SIGNAL);
+		signals.add(EVENTS_REPLAYED_SIGNAL);
+		signals.add(NOTIFICATION_EVENTS_SIGNAL);
 		signals.add(POST_NOTIFICATIONS_PERMISSION_GRANTED_SIGNAL);
 		signals.add(POST_NOTIFICATIONS_PERMISSION_DENIED_SIGNAL);
 		signals.add(BATTERY_OPTIMIZATIONS_PERMISSION_GRANTED_SIGNAL);
@@ -382,6 +827,8 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 	public View onMainCreate(Activity activity) {
 		this.activity = activity;
 		instance = this;
+		ContextCompat.registerReceiver(activity.getApplicationContext(), eventsStoredReceiver,
+				new IntentFilter(ACTION_EVENTS_STORED), ContextCompat.RECEIVER_NOT_EXPORTED);
 		return super.onMainCreate(activity);
 	}
 
@@ -392,76 +839,213 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 		if (this.activity != null) {
 			if (Build.VERSION.SDK_INT > Build.VERSION_CODES.S_V2) {
 				if (NotificationManagerCompat.from(this.activity.getApplicationContext()).areNotificationsEnabled()) {
-					Log.i(LOG_TAG, "onGodotSetupCompleted():: POST_NOTIFICATIONS permission has already been granted");
+					PluginLog.i(LOG_TAG, "onGodotSetupCompleted():: POST_NOTIFICATIONS permission has already been granted");
 				}
 			}
 
-			// Flush pending OPENED notifications
-			if (!pendingOpenedNotifications.isEmpty()) {
-				for (NotificationData data : pendingOpenedNotifications) {
-					emitSignal(getGodot(), getPluginName(), NOTIFICATION_OPENED_SIGNAL, data.getRawData());
-					processedNotificationIds.add(data.getId()); // Mark as processed
-					Log.i(LOG_TAG, "onGodotSetupCompleted():: Flushed queued OPEN event for ID: " + data.getId());
-				}
-				pendingOpenedNotifications.clear();
-			}
-
+			// Replay events that were stored while the app was not running
 			Context context = activity.getApplicationContext();
-			SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-			
-			// Retrieve the set of JSON strings
-			Set<String> dismissedJsonSet = prefs.getStringSet(KEY_PENDING_DISMISSED, new HashSet<>());
-			if (!dismissedJsonSet.isEmpty()) {
-				Log.i(LOG_TAG, "Found " + dismissedJsonSet.size() + " dismissed notifications in storage.");
-
-				for (String notificationJson : dismissedJsonSet) {
-					try {
-						Log.d(LOG_TAG, "Processing JSON dismissed notification data: " + notificationJson);
-
-						// Convert JSON String back to Godot Dictionary
-						JSONObject jsonObject = new JSONObject(notificationJson);
-						NotificationData dismissedData = new NotificationData(jsonObject);
-						emitSignal(getGodot(), getPluginName(), NOTIFICATION_DISMISSED_SIGNAL, dismissedData.getRawData());
-
-						// Mark ID as processed
-						processedNotificationIds.add(dismissedData.getId()); 
-						
-						Log.i(LOG_TAG, "Emitted signal for stored dismissed ID: " + dismissedData.getId());
-						
-					} catch (JSONException e) {
-						Log.e(LOG_TAG, "Failed to parse stored JSON for dismissed notification.", e);
-					}
-				}
-
-				// Clear the storage
-				prefs.edit().remove(KEY_PENDING_DISMISSED).apply();
+			synchronized (this) {
+				isReplayEnabled = true;
 			}
+			replayStoredEvents();
 
 			// Check the launch ("cold start") Intent
-			NotificationData intentData = new NotificationData(this.activity.getIntent());
+			NotificationData intentData = NotificationDataCodec.fromIntent(this.activity.getIntent());
 
 			if (intentData.isValid()) {
 				int id = intentData.getId();
 				
 				// Check if we already processed this ID from the pending queue
-				if (!processedNotificationIds.contains(id)) {
+				if (!openedEventIds.isProcessed(id)) {
 					// It's a new one (likely the app was launched directly by the intent, not the receiver)
-					handleNotificationOpened(intentData); 
-					Log.i(LOG_TAG, "onGodotSetupCompleted():: Processed Intent data for ID: " + id);
+					handleNotificationOpened(context, intentData);
+					PluginLog.i(LOG_TAG, "onGodotSetupCompleted():: Processed Intent data for ID: %s", id);
 				} else {
-					Log.i(LOG_TAG, "onGodotSetupCompleted():: Skipping Intent data for ID: " + id + " (Already processed via queue)");
+					PluginLog.i(LOG_TAG, "onGodotSetupCompleted():: Skipping Intent data for ID: %s (Already processed via queue)", id);
 				}
 			}
 		} else {
-			Log.e(LOG_TAG, "onGodotSetupCompleted():: activity is null!");
+			PluginLog.e(LOG_TAG, "onGodotSetupCompleted():: activity is null!");
+		}
+	}
+
+	/**
+	 * Replays stored events that have not been replayed yet. If a replay is in progress, then another one follows it,
+	 * so that events are always delivered in sequence order.
+	 */
+	synchronized void replayStoredEvents() {
+		if (!isReplayEnabled) {
+			return;
+		}
+
+		if (storedEventReplayer != null) {
+			isReplayRequested = true;
+			return;
+		}
+
+		storedEventReplayer = new StoredEventReplayer(this, getSettings(activity));
+		storedEventReplayer.start();
+	}
+
+	/**
+	 * Returns the stored events that have not been replayed yet and marks them as replayed.
+	 */
+	synchronized List<EventOutbox.Event> takeStoredEvents() {
+		List<EventOutbox.Event> events = getEventOutbox(activity).getPending(replayedSequence);
+		if (!events.isEmpty()) {
+			replayedSequence = events.get(events.size() - 1).getSequence();
+		}
+		return events;
+	}
+
+	synchronized void onReplayCompleted(StoredEventReplayer replayer) {
+		if (storedEventReplayer != replayer) {
+			return;
+		}
+
+		storedEventReplayer = null;
+		if (isReplayRequested) {
+			isReplayRequested = false;
+			replayStoredEvents();
+		}
+	}
+
+	void deliverStoredEvent(EventOutbox.Event event) {
+		switch (event.getType()) {
+			case EventOutbox.EVENT_OPENED:
+			case EventOutbox.EVENT_DISMISSED:
+			case EventOutbox.EVENT_FIRED:
+				deliverEvent(event.getType(), event.getData(), event.getScheduledTime(), event.getTime());
+				break;
+
+			default:
+				PluginLog.w(LOG_TAG, "Skipping stored event of unknown type " + event.getType());
+		}
+	}
+
+	/**
+	 * Passes an event to GDScript with its own signal, or queues it, depending on the event delivery setting.
+	 *
+	 * @param eventType {@link EventOutbox#EVENT_OPENED}, {@link EventOutbox#EVENT_DISMISSED} or {@link EventOutbox#EVENT_FIRED}
+	 * @param scheduledTime time when the notification was scheduled to be delivered; only used for fired events
+	 * @param deliveredTime time when the notification was delivered; only used for fired events
+	 */
+	private void deliverEvent(int eventType, NotificationData notificationData, long scheduledTime, long deliveredTime) {
+		if (eventType == EventOutbox.EVENT_OPENED) {
+			openedEventIds.markProcessed(notificationData.getId());
+		}
+
+		if (getSettings(activity).isEventQueueEnabled()) {
+			queueEvent(createEvent(eventType, notificationData, scheduledTime, deliveredTime));
+			return;
+		}
+
+		switch (eventType) {
+			case EventOutbox.EVENT_OPENED:
+				emitSignal(getGodot(), getPluginName(), NOTIFICATION_OPENED_SIGNAL, notificationData.getRawData());
+				break;
+
+			case EventOutbox.EVENT_DISMISSED:
+				emitSignal(getGodot(), getPluginName(), NOTIFICATION_DISMISSED_SIGNAL, notificationData.getRawData());
+				break;
+
+			default:
+				emitSignal(getGodot(), getPluginName(), NOTIFICATION_FIRED_SIGNAL,
+						createEvent(eventType, notificationData, scheduledTime, deliveredTime));
+		}
+	}
+
+	private static Dictionary createEvent(int eventType, NotificationData notificationData, long scheduledTime, long deliveredTime) {
+		Dictionary event = new Dictionary();
+		event.put(EVENT_KEY_TYPE, eventType);
+		event.put(EVENT_KEY_NOTIFICATION_DATA, notificationData.getRawData());
+		if (eventType == EventOutbox.EVENT_FIRED) {
+			event.put(EVENT_KEY_SCHEDULED_TIME, scheduledTime);
+			event.put(EVENT_KEY_DELIVERED_TIME, deliveredTime);
+			event.put(EVENT_KEY_LATENESS, scheduledTime > 0 ? deliveredTime - scheduledTime : 0L);
+		}
+		return event;
+	}
+
+	void deliverNotificationsDismissedBatch(List<NotificationData> batch) {
+		if (getSettings(activity).isEventQueueEnabled()) {
+			for (NotificationData notificationData : batch) {
+				queueEvent(createEvent(EventOutbox.EVENT_DISMISSED, notificationData, 0, 0));
+			}
+			return;
+		}
+
+		Object[] notifications = new Object[batch.size()];
+		for (int i = 0; i < notifications.length; i++) {
+			notifications[i] = batch.get(i).getRawData();
+		}
+		emitSignal(getGodot(), getPluginName(), NOTIFICATIONS_DISMISSED_BATCH_SIGNAL, (Object) notifications);
+	}
+
+	/**
+	 * Reports the sequence number of the last replayed event. When events are queued, it is queued after them, so
+	 * that GDScript acknowledges stored events only once it has received them.
+	 */
+	void deliverEventsReplayed(int lastSequence) {
+		if (getSettings(activity).isEventQueueEnabled()) {
+			Dictionary event = new Dictionary();
+			event.put(EVENT_KEY_TYPE, EVENT_TYPE_REPLAYED);
+			event.put(EVENT_KEY_SEQUENCE, lastSequence);
+			queueEvent(event);
+			return;
+		}
+
+		emitSignal(getGodot(), getPluginName(), EVENTS_REPLAYED_SIGNAL, lastSequence);
+	}
+
+	private void queueEvent(Dictionary event) {
+		int droppedCount = eventQueue.add(event);
+		if (droppedCount > 0) {
+			PluginLog.w(LOG_TAG, "Event queue is full. Dropped " + droppedCount + " oldest events.");
+			Metrics.add(Metrics.COUNTER_EVENTS_DROPPED, droppedCount);
+		}
+
+		if (getSettings(activity).getEventDelivery() == SchedulerSettings.EVENT_DELIVERY_FRAME) {
+			scheduleFrameDelivery();
+		}
+	}
+
+	/**
+	 * Schedules the queued events to be emitted with a single signal on the next frame, unless already scheduled.
+	 */
+	private void scheduleFrameDelivery() {
+		if (isFrameDeliveryScheduled.compareAndSet(false, true)) {
+			// Choreographer must be used from a looper thread; events may be queued from any thread
+			mainHandler.post(() -> Choreographer.getInstance().postFrameCallback(frameDeliveryCallback));
+		}
+	}
+
+	private void emitQueuedEvents() {
+		// Cleared before draining, so that events queued while draining schedule another frame
+		isFrameDeliveryScheduled.set(false);
+
+		Object[] events = eventQueue.drain(0);
+		if (events.length > 0) {
+			emitSignal(getGodot(), getPluginName(), NOTIFICATION_EVENTS_SIGNAL, (Object) events);
 		}
 	}
 
 	@Override
 	public void onMainDestroy() {
+		synchronized (this) {
+			isReplayEnabled = false;
+			if (storedEventReplayer != null) {
+				storedEventReplayer.cancel();
+				storedEventReplayer = null;
+			}
+		}
+		if (activity != null) {
+			activity.getApplicationContext().unregisterReceiver(eventsStoredReceiver);
+		}
+		mainHandler.post(() -> Choreographer.getInstance().removeFrameCallback(frameDeliveryCallback));
 		instance = null;
-		processedNotificationIds.clear();
-		pendingOpenedNotifications.clear();
+		openedEventIds.clear();
 		super.onMainDestroy();
 	}
 
@@ -473,11 +1057,11 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 		if (requestCode == BATTERY_OPTIMIZATIONS_PERMISSION_REQUEST_CODE) {
 			// Check the state again to be sure, as resultCode can sometimes be misleading for this specific intent
 			if (is_ignoring_battery_optimizations()) {
-				Log.d(LOG_TAG, "onMainActivityResult():: battery optimization permission granted");
+				PluginLog.d(LOG_TAG, "onMainActivityResult():: battery optimization permission granted");
 				emitSignal(getGodot(), getPluginName(), BATTERY_OPTIMIZATIONS_PERMISSION_GRANTED_SIGNAL,
 						Settings.ACTION_REQUEST_IGNORE_BATTERY_OPTIMIZATIONS);
 			} else {
-				Log.d(LOG_TAG, "onMainActivityResult():: battery optimization permission denied");
+				PluginLog.d(LOG_TAG, "onMainActivityResult():: battery optimization permission denied");
 				emitSignal(getGodot(), getPluginName(), BATTERY_OPTIMIZATIONS_PERMISSION_DENIED_SIGNAL,
 						Settings.ACTION_REQUEST_IGNORE_BATTERY_OPTIMIZATIONS);
 			}
@@ -492,164 +1076,532 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 			if (requestCode == POST_NOTIFICATIONS_PERMISSION_REQUEST_CODE) {
 				// If request is cancelled, the result arrays are empty.
 				if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
-					Log.d(LOG_TAG, "onMainRequestPermissionsResult():: permission request granted");
+					PluginLog.d(LOG_TAG, "onMainRequestPermissionsResult():: permission request granted");
 					emitSignal(getGodot(), getPluginName(), POST_NOTIFICATIONS_PERMISSION_GRANTED_SIGNAL, Manifest.permission.POST_NOTIFICATIONS);
 				} else {
-					Log.d(LOG_TAG, "onMainRequestPermissionsResult():: permission request denied");
+					PluginLog.d(LOG_TAG, "onMainRequestPermissionsResult():: permission request denied");
 					emitSignal(getGodot(), getPluginName(), POST_NOTIFICATIONS_PERMISSION_DENIED_SIGNAL, Manifest.permission.POST_NOTIFICATIONS);
 				}
 			}
 		} else {
-			Log.e(LOG_TAG, "onMainRequestPermissionsResult():: can't check permission result, because SDK version is " + Build.VERSION.SDK_INT);
+			PluginLog.e(LOG_TAG, "onMainRequestPermissionsResult():: can't check permission result, because SDK version is " + Build.VERSION.SDK_INT);
 		}
 	}
 
-	static void handleNotificationOpened(NotificationData notificationData) {
-		if (instance != null) {
-			// Plugin is ready, emit immediately
-			instance.emitSignal(instance.getGodot(), instance.getPluginName(), NOTIFICATION_OPENED_SIGNAL, notificationData.getRawData());
-			// Mark as processed so we don't handle it again from the Intent
-			processedNotificationIds.add(notificationData.getId());
+	static void handleNotificationOpened(Context context, NotificationData notificationData) {
+		NotificationSchedulerPlugin plugin = instance;
+		if (plugin != null) {
+			// Plugin is ready, deliver immediately; the event is marked as processed so we don't handle it again from the Intent
+			plugin.deliverEvent(EventOutbox.EVENT_OPENED, notificationData, 0, 0);
+		} else if (openedEventIds.isProcessed(notificationData.getId())) {
+			PluginLog.i(LOG_TAG, "handleNotificationOpened():: Skipping duplicate event ID: %s", notificationData.getId());
 		} else {
-			// Plugin not ready, queue it
-			Log.i(LOG_TAG, "handleNotificationOpened():: Plugin not ready, queueing event ID: " + notificationData.getId());
-			pendingOpenedNotifications.add(notificationData);
+			// Plugin not ready. Store the event, so that it survives if the process dies before the plugin is ready.
+			PluginLog.i(LOG_TAG, "handleNotificationOpened():: Plugin not ready, storing event ID: %s", notificationData.getId());
+			openedEventIds.markProcessed(notificationData.getId());
+			storeEvent(context, EventOutbox.EVENT_OPENED, notificationData);
 		}
 	}
 
 	static void handleNotificationDismissed(Context context, NotificationData notificationData) {
-		if (instance != null) {
-			instance.emitSignal(instance.getGodot(), instance.getPluginName(), NOTIFICATION_DISMISSED_SIGNAL, notificationData.getRawData());
+		NotificationSchedulerPlugin plugin = instance;
+		if (plugin != null) {
+			plugin.deliverEvent(EventOutbox.EVENT_DISMISSED, notificationData, 0, 0);
 		} else {
-			// App is not running or not ready. Persist the full object to disk.
-			Log.i(LOG_TAG, "Plugin not ready. Persisting full dismissed data for ID: " + notificationData.getId());
-			saveDismissedDataToPrefs(context, notificationData);
+			// App is not running or not ready. Store the event until it is replayed.
+			PluginLog.i(LOG_TAG, "Plugin not ready. Storing dismissed event for ID: %s", notificationData.getId());
+			storeEvent(context, EventOutbox.EVENT_DISMISSED, notificationData);
 		}
 	}
 
 	/**
-	 * Saves the notification data to SharedPreferences so it can be restored on reboot.
+	 * Records the delivery lateness of notifications that were posted at {@code deliveredTime} and reports them as
+	 * fired. The notification receiver runs in its own process, where the events are stored for the app's process,
+	 * which is then notified to replay them if it is running.
 	 */
-	private static void saveScheduledNotification(Context context, NotificationData data, long fireTime) {
-		try {
-			SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-			JSONObject json = new JSONObject(data.getRawData());
-			
-			// Inject the absolute fire time into the JSON so we know when it was supposed to fire
-			json.put(DATA_KEY_FIRE_TIME, fireTime);
+	static void handleNotificationsFired(Context context, List<ScheduledNotification> fired, long deliveredTime) {
+		int alarmMode = getSettings(context).getAlarmMode();
+		for (ScheduledNotification scheduledNotification : fired) {
+			// Fire time is unknown for alarms that were armed by earlier versions
+			if (scheduledNotification.getFireTime() > 0) {
+				Metrics.recordLateness(scheduledNotification.getData().getChannelId(), alarmMode,
+						deliveredTime - scheduledNotification.getFireTime());
+			}
+		}
+
+		NotificationSchedulerPlugin plugin = instance;
+		if (plugin != null) {
+			for (ScheduledNotification scheduledNotification : fired) {
+				plugin.deliverEvent(EventOutbox.EVENT_FIRED, scheduledNotification.getData(),
+						scheduledNotification.getFireTime(), deliveredTime);
+			}
+		} else {
+			EventOutbox outbox = getEventOutbox(context);
+			outbox.appendFired(fired, deliveredTime);
+			trimStoredEvents(outbox);
+			context.sendBroadcast(new Intent(ACTION_EVENTS_STORED).setPackage(context.getPackageName()));
+		}
+	}
+
+	private static void storeEvent(Context context, int eventType, NotificationData notificationData) {
+		EventOutbox outbox = getEventOutbox(context);
+		outbox.append(eventType, notificationData);
+		trimStoredEvents(outbox);
+
+		// The plugin may have become ready while the event was being stored, after its stored events were read
+		NotificationSchedulerPlugin plugin = instance;
+		if (plugin != null) {
+			plugin.replayStoredEvents();
+		}
+	}
 
-			String jsonString = json.toString();
-			
-			// Store in a separate shared prefs map: key=ID, value=JSON
-			SharedPreferences schedulePrefs = context.getSharedPreferences(KEY_SCHEDULED_NOTIFICATIONS, Context.MODE_PRIVATE);
-			schedulePrefs.edit().putString(String.valueOf(data.getId()), jsonString).apply();
-			
-			Log.d(LOG_TAG, "Persisted notification " + data.getId() + " for reboot handling.");
-		} catch (JSONException e) {
-			Log.e(LOG_TAG, "Failed to save scheduled notification: " + e.getMessage());
+	private static void trimStoredEvents(EventOutbox outbox) {
+		int droppedCount = outbox.trim(MAX_STORED_EVENTS);
+		if (droppedCount > 0) {
+			Metrics.add(Metrics.COUNTER_EVENTS_DROPPED, droppedCount);
 		}
 	}
 
+	/**
+	 * Returns plugin settings that were last passed to {@link #initialize(Dictionary)}.
+	 */
+	public static synchronized SchedulerSettings getSettings(Context context) {
+		if (settings == null) {
+			settings = SchedulerSettings.load(getConfig(context));
+			PluginLog.setLevel(settings.getLogLevel());
+		}
+		return settings;
+	}
+
+	/**
+	 * Reads the configuration again if the app's process has changed it since it was last read. Called by
+	 * {@link NotificationReceiver} at the start of each broadcast, as the receiver runs in a process of its own, which
+	 * may outlive changes to the settings, delivery quotas and quiet hours.
+	 */
+	static synchronized void reloadConfigIfChanged(Context context) {
+		isReceiverProcess = true;
+		if (!ConfigMap.reloadIfChanged() || settings == null) {
+			return;
+		}
+
+		settings = null;
+		PluginLog.i(LOG_TAG, "Reloaded settings with alarm mode %d", getSettings(context).getAlarmMode());
+
+		if (scheduleStore != null && scheduleStoreType != getConfig(context).getInt(KEY_ACTIVE_SCHEDULE_STORE,
+				SchedulerSettings.SCHEDULE_STORE_PREFERENCES)) {
+			// The app's process has migrated the notifications to another store
+			scheduleStore.close();
+			scheduleStore = null;
+		}
+	}
+
+	@VisibleForTesting
+	static synchronized void applySettings(Context context, SchedulerSettings newSettings) {
+		SchedulerSettings previousSettings = getSettings(context);
+		newSettings.save(getConfig(context));
+		settings = newSettings;
+		PluginLog.setLevel(newSettings.getLogLevel());
+
+		if (previousSettings.getScheduleStore() != newSettings.getScheduleStore()) {
+			// Notifications are migrated to the new store right away, so that the receiver's process switches to it
+			if (scheduleStore != null) {
+				scheduleStore.close();
+				scheduleStore = null;
+			}
+			scheduleIndex = null;
+			getScheduleStore(context);
+		}
+
+		if (previousSettings.getAlarmMode() != newSettings.getAlarmMode()) {
+			PluginLog.i(LOG_TAG, "Switching alarm mode from %d to %d", previousSettings.getAlarmMode(), newSettings.getAlarmMode());
+
+			if (newSettings.isNextDueAlarmMode()) {
+				// Per-notification alarms are replaced by the dispatcher's single alarm
+				AlarmManager alarmManager = (AlarmManager) context.getSystemService(ALARM_SERVICE);
+				getScheduleStore(context).forEachFireTime((notificationId, fireTime) -> cancelAlarm(context, alarmManager, notificationId));
+			} else {
+				NextDueDispatcher.cancelAlarm(context);
+			}
+
+			rescheduleAll(context);
+		}
+	}
+
+	/**
+	 * Returns the store that persists scheduled notifications. If the configured store type differs from the one
+	 * that was used before (including upgrades from versions that always used SharedPreferences), then the
+	 * notifications are migrated from the previous store once. Only the app's process migrates notifications; the
+	 * receiver's process uses the store that holds them.
+	 */
+	static synchronized ScheduleStore getScheduleStore(Context context) {
+		if (scheduleStore == null) {
+			Context applicationContext = context.getApplicationContext();
+			ConfigMap config = getConfig(applicationContext);
+			// Versions without a store type setting always used SharedPreferences
+			int activeStoreType = config.getInt(KEY_ACTIVE_SCHEDULE_STORE, SchedulerSettings.SCHEDULE_STORE_PREFERENCES);
+			int storeType = isReceiverProcess ? activeStoreType : getSettings(applicationContext).getScheduleStore();
+
+			scheduleStore = createScheduleStore(applicationContext, storeType);
+			scheduleStoreType = storeType;
+
+			if (storeType != activeStoreType) {
+				ScheduleStore previousStore = createScheduleStore(applicationContext, activeStoreType);
+				List<ScheduledNotification> previousNotifications = previousStore.getAll();
+
+				if (!previousNotifications.isEmpty()) {
+					List<NotificationData> batch = new ArrayList<>(previousNotifications.size());
+					long[] fireTimes = new long[previousNotifications.size()];
+					long[] occurrenceTimes = new long[previousNotifications.size()];
+					for (ScheduledNotification scheduledNotification : previousNotifications) {
+						fireTimes[batch.size()] = scheduledNotification.getFireTime();
+						occurrenceTimes[batch.size()] = scheduledNotification.getOccurrenceTime();
+						batch.add(scheduledNotification.getData());
+					}
+					scheduleStore.putAll(batch, fireTimes, occurrenceTimes);
+					previousStore.clear();
+					PluginLog.i(LOG_TAG, "Migrated %d scheduled notifications from store type %d to %d.",
+							batch.size(), activeStoreType, storeType);
+				}
+
+				previousStore.close();
+
+				config.edit().putInt(KEY_ACTIVE_SCHEDULE_STORE, storeType).commit();
+			}
+		}
+		return scheduleStore;
+	}
+
+	/**
+	 * Returns the outbox of events that occurred while the plugin was not ready. Dismissed events that were stored in
+	 * SharedPreferences by earlier versions are moved to the outbox when it is first accessed.
+	 */
+	static synchronized EventOutbox getEventOutbox(Context context) {
+		if (eventOutbox == null) {
+			Context applicationContext = context.getApplicationContext();
+			eventOutbox = new EventOutbox(applicationContext);
+
+			SharedPreferences prefs = applicationContext.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+			Set<String> dismissedJsonSet = prefs.getStringSet(KEY_PENDING_DISMISSED, null);
+			if (dismissedJsonSet != null) {
+				List<NotificationData> batch = new ArrayList<>(dismissedJsonSet.size());
+				for (String notificationJson : dismissedJsonSet) {
+					try {
+						batch.add(NotificationDataCodec.fromJson(new JSONObject(notificationJson)));
+					} catch (JSONException e) {
+						PluginLog.e(LOG_TAG, "Failed to parse stored JSON for dismissed notification.", e);
+					}
+				}
+
+				if (!batch.isEmpty()) {
+					eventOutbox.appendAll(EventOutbox.EVENT_DISMISSED, batch);
+				}
+				prefs.edit().remove(KEY_PENDING_DISMISSED).commit();
+				PluginLog.i(LOG_TAG, "Migrated %d stored dismissed events to the event outbox.", batch.size());
+			}
+		}
+		return eventOutbox;
+	}
+
+	private static ConfigMap getConfig(Context context) {
+		return ConfigMap.get(context, CONFIG_NAME);
+	}
+
+	/**
+	 * Returns the index of scheduled notifications, which is built again when another process has changed the store.
+	 */
+	static synchronized ScheduleIndex getScheduleIndex(Context context) {
+		ScheduleStore store = getScheduleStore(context);
+		if (scheduleIndex == null || scheduleIndex.isStale(store)) {
+			scheduleIndex = new ScheduleIndex(store);
+		}
+		return scheduleIndex;
+	}
+
+	private static ScheduleStore createScheduleStore(Context context, int storeType) {
+		if (storeType == SchedulerSettings.SCHEDULE_STORE_PREFERENCES) {
+			return new PreferencesScheduleStore(context);
+		}
+		return new JournalScheduleStore(context);
+	}
+
+	/**
+	 * Persists the notification data so it can be restored on reboot.
+	 *
+	 * @param occurrenceTime time of the occurrence before quiet hours were applied to it
+	 */
+	static void saveScheduledNotification(Context context, NotificationData data, long fireTime, long occurrenceTime) {
+		getScheduleStore(context).put(data, fireTime, occurrenceTime);
+		ScheduleIndex index = scheduleIndex;
+		if (index != null) {
+			index.put(data, fireTime);
+		}
+		PluginLog.d(LOG_TAG, "Persisted notification %s for reboot handling.", data.getId());
+	}
+
+	/**
+	 * Persists multiple notifications using a single store transaction.
+	 *
+	 * @param fireTimes absolute fire time of each element of {@code batch}, in the same order
+	 */
+	@VisibleForTesting
+	static void saveScheduledNotifications(Context context, List<NotificationData> batch, long[] fireTimes) {
+		saveScheduledNotifications(context, batch, fireTimes, fireTimes);
+	}
+
+	/**
+	 * Persists multiple notifications using a single store transaction.
+	 *
+	 * @param fireTimes absolute fire time of each element of {@code batch}, in the same order
+	 * @param occurrenceTimes time of each occurrence before quiet hours were applied to it, in the same order
+	 */
+	static void saveScheduledNotifications(Context context, List<NotificationData> batch, long[] fireTimes,
+			long[] occurrenceTimes) {
+		getScheduleStore(context).putAll(batch, fireTimes, occurrenceTimes);
+		ScheduleIndex index = scheduleIndex;
+		if (index != null) {
+			index.putAll(batch, fireTimes);
+		}
+		PluginLog.d(LOG_TAG, "Persisted %s notifications for reboot handling.", batch.size());
+	}
+
 	/**
 	 * Removes a notification from persistence (called when cancelled or fired).
 	 */
 	public static void removeScheduledNotification(Context context, int notificationId) {
-		SharedPreferences schedulePrefs = context.getSharedPreferences(KEY_SCHEDULED_NOTIFICATIONS, Context.MODE_PRIVATE);
-		if (schedulePrefs.contains(String.valueOf(notificationId))) {
-			schedulePrefs.edit().remove(String.valueOf(notificationId)).apply();
-			Log.d(LOG_TAG, "Removed notification " + notificationId + " from persistence.");
+		ScheduleIndex index = scheduleIndex;
+		if (index != null) {
+			index.remove(notificationId);
+		}
+		if (getScheduleStore(context).remove(notificationId)) {
+			PluginLog.d(LOG_TAG, "Removed notification %s from persistence.", notificationId);
+		}
+	}
+
+	/**
+	 * Removes multiple notifications from persistence using a single store transaction.
+	 *
+	 * @return number of notifications removed
+	 */
+	static int removeScheduledNotifications(Context context, int[] notificationIds) {
+		ScheduleIndex index = scheduleIndex;
+		if (index != null) {
+			for (int notificationId : notificationIds) {
+				index.remove(notificationId);
+			}
 		}
+		return getScheduleStore(context).removeAll(notificationIds);
 	}
 
 	/**
-	 * Called by BootReceiver to restore alarms.
+	 * Restores alarms for all persisted notifications (eg. when the alarm mode changes). After reboot, alarms are
+	 * restored in chunks by {@link BootRestorer}.
 	 */
 	public static void rescheduleAll(Context context) {
-		SharedPreferences schedulePrefs = context.getSharedPreferences(KEY_SCHEDULED_NOTIFICATIONS, Context.MODE_PRIVATE);
-		Map<String, ?> allEntries = schedulePrefs.getAll();
+		long startTime = Metrics.start();
+		if (getSettings(context).isNextDueAlarmMode()) {
+			NextDueDispatcher.getInstance().restore(context);
+			Metrics.record(Metrics.OP_RESCHEDULE_ALL, startTime);
+			return;
+		}
+
+		ScheduleStore store = getScheduleStore(context);
+		int[] notificationIds = getScheduledNotificationIds(store);
 
-		if (allEntries.isEmpty()) {
-			Log.i(LOG_TAG, "No scheduled notifications to restore.");
+		if (notificationIds.length == 0) {
+			PluginLog.i(LOG_TAG, "No scheduled notifications to restore.");
+			Metrics.record(Metrics.OP_RESCHEDULE_ALL, startTime);
 			return;
 		}
 
-		for (Map.Entry<String, ?> entry : allEntries.entrySet()) {
+		restoreAlarms(context, (AlarmManager) context.getSystemService(ALARM_SERVICE), store, notificationIds);
+		Metrics.record(Metrics.OP_RESCHEDULE_ALL, startTime);
+	}
+
+	/**
+	 * Returns the IDs of all persisted notifications in ascending order.
+	 */
+	static int[] getScheduledNotificationIds(ScheduleStore store) {
+		List<Integer> idList = new ArrayList<>();
+		store.forEachFireTime((notificationId, fireTime) -> idList.add(notificationId));
+
+		int[] notificationIds = new int[idList.size()];
+		for (int i = 0; i < notificationIds.length; i++) {
+			notificationIds[i] = idList.get(i);
+		}
+		Arrays.sort(notificationIds);
+		return notificationIds;
+	}
+
+	/**
+	 * Arms per-notification alarms for the persisted notifications with the given IDs. Invalid notifications, and
+	 * those whose occurrence is dropped within quiet hours, are removed from the store.
+	 *
+	 * @return number of alarms armed
+	 */
+	static int restoreAlarms(Context context, AlarmManager alarmManager, ScheduleStore store, int[] notificationIds) {
+		List<Integer> removedIds = new ArrayList<>();
+		List<NotificationData> rescheduled = new ArrayList<>();
+		List<Long> rescheduledFireTimes = new ArrayList<>();
+		List<Long> rescheduledOccurrenceTimes = new ArrayList<>();
+		long now = System.currentTimeMillis();
+		QuietHours quietHours = QuietHours.load(context);
+		int restoredCount = 0;
+
+		for (ScheduledNotification scheduledNotification : store.getAll(notificationIds)) {
 			try {
-				String jsonString = (String) entry.getValue();
-				JSONObject json = new JSONObject(jsonString);
-				
-				// Extract the absolute fire time we saved earlier
-				long fireTime = json.optLong(DATA_KEY_FIRE_TIME, -1);
-				
-				// Reconstruct data
-				NotificationData data = new NotificationData(json);
+				// The absolute fire time we saved earlier
+				long fireTime = scheduledNotification.getFireTime();
+				NotificationData data = scheduledNotification.getData();
 				
 				if (!data.isValid() || fireTime == -1) {
 					// Cleanup invalid data
-					removeScheduledNotification(context, Integer.parseInt(entry.getKey()));
+					removedIds.add(scheduledNotification.getId());
 					continue;
 				}
 
-				if (data.hasInterval()) {
-					scheduleRepeatingNotification(context, data, fireTime);
-				} else {
-					// Check if the time has already passed for a one-time notification
-					if (System.currentTimeMillis() > fireTime) {
-						Log.w(LOG_TAG, "Notification " + data.getId() + " expired while device was off. Firing immediately.");
-						// Standard behavior for missed alarms is to fire immediately or discard. 
-						// setExact/set calls with past time usually trigger immediately.
-					}
-					scheduleNotification(context, data, fireTime);
+				long occurrenceTime = RepeatSchedule.getRestoredOccurrenceTime(data, fireTime,
+						scheduledNotification.getOccurrenceTime(), now);
+				if (occurrenceTime != scheduledNotification.getOccurrenceTime()) {
+					PluginLog.i(LOG_TAG, "Moving notification %s to its restored occurrence", data.getId());
 				}
 
-				Log.i(LOG_TAG, "Restored notification: " + data.getId());
+				// Resolved again, as quiet hours or the time zone may have changed since the alarm was armed
+				long restoredFireTime = quietHours.resolve(data, occurrenceTime, now);
+				if (restoredFireTime == QuietHours.NOT_SCHEDULED) {
+					// The alarm is still armed if the time zone changed
+					cancelAlarm(context, alarmManager, scheduledNotification.getId());
+					removedIds.add(scheduledNotification.getId());
+					continue;
+				}
+
+				if (restoredFireTime != fireTime || occurrenceTime != scheduledNotification.getOccurrenceTime()) {
+					rescheduled.add(data);
+					rescheduledFireTimes.add(restoredFireTime);
+					rescheduledOccurrenceTimes.add(occurrenceTime);
+				} else if (now > fireTime) {
+					PluginLog.w(LOG_TAG, "Notification " + data.getId() + " expired while device was off. Firing immediately.");
+					// Standard behavior for missed alarms is to fire immediately or discard. 
+					// setExact/set calls with past time usually trigger immediately.
+				}
+				scheduleNotification(context, alarmManager, data, restoredFireTime);
+
+				restoredCount++;
+				PluginLog.i(LOG_TAG, "Restored notification: %s", data.getId());
 
 			} catch (Exception e) {
-				Log.e(LOG_TAG, "Failed to restore notification: " + e.getMessage());
+				PluginLog.e(LOG_TAG, "Failed to restore notification: " + e.getMessage());
+			}
+		}
+
+		if (!removedIds.isEmpty()) {
+			int[] ids = new int[removedIds.size()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = removedIds.get(i);
 			}
+			removeScheduledNotifications(context, ids);
 		}
+
+		if (!rescheduled.isEmpty()) {
+			long[] fireTimes = new long[rescheduledFireTimes.size()];
+			long[] occurrenceTimes = new long[rescheduledOccurrenceTimes.size()];
+			for (int i = 0; i < fireTimes.length; i++) {
+				fireTimes[i] = rescheduledFireTimes.get(i);
+				occurrenceTimes[i] = rescheduledOccurrenceTimes.get(i);
+			}
+			saveScheduledNotifications(context, rescheduled, fireTimes, occurrenceTimes);
+		}
+
+		return restoredCount;
 	}
 
 	/**
-	 * Saves the full NotificationData as a JSON string to SharedPreferences.
+	 * Arms alarms for persisted notifications using the configured alarm mode.
+	 *
+	 * @param fireTimes absolute fire time of each element of {@code batch}, in the same order
 	 */
-	public static void saveDismissedDataToPrefs(Context context, NotificationData notificationData) {
-		try {
-			// Convert Dictionary (Map) to JSONObject
-			JSONObject jsonObject = new JSONObject(notificationData.getRawData());
-			String notificationJson = jsonObject.toString();
+	@VisibleForTesting
+	static void armAlarms(Context context, List<NotificationData> batch, long[] fireTimes) {
+		if (getSettings(context).isNextDueAlarmMode()) {
+			NextDueDispatcher.getInstance().onScheduled(context, batch, fireTimes);
+		} else {
+			AlarmManager alarmManager = (AlarmManager) context.getSystemService(ALARM_SERVICE);
+			for (int i = 0; i < batch.size(); i++) {
+				// Repeating notifications are armed one occurrence at a time (see RepeatSchedule)
+				scheduleNotification(context, alarmManager, batch.get(i), fireTimes[i]);
+			}
+		}
+	}
 
-			SharedPreferences prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+	/**
+	 * Persists and arms the next occurrence of a repeating notification whose per-notification alarm went off. The
+	 * next occurrence is computed from the persisted time of the occurrence that went off, before quiet hours were
+	 * applied to it.
+	 *
+	 * @return false if the notification is no longer scheduled
+	 */
+	static boolean scheduleNextOccurrence(Context context, int notificationId) {
+		ScheduleStore store = getScheduleStore(context);
+		ScheduledNotification scheduledNotification = store.get(notificationId);
+		if (scheduledNotification == null) {
+			return false;
+		}
 
-			// Use a Set to store multiple JSON strings (for multiple pending dismissals)
-			Set<String> dismissedData = prefs.getStringSet(KEY_PENDING_DISMISSED, new HashSet<>());
+		NotificationData data = scheduledNotification.getData();
+		long now = System.currentTimeMillis();
+		long nextOccurrenceTime = RepeatSchedule.getNextOccurrenceTime(data, scheduledNotification.getFireTime(),
+				scheduledNotification.getOccurrenceTime(), now);
+		long nextFireTime = QuietHours.load(context).resolve(data, nextOccurrenceTime, now);
+		saveScheduledNotification(context, data, nextFireTime, nextOccurrenceTime);
+		scheduleNotification(context, (AlarmManager) context.getSystemService(ALARM_SERVICE), data, nextFireTime);
+		return true;
+	}
 
-			Set<String> newSet = new HashSet<>(dismissedData);
-			newSet.add(notificationJson);
+	private static void scheduleNotification(Context context, AlarmManager alarmManager, NotificationData notificationData, long fireTime) {
+		int notificationId = notificationData.getId();
 
-			prefs.edit().putStringSet(KEY_PENDING_DISMISSED, newSet).apply();
-			Log.d(LOG_TAG, "Saved full dismissed data to prefs: " + notificationJson);
-		} catch (Exception e) {
-			Log.e(LOG_TAG, "Failed to save NotificationData to SharedPreferences", e);
-		}
-	}
+		Intent intent = PendingIntentRegistry.createIntent(context, PendingIntentRegistry.KIND_ALARM);
+		populateAlarmIntent(context, notificationData, intent);
+		intent.putExtra(NotificationReceiver.EXTRA_FIRE_TIME, fireTime);
 
-	private static long calculateTimeAfterDelay(int delaySeconds) {
-		Calendar calendar = Calendar.getInstance();
-		calendar.add(Calendar.SECOND, delaySeconds);
-		return calendar.getTimeInMillis();
+		PendingIntent pendingIntent = PendingIntentRegistry.get(context, PendingIntentRegistry.KIND_ALARM, notificationId, intent);
+
+		setAlarm(alarmManager, notificationData.getPrecision(), notificationData.getPrecisionWindow() * 1000L, fireTime, pendingIntent);
+		Metrics.increment(Metrics.COUNTER_ALARMS_ARMED);
+		if (PluginLog.isLoggable(PluginLog.LEVEL_INFO)) {
+			PluginLog.i(LOG_TAG, "Scheduled notification '%d' to be delivered at %d with precision %d.", notificationId, fireTime,
+					notificationData.getPrecision());
+		}
 	}
 
-	private static void scheduleNotification(Context context, NotificationData notificationData, long fireTime) {
-		int notificationId = notificationData.getId();
+	/**
+	 * Sets a one-shot alarm using the alarm type and method that match the delivery precision. Exact alarms are only
+	 * used when required, so that the system can batch the other alarms with those of other apps.
+	 *
+	 * @param windowMs length of the delivery window when precision is {@link NotificationData#PRECISION_WINDOW}
+	 */
+	static void setAlarm(AlarmManager alarmManager, int precision, long windowMs, long fireTime, PendingIntent pendingIntent) {
+		switch (precision) {
+			case NotificationData.PRECISION_WINDOW:
+				if (windowMs > 0 && Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+					alarmManager.setWindow(AlarmManager.RTC_WAKEUP, fireTime, windowMs, pendingIntent);
+					return;
+				}
+				break;
 
-		Intent intent = new Intent(context, NotificationReceiver.class);
-		notificationData.populateIntent(intent);
+			case NotificationData.PRECISION_INEXACT:
+				if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+					alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, fireTime, pendingIntent);
+				} else {
+					alarmManager.set(AlarmManager.RTC_WAKEUP, fireTime, pendingIntent);
+				}
+				return;
 
-		AlarmManager alarmManager = (AlarmManager) context.getSystemService(ALARM_SERVICE);
-		
-		PendingIntent pendingIntent = PendingIntent.getBroadcast(context, notificationId, intent,
-						PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+			case NotificationData.PRECISION_NON_WAKEUP:
+				// Delivered when the device next wakes up for another reason
+				long triggerAtElapsed = SystemClock.elapsedRealtime() + Math.max(0, fireTime - System.currentTimeMillis());
+				alarmManager.set(AlarmManager.ELAPSED_REALTIME, triggerAtElapsed, pendingIntent);
+				return;
+		}
 
 		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
 			alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, fireTime, pendingIntent);
@@ -658,37 +1610,78 @@ public class NotificationSchedulerPlugin extends GodotPlugin {
 		} else {
 			alarmManager.set(AlarmManager.RTC_WAKEUP, fireTime, pendingIntent);
 		}
-		Log.i(LOG_TAG, String.format("Scheduled notification '%d' to be delivered at %d.", notificationId, fireTime));
 	}
 
-	private static void scheduleRepeatingNotification(Context context, NotificationData notificationData, long fireTime) {
-		int notificationId = notificationData.getId();
+	private static void populateAlarmIntent(Context context, NotificationData notificationData, Intent intent) {
+		switch (getSettings(context).getIntentEncoding()) {
+			case SchedulerSettings.INTENT_ENCODING_BINARY:
+				NotificationDataCodec.writePayloadToIntent(notificationData.getId(), NotificationDataCodec.toBytes(notificationData), intent);
+				break;
 
-		Intent intent = new Intent(context, NotificationReceiver.class);
-		notificationData.populateIntent(intent);
+			case SchedulerSettings.INTENT_ENCODING_STORE_KEY:
+				// Notifications are always persisted before their alarms are armed
+				intent.putExtra(NotificationData.DATA_KEY_ID, notificationData.getId());
+				intent.putExtra(NotificationReceiver.EXTRA_STORE_KEY, true);
+				break;
 
-		AlarmManager alarmManager = (AlarmManager) context.getSystemService(ALARM_SERVICE);
-		
-		int intervalSeconds = notificationData.getInterval();
+			default:
+				notificationData.populateIntent(intent);
+		}
+	}
+
+	/**
+	 * Removes the given notifications from persistence in a single store transaction and cancels their alarms and
+	 * posted notifications.
+	 *
+	 * @return number of notifications removed from persistence
+	 */
+	static int cancelNotifications(Context context, int[] notificationIds) {
+		if (notificationIds.length == 0) {
+			return 0;
+		}
 
-		alarmManager.setRepeating(AlarmManager.RTC_WAKEUP, fireTime, intervalSeconds * 1000L,
-				PendingIntent.getBroadcast(context, notificationId, intent,
-						PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE));
+		int removedCount = removeScheduledNotifications(context, notificationIds);
 
-		Log.i(LOG_TAG, String.format("Scheduled notification '%d' to be delivered at %d with %ds interval.", notificationId, fireTime, intervalSeconds));
+		if (getSettings(context).isNextDueAlarmMode()) {
+			NextDueDispatcher.getInstance().onCancelled(context);
+		} else {
+			AlarmManager alarmManager = (AlarmManager) context.getSystemService(ALARM_SERVICE);
+			for (int notificationId : notificationIds) {
+				cancelAlarm(context, alarmManager, notificationId);
+			}
+		}
+
+		NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
+		for (int notificationId : notificationIds) {
+			notificationManager.cancel(notificationId);
+		}
+
+		return removedCount;
 	}
 
-	private void cancelNotification(Activity activity, int notificationId) {
-		Context context = activity.getApplicationContext();
+	@VisibleForTesting
+	static void cancelNotification(Context context, int notificationId) {
 		// cancel alarm
-		AlarmManager alarmManager = (AlarmManager) activity.getSystemService(ALARM_SERVICE);
-		Intent intent = new Intent(context, NotificationReceiver.class);
-		intent.putExtra(NotificationData.DATA_KEY_ID, notificationId);
-		alarmManager.cancel(PendingIntent.getBroadcast(activity.getApplicationContext(), notificationId, intent,
-				PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE));
+		if (getSettings(context).isNextDueAlarmMode()) {
+			NextDueDispatcher.getInstance().onCancelled(context);
+		} else {
+			cancelAlarm(context, (AlarmManager) context.getSystemService(ALARM_SERVICE), notificationId);
+		}
 
 		// cancel notification
 		NotificationManagerCompat.from(context).cancel(notificationId);
 	}
 
+	/**
+	 * Cancels the alarm of a notification along with its PendingIntent, so that {@link #is_scheduled(int)} no longer
+	 * finds it. Notifications without an alarm are skipped without creating a PendingIntent.
+	 */
+	static void cancelAlarm(Context context, AlarmManager alarmManager, int notificationId) {
+		PendingIntent pendingIntent = PendingIntentRegistry.find(context, PendingIntentRegistry.KIND_ALARM, notificationId);
+		if (pendingIntent != null) {
+			alarmManager.cancel(pendingIntent);
+			pendingIntent.cancel();
+		}
+	}
+
 }
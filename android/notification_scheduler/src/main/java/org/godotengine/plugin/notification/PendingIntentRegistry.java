@@ -0,0 +1,88 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+
+/**
+ * Creates and looks up the {@link PendingIntent}s of notifications, keyed by kind and notification ID.
+ *
+ * <p>The request code of every PendingIntent is its notification's ID, and kinds are told apart by target component
+ * and action, so that each notification has its own PendingIntent of each kind. PendingIntents are created with
+ * {@link PendingIntent#FLAG_UPDATE_CURRENT}, which makes the system reuse an existing one and only replace its extras.
+ * Lookups use {@link PendingIntent#FLAG_NO_CREATE}, so they never create a PendingIntent and need no extras.
+ *
+ * <p>Alarm PendingIntents keep the identity used by earlier versions (no action), so that their alarms can still be
+ * cancelled after an upgrade.
+ */
+public final class PendingIntentRegistry {
+
+	public static final int KIND_ALARM = 0;
+	public static final int KIND_CONTENT = 1;
+	public static final int KIND_DISMISS = 2;
+
+	static final String ACTION_OPEN_NOTIFICATION = "org.godotengine.plugin.notification.action.OPEN_NOTIFICATION";
+	static final String ACTION_DISMISS_NOTIFICATION = "org.godotengine.plugin.notification.action.DISMISS_NOTIFICATION";
+
+	private PendingIntentRegistry() {
+	}
+
+	/**
+	 * Returns a new intent that targets the component of the given kind. Extras are added by the caller.
+	 */
+	public static Intent createIntent(Context context, int kind) {
+		switch (kind) {
+			case KIND_CONTENT:
+				return new Intent(context, ResultActivity.class).setAction(ACTION_OPEN_NOTIFICATION);
+
+			case KIND_DISMISS:
+				return new Intent(context, CancelNotificationReceiver.class).setAction(ACTION_DISMISS_NOTIFICATION);
+
+			default:
+				return new Intent(context, NotificationReceiver.class);
+		}
+	}
+
+	/**
+	 * Returns the PendingIntent of the given kind and notification, with the extras of {@code intent}.
+	 *
+	 * @param intent intent created by {@link #createIntent(Context, int)} with the same kind
+	 */
+	public static PendingIntent get(Context context, int kind, int notificationId, Intent intent) {
+		return getPendingIntent(context, kind, notificationId, intent,
+				PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+	}
+
+	/**
+	 * Returns the existing PendingIntent of the given kind and notification, or null if there is none.
+	 */
+	public static PendingIntent find(Context context, int kind, int notificationId) {
+		return getPendingIntent(context, kind, notificationId, createIntent(context, kind),
+				PendingIntent.FLAG_NO_CREATE | PendingIntent.FLAG_IMMUTABLE);
+	}
+
+	public static boolean exists(Context context, int kind, int notificationId) {
+		return find(context, kind, notificationId) != null;
+	}
+
+	/**
+	 * Cancels the PendingIntent of the given kind and notification, if it exists.
+	 */
+	public static void cancel(Context context, int kind, int notificationId) {
+		PendingIntent pendingIntent = find(context, kind, notificationId);
+		if (pendingIntent != null) {
+			pendingIntent.cancel();
+		}
+	}
+
+	private static PendingIntent getPendingIntent(Context context, int kind, int notificationId, Intent intent, int flags) {
+		Context applicationContext = context.getApplicationContext();
+		return kind == KIND_CONTENT
+				? PendingIntent.getActivity(applicationContext, notificationId, intent, flags)
+				: PendingIntent.getBroadcast(applicationContext, notificationId, intent, flags);
+	}
+}
@@ -0,0 +1,127 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.util.Log;
+
+/**
+ * Plugin-wide logger with a configurable level.
+ *
+ * <p>Messages are formatted with {@link String#format(String, Object...)} only if their level is enabled, so callers
+ * pass a format string and arguments instead of building the message themselves. Overloads with up to four arguments
+ * avoid allocating a varargs array. Arguments that are expensive to compute should be guarded with
+ * {@link #isLoggable(int)}.
+ *
+ * <p>The default level is set per build type by {@code BuildConfig.LOG_LEVEL} and can be overridden by the
+ * {@code log_level} setting.
+ */
+public final class PluginLog {
+
+	public static final int LEVEL_NONE = 0;
+	public static final int LEVEL_ERROR = 1;
+	public static final int LEVEL_WARN = 2;
+	public static final int LEVEL_INFO = 3;
+	public static final int LEVEL_DEBUG = 4;
+
+	private static volatile int level = BuildConfig.LOG_LEVEL;
+
+	private PluginLog() {
+	}
+
+	/**
+	 * @param newLevel one of the {@code LEVEL_*} values, or a negative value for the build type's default level
+	 */
+	public static void setLevel(int newLevel) {
+		level = newLevel < 0 ? BuildConfig.LOG_LEVEL : newLevel;
+	}
+
+	public static boolean isLoggable(int messageLevel) {
+		return messageLevel <= level;
+	}
+
+	public static void d(String tag, String message) {
+		if (LEVEL_DEBUG <= level) {
+			Log.d(tag, message);
+		}
+	}
+
+	public static void d(String tag, String format, Object arg) {
+		if (LEVEL_DEBUG <= level) {
+			Log.d(tag, String.format(format, arg));
+		}
+	}
+
+	public static void d(String tag, String format, Object arg1, Object arg2) {
+		if (LEVEL_DEBUG <= level) {
+			Log.d(tag, String.format(format, arg1, arg2));
+		}
+	}
+
+	public static void d(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (LEVEL_DEBUG <= level) {
+			Log.d(tag, String.format(format, arg1, arg2, arg3));
+		}
+	}
+
+	public static void d(String tag, String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (LEVEL_DEBUG <= level) {
+			Log.d(tag, String.format(format, arg1, arg2, arg3, arg4));
+		}
+	}
+
+	public static void i(String tag, String message) {
+		if (LEVEL_INFO <= level) {
+			Log.i(tag, message);
+		}
+	}
+
+	public static void i(String tag, String format, Object arg) {
+		if (LEVEL_INFO <= level) {
+			Log.i(tag, String.format(format, arg));
+		}
+	}
+
+	public static void i(String tag, String format, Object arg1, Object arg2) {
+		if (LEVEL_INFO <= level) {
+			Log.i(tag, String.format(format, arg1, arg2));
+		}
+	}
+
+	public static void i(String tag, String format, Object arg1, Object arg2, Object arg3) {
+		if (LEVEL_INFO <= level) {
+			Log.i(tag, String.format(format, arg1, arg2, arg3));
+		}
+	}
+
+	public static void i(String tag, String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+		if (LEVEL_INFO <= level) {
+			Log.i(tag, String.format(format, arg1, arg2, arg3, arg4));
+		}
+	}
+
+	public static void w(String tag, String message) {
+		if (LEVEL_WARN <= level) {
+			Log.w(tag, message);
+		}
+	}
+
+	public static void w(String tag, String message, Throwable throwable) {
+		if (LEVEL_WARN <= level) {
+			Log.w(tag, message, throwable);
+		}
+	}
+
+	public static void e(String tag, String message) {
+		if (LEVEL_ERROR <= level) {
+			Log.e(tag, message);
+		}
+	}
+
+	public static void e(String tag, String message, Throwable throwable) {
+		if (LEVEL_ERROR <= level) {
+			Log.e(tag, message, throwable);
+		}
+	}
+}
@@ -0,0 +1,240 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.content.Context;
+import android.icu.util.Calendar;
+import android.icu.util.TimeZone;
+
+import org.godotengine.plugin.notification.model.ChannelData;
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.SchedulerSettings;
+import org.godotengine.plugin.notification.store.ConfigMap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily windows of local time in which notifications are not delivered. A global window is set with
+ * {@link SchedulerSettings}, and a channel's own window replaces it for the channel's notifications (an empty window
+ * exempts a channel). Channel windows are persisted in a {@link ConfigMap}, as they are read by the notification
+ * receiver's process.
+ *
+ * <p>Quiet hours are applied when an occurrence is armed, so that each occurrence is resolved once rather than checked
+ * when its alarm goes off. An occurrence that falls within quiet hours is either shifted to their end or dropped, as
+ * set by {@link SchedulerSettings#getQuietHoursPolicy()}. Dropping an occurrence of a repeating notification arms its
+ * next occurrence that falls outside quiet hours instead.
+ *
+ * <p>Windows are in the device's time zone unless a time zone is set. Alarms are armed again when the device's time
+ * zone changes (see {@link BootReceiver}), which resolves them in the new time zone.
+ */
+final class QuietHours {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + QuietHours.class.getSimpleName();
+
+	/** Returned by {@link #resolve(NotificationData, long, long)} for an occurrence that is dropped */
+	static final long NOT_SCHEDULED = -1;
+
+	private static final String CONFIG_NAME = "notification_scheduler_quiet_hours";
+	private static final String KEY_PREFIX_START = "start:";
+	private static final String KEY_PREFIX_END = "end:";
+
+	// Occurrences of a repeating notification that are checked for one outside quiet hours, before the occurrence is
+	// shifted instead (eg. if the notification repeats daily at a quiet time)
+	private static final int MAX_DROPPED_OCCURRENCES = 64;
+
+	/**
+	 * Daily window from {@code start} to {@code end}, in minutes after midnight. A window that ends before it starts
+	 * ends on the next day, and a window that ends when it starts is empty.
+	 */
+	private static final class Window {
+		final int start;
+		final int end;
+
+		Window(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		boolean isEmpty() {
+			return start == end;
+		}
+	}
+
+	private final Window globalWindow;
+	private final Map<String, Window> channelWindows;
+	private final int policy;
+	private final TimeZone timeZone;
+
+	private QuietHours(Window globalWindow, Map<String, Window> channelWindows, int policy, TimeZone timeZone) {
+		this.globalWindow = globalWindow;
+		this.channelWindows = channelWindows;
+		this.policy = policy;
+		this.timeZone = timeZone;
+	}
+
+	/**
+	 * Loads the current quiet hours. Callers that resolve several occurrences load them once.
+	 */
+	static QuietHours load(Context context) {
+		SchedulerSettings settings = NotificationSchedulerPlugin.getSettings(context);
+
+		Map<String, Window> channelWindows = new HashMap<>();
+		ConfigMap config = getConfig(context);
+		for (Map.Entry<String, Object> entry : config.getAll().entrySet()) {
+			if (entry.getKey().startsWith(KEY_PREFIX_START) && entry.getValue() instanceof Integer) {
+				String channelId = entry.getKey().substring(KEY_PREFIX_START.length());
+				channelWindows.put(channelId, new Window((Integer) entry.getValue(), config.getInt(KEY_PREFIX_END + channelId, 0)));
+			}
+		}
+
+		TimeZone timeZone = TimeZone.getDefault();
+		String timeZoneId = settings.getQuietHoursTimeZone();
+		if (timeZoneId != null && !timeZoneId.isEmpty()) {
+			TimeZone settingsTimeZone = TimeZone.getTimeZone(timeZoneId);
+			if (TimeZone.UNKNOWN_ZONE_ID.equals(settingsTimeZone.getID())) {
+				PluginLog.w(LOG_TAG, "Unknown quiet hours time zone '" + timeZoneId + "'. Using the device's time zone.");
+			} else {
+				timeZone = settingsTimeZone;
+			}
+		}
+
+		return new QuietHours(new Window(settings.getQuietHoursStart(), settings.getQuietHoursEnd()), channelWindows,
+				settings.getQuietHoursPolicy(), timeZone);
+	}
+
+	/**
+	 * Sets the quiet hours of a channel. Channels without quiet hours of their own use the global ones.
+	 */
+	static void setChannelQuietHours(Context context, ChannelData channelData) {
+		ConfigMap.Editor editor = getConfig(context).edit();
+		putChannelQuietHours(editor, channelData);
+		editor.commit();
+	}
+
+	/**
+	 * Sets the quiet hours of the channels with a single commit.
+	 */
+	static void setChannelQuietHours(Context context, List<ChannelData> channels) {
+		ConfigMap.Editor editor = getConfig(context).edit();
+		for (ChannelData channelData : channels) {
+			putChannelQuietHours(editor, channelData);
+		}
+		editor.commit();
+	}
+
+	private static void putChannelQuietHours(ConfigMap.Editor editor, ChannelData channelData) {
+		if (channelData.hasQuietHours()) {
+			editor.putInt(KEY_PREFIX_START + channelData.getId(), channelData.getQuietHoursStart());
+			editor.putInt(KEY_PREFIX_END + channelData.getId(), channelData.getQuietHoursEnd());
+		} else {
+			editor.remove(KEY_PREFIX_START + channelData.getId());
+			editor.remove(KEY_PREFIX_END + channelData.getId());
+		}
+	}
+
+	/**
+	 * @return true if any notification can fall within quiet hours
+	 */
+	boolean isEnabled() {
+		if (!globalWindow.isEmpty()) {
+			return true;
+		}
+		for (Window window : channelWindows.values()) {
+			if (!window.isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the time at which to arm an occurrence of a notification that is due at {@code fireTime}: the fire time
+	 * itself if it is outside quiet hours, otherwise the end of the quiet hours, or {@link #NOT_SCHEDULED} if the
+	 * occurrence is dropped. When a repeating notification's occurrence is dropped, its next occurrence that falls
+	 * outside quiet hours is returned. Occurrences that are already due are checked at {@code now}, as they are
+	 * delivered right away.
+	 */
+	long resolve(NotificationData data, long fireTime, long now) {
+		Window window = getWindow(data.getChannelId());
+		if (window == null) {
+			return fireTime;
+		}
+
+		long quietEnd = getQuietEnd(window, Math.max(fireTime, now));
+		if (quietEnd == NOT_SCHEDULED) {
+			return fireTime;
+		}
+
+		if (policy == SchedulerSettings.QUIET_HOURS_POLICY_DROP) {
+			if (!data.isRepeating()) {
+				PluginLog.i(LOG_TAG, "Dropping notification %d, which is due within quiet hours", data.getId());
+				Metrics.increment(Metrics.COUNTER_QUIET_HOURS_DROPPED);
+				return NOT_SCHEDULED;
+			}
+
+			long occurrence = fireTime;
+			for (int i = 0; i < MAX_DROPPED_OCCURRENCES; i++) {
+				// First occurrence after the end of the quiet hours
+				occurrence = RepeatSchedule.getNextFireTime(data, occurrence, quietEnd - 1);
+				quietEnd = getQuietEnd(window, occurrence);
+				if (quietEnd == NOT_SCHEDULED) {
+					PluginLog.i(LOG_TAG, "Skipping occurrences of notification %d within quiet hours", data.getId());
+					Metrics.increment(Metrics.COUNTER_QUIET_HOURS_DROPPED);
+					return occurrence;
+				}
+			}
+			PluginLog.w(LOG_TAG, "Occurrences of notification " + data.getId() + " keep falling within quiet hours. Shifting.");
+		}
+
+		PluginLog.i(LOG_TAG, "Shifting notification %d to the end of quiet hours at %d", data.getId(), quietEnd);
+		Metrics.increment(Metrics.COUNTER_QUIET_HOURS_SHIFTED);
+		return quietEnd;
+	}
+
+	/**
+	 * Returns the quiet hours that apply to the channel, or null if there are none
+	 */
+	private Window getWindow(String channelId) {
+		Window window = channelWindows.get(channelId);
+		if (window == null) {
+			window = globalWindow;
+		}
+		return window.isEmpty() ? null : window;
+	}
+
+	/**
+	 * Returns the end of the quiet hours that {@code time} falls within, or {@link #NOT_SCHEDULED} if it is outside
+	 * quiet hours
+	 */
+	private long getQuietEnd(Window window, long time) {
+		Calendar calendar = Calendar.getInstance(timeZone);
+		calendar.setTimeInMillis(time);
+		int minuteOfDay = calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE);
+
+		boolean isQuiet = window.start < window.end
+				? minuteOfDay >= window.start && minuteOfDay < window.end
+				: minuteOfDay >= window.start || minuteOfDay < window.end;
+		if (!isQuiet) {
+			return NOT_SCHEDULED;
+		}
+
+		if (window.start > window.end && minuteOfDay >= window.start) {
+			// Quiet hours end on the next day
+			calendar.add(Calendar.DAY_OF_MONTH, 1);
+		}
+
+		// Set after the change of day, as a daylight saving time transition may have adjusted the time of day
+		calendar.set(Calendar.HOUR_OF_DAY, window.end / 60);
+		calendar.set(Calendar.MINUTE, window.end % 60);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		return Math.max(calendar.getTimeInMillis(), time);
+	}
+
+	private static ConfigMap getConfig(Context context) {
+		return ConfigMap.get(context, CONFIG_NAME);
+	}
+}
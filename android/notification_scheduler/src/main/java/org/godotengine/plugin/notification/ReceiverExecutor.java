@@ -0,0 +1,99 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.content.BroadcastReceiver;
+import android.os.Process;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Small shared executor that runs broadcast receiver work off the main thread using
+ * {@link BroadcastReceiver#goAsync()}.
+ *
+ * <p>Work is spread over a fixed number of single-threaded lanes. All work for the same key (notification ID) runs
+ * on the same lane, so it is executed in the order in which it was submitted. Lane queues are unbounded, as running
+ * overflow work elsewhere would break that order; a warning is logged when a lane falls behind.
+ */
+final class ReceiverExecutor {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + ReceiverExecutor.class.getSimpleName();
+
+	private static final int LANE_COUNT = 2;
+	private static final int LANE_BACKLOG_WARNING = 64;
+
+	// Pending broadcasts are finished before the system's receiver timeout (10 seconds) is reached
+	private static final long FINISH_TIMEOUT_MS = 8000L;
+
+	private static final ThreadPoolExecutor[] lanes = new ThreadPoolExecutor[LANE_COUNT];
+	private static final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "nsp-receiver-watchdog");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	static {
+		for (int i = 0; i < LANE_COUNT; i++) {
+			final String threadName = "nsp-receiver-" + i;
+			lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(),
+					runnable -> {
+						Thread thread = new Thread(() -> {
+							Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+							runnable.run();
+						}, threadName);
+						thread.setDaemon(true);
+						return thread;
+					});
+		}
+	}
+
+	private ReceiverExecutor() {
+	}
+
+	/**
+	 * Runs {@code work} on the lane assigned to {@code key} and finishes the receiver's pending broadcast when the
+	 * work completes or when the timeout is reached, whichever comes first.
+	 *
+	 * @param key work with the same key is executed sequentially, in submission order
+	 */
+	static void execute(BroadcastReceiver receiver, int key, Runnable work) {
+		final BroadcastReceiver.PendingResult pendingResult = receiver.goAsync();
+		final AtomicBoolean isFinished = new AtomicBoolean(false);
+
+		final Runnable finish = () -> {
+			if (pendingResult != null && isFinished.compareAndSet(false, true)) {
+				pendingResult.finish();
+			}
+		};
+
+		watchdog.schedule(() -> {
+			if (!isFinished.get()) {
+				PluginLog.w(LOG_TAG, "Receiver work for key " + key + " did not complete in " + FINISH_TIMEOUT_MS + "ms");
+				finish.run();
+			}
+		}, FINISH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+		ThreadPoolExecutor lane = lanes[Math.floorMod(key, LANE_COUNT)];
+		int backlog = lane.getQueue().size();
+		if (backlog >= LANE_BACKLOG_WARNING) {
+			PluginLog.w(LOG_TAG, "Receiver work for key " + key + " is queued behind " + backlog + " tasks");
+		}
+
+		lane.execute(() -> {
+			try {
+				work.run();
+			} catch (Exception e) {
+				PluginLog.e(LOG_TAG, "Receiver work for key " + key + " failed", e);
+			} finally {
+				finish.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,67 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.os.SystemClock;
+
+/**
+ * Thread-safe record of the notification IDs whose events were recently handled, used to de-duplicate events that
+ * reach the plugin by more than one path (eg. both via {@link ResultActivity} and the launch intent).
+ *
+ * <p>IDs are kept in a fixed-size ring and expire after a time window, so memory use does not grow with the lifetime
+ * of the process.
+ */
+final class RecentEventIds {
+
+	private final int capacity;
+	private final long expiryMs;
+
+	// Ring of recently handled notification IDs and the times at which they were handled
+	private final int[] ids;
+	private final long[] times;
+	private int head = 0;
+	private int count = 0;
+
+	/**
+	 * @param capacity maximum number of remembered IDs
+	 * @param expiryMs time after which an ID is forgotten
+	 */
+	RecentEventIds(int capacity, long expiryMs) {
+		this.capacity = capacity;
+		this.expiryMs = expiryMs;
+		this.ids = new int[capacity];
+		this.times = new long[capacity];
+	}
+
+	synchronized void markProcessed(int id) {
+		ids[head] = id;
+		times[head] = SystemClock.elapsedRealtime();
+		head = (head + 1) % capacity;
+		if (count < capacity) {
+			count++;
+		}
+	}
+
+	synchronized boolean isProcessed(int id) {
+		long cutoff = SystemClock.elapsedRealtime() - expiryMs;
+
+		// Scan from newest to oldest; stop at the first expired entry as older ones have expired as well
+		for (int i = 0; i < count; i++) {
+			int index = (head - 1 - i + capacity) % capacity;
+			if (times[index] < cutoff) {
+				break;
+			}
+			if (ids[index] == id) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	synchronized void clear() {
+		head = 0;
+		count = 0;
+	}
+}
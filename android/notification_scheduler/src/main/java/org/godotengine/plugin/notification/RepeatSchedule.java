@@ -0,0 +1,128 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.icu.util.Calendar;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+
+/**
+ * Computes the occurrences of repeating notifications.
+ *
+ * <p>Repeating notifications are armed as one-shot alarms. When an occurrence is delivered, the next one is computed
+ * from the scheduled time of the delivered occurrence rather than from the time of delivery, so that late deliveries
+ * do not shift the phase of later occurrences. For the same reason, the time of an occurrence is kept as it was
+ * before quiet hours were applied to it, and the next occurrence is computed from that time (see
+ * {@link org.godotengine.plugin.notification.model.ScheduledNotification#getOccurrenceTime()}). Interval-based
+ * notifications repeat at multiples of the interval from their first fire time. Calendar-based notifications repeat
+ * at a local time of day, optionally only on some days of the week, and follow changes of time zone and daylight
+ * saving time.
+ */
+final class RepeatSchedule {
+
+	private static final int DAYS_PER_WEEK = 7;
+
+	// Largest distance at which a calendar occurrence is matched to the same occurrence in another time zone
+	private static final long HALF_DAY_MS = 12 * 60 * 60 * 1000L;
+
+	private RepeatSchedule() {
+	}
+
+	/**
+	 * Returns the time of the first occurrence of a notification that is scheduled at {@code now}
+	 */
+	static long getFirstFireTime(NotificationData data, long now) {
+		long fireTime = now + data.getDelay() * 1000L;
+		return data.hasRepeatTime() ? getNextCalendarTime(data, fireTime - 1) : fireTime;
+	}
+
+	/**
+	 * Returns the time of the first occurrence that follows both the occurrence at {@code fireTime} and {@code now}.
+	 * Occurrences in between are collapsed.
+	 */
+	static long getNextFireTime(NotificationData data, long fireTime, long now) {
+		if (data.hasRepeatTime()) {
+			return getNextCalendarTime(data, Math.max(fireTime, now));
+		}
+
+		long intervalMs = data.getInterval() * 1000L;
+		long nextFireTime = fireTime + intervalMs;
+		if (nextFireTime <= now) {
+			nextFireTime += ((now - nextFireTime) / intervalMs + 1) * intervalMs;
+		}
+		return nextFireTime;
+	}
+
+	/**
+	 * Returns the time of the occurrence that follows a delivered occurrence of a persisted notification, before quiet
+	 * hours are applied to it.
+	 *
+	 * @param fireTime time at which the delivered occurrence was armed
+	 * @param occurrenceTime time of the delivered occurrence before quiet hours were applied to it
+	 */
+	static long getNextOccurrenceTime(NotificationData data, long fireTime, long occurrenceTime, long now) {
+		return getNextFireTime(data, occurrenceTime, Math.max(fireTime, now));
+	}
+
+	/**
+	 * Returns the time of the occurrence to arm for a persisted notification when its alarm is restored (eg. after
+	 * reboot), before quiet hours are applied to it. Repeating notifications whose occurrence was missed are delivered
+	 * once right away, unless their missed policy is {@link NotificationData#MISSED_SKIP}, in which case they resume at
+	 * their next occurrence.
+	 *
+	 * <p>Pending occurrences of calendar-based notifications are recomputed in the current time zone, as it may have
+	 * changed since they were computed. An occurrence that has passed in the new time zone is considered missed.
+	 *
+	 * @param fireTime time at which the occurrence was armed
+	 * @param occurrenceTime time of the occurrence before quiet hours were applied to it
+	 */
+	static long getRestoredOccurrenceTime(NotificationData data, long fireTime, long occurrenceTime, long now) {
+		if (data.hasRepeatTime() && fireTime > now) {
+			// Same occurrence at the local time of day of the current time zone
+			long localOccurrenceTime = getNextCalendarTime(data, occurrenceTime - HALF_DAY_MS - 1);
+			if (localOccurrenceTime != occurrenceTime) {
+				occurrenceTime = localOccurrenceTime;
+				fireTime = localOccurrenceTime;
+			}
+		}
+
+		if (fireTime > now || !data.isRepeating() || data.getMissedPolicy() != NotificationData.MISSED_SKIP) {
+			return occurrenceTime;
+		}
+		return getNextFireTime(data, occurrenceTime, now);
+	}
+
+	/**
+	 * Returns the first time after {@code after} that matches the notification's time of day and days of the week
+	 */
+	private static long getNextCalendarTime(NotificationData data, long after) {
+		int repeatTime = data.getRepeatTime();
+		int repeatDays = data.getRepeatDays();
+
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(after);
+
+		// One more day than a week, as today's time may already have passed
+		for (int i = 0; i <= DAYS_PER_WEEK; i++) {
+			if (i > 0) {
+				calendar.add(Calendar.DAY_OF_MONTH, 1);
+			}
+
+			// Set after each change of day, as a daylight saving time transition may have adjusted the time of day
+			calendar.set(Calendar.HOUR_OF_DAY, repeatTime / 60);
+			calendar.set(Calendar.MINUTE, repeatTime % 60);
+			calendar.set(Calendar.SECOND, 0);
+			calendar.set(Calendar.MILLISECOND, 0);
+
+			boolean isRepeatDay = repeatDays == 0 || (repeatDays & (1 << (calendar.get(Calendar.DAY_OF_WEEK) - Calendar.SUNDAY))) != 0;
+			if (isRepeatDay && calendar.getTimeInMillis() > after) {
+				return calendar.getTimeInMillis();
+			}
+		}
+
+		// Only reached if no day of the week is selected in the lower 7 bits
+		return after + DAYS_PER_WEEK * 24 * 60 * 60 * 1000L;
+	}
+}
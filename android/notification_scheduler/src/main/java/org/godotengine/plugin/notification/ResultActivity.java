@@ -7,11 +7,11 @@ package org.godotengine.plugin.notification;
 import android.content.Intent;
 import android.net.Uri;
 import android.os.Bundle;
-import android.util.Log;
 
 import androidx.appcompat.app.AppCompatActivity;
 
 import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.NotificationDataCodec;
 
 public class ResultActivity extends AppCompatActivity {
 	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + ResultActivity.class.getSimpleName();
@@ -23,7 +23,7 @@ public class ResultActivity extends AppCompatActivity {
 		try {
 			godotAppMainActivityClass = Class.forName(GODOT_APP_MAIN_ACTIVITY_CLASSPATH);
 		} catch (ClassNotFoundException e) {
-			Log.e(LOG_TAG, "could not find " + GODOT_APP_MAIN_ACTIVITY_CLASSPATH);
+			PluginLog.e(LOG_TAG, "could not find " + GODOT_APP_MAIN_ACTIVITY_CLASSPATH);
 		}
 	}
 
@@ -34,7 +34,7 @@ public class ResultActivity extends AppCompatActivity {
 		Intent thisIntent = getIntent();
 		Intent godotIntent = new Intent(getApplicationContext(), godotAppMainActivityClass);
 		godotIntent.putExtras(thisIntent);
-		NotificationData notificationData = new NotificationData(thisIntent);
+		NotificationData notificationData = NotificationDataCodec.fromIntent(thisIntent);
 
 		if (notificationData.hasRestartAppOption()) {
 			godotIntent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
@@ -42,16 +42,18 @@ public class ResultActivity extends AppCompatActivity {
 			godotIntent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
 		}
 
-		if (godotIntent.hasExtra(NotificationData.DATA_KEY_DEEPLINK)) {
-			godotIntent.setData(Uri.parse(godotIntent.getStringExtra(NotificationData.DATA_KEY_DEEPLINK)));
+		if (notificationData.hasDeeplink()) {
+			godotIntent.setData(Uri.parse(notificationData.getDeeplink()));
 		}
-		Log.i(LOG_TAG, "Starting activity with intent: " + godotIntent);
+		PluginLog.i(LOG_TAG, "Starting activity with intent: %s", godotIntent);
 		startActivity(godotIntent);
 
-		if (notificationData.isValid()) {
-			NotificationSchedulerPlugin.handleNotificationOpened(notificationData);
+		if (NotificationCoalescer.ACTION_OPEN_GROUP.equals(thisIntent.getAction())) {
+			PluginLog.d(LOG_TAG, "Opened a notification group summary");
+		} else if (notificationData.isValid()) {
+			NotificationSchedulerPlugin.handleNotificationOpened(getApplicationContext(), notificationData);
 		} else {
-			Log.w(LOG_TAG, "Ignoring invalid notification.");
+			PluginLog.w(LOG_TAG, "Ignoring invalid notification.");
 		}
 	}
 }
@@ -0,0 +1,175 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
+import org.godotengine.plugin.notification.store.ScheduleStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * In-memory index of scheduled notifications by ID, by channel and by fire time. It is built from the schedule store
+ * and then kept up to date by every change that the app's process makes to the store.
+ *
+ * <p>Notifications are delivered by a receiver that runs in a separate process, which changes the store when it
+ * reschedules, defers or completes notifications. Such changes make the index {@link #isStale stale}, and it is built
+ * again. Until the receiver has handled a delivery, the index applies its expected outcome itself when it is queried:
+ * notifications whose fire time has passed are dropped, unless they repeat, in which case they are moved to their
+ * next occurrence.
+ */
+final class ScheduleIndex {
+
+	private static class Entry implements Comparable<Entry> {
+		final NotificationData data;
+		long fireTime;
+
+		Entry(NotificationData data, long fireTime) {
+			this.data = data;
+			this.fireTime = fireTime;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int result = Long.compare(fireTime, other.fireTime);
+			return result != 0 ? result : Integer.compare(data.getId(), other.data.getId());
+		}
+	}
+
+	private final TreeMap<Integer, Entry> byId = new TreeMap<>();
+	private final Map<String, TreeMap<Integer, Entry>> byChannel = new HashMap<>();
+	private final TreeSet<Entry> byFireTime = new TreeSet<>();
+
+	// Changes made to the store by other processes before the index was built
+	private final long externalChangeCount;
+
+	ScheduleIndex(ScheduleStore store) {
+		externalChangeCount = store.getExternalChangeCount();
+		for (ScheduledNotification scheduledNotification : store.getAll()) {
+			put(scheduledNotification.getData(), scheduledNotification.getFireTime());
+		}
+	}
+
+	/**
+	 * @return true if other processes have changed the store since the index was built
+	 */
+	boolean isStale(ScheduleStore store) {
+		return store.getExternalChangeCount() != externalChangeCount;
+	}
+
+	synchronized void put(NotificationData data, long fireTime) {
+		if (!data.isValid()) {
+			return;
+		}
+
+		remove(data.getId());
+
+		Entry entry = new Entry(data, fireTime);
+		byId.put(data.getId(), entry);
+		TreeMap<Integer, Entry> channelEntries = byChannel.get(data.getChannelId());
+		if (channelEntries == null) {
+			channelEntries = new TreeMap<>();
+			byChannel.put(data.getChannelId(), channelEntries);
+		}
+		channelEntries.put(data.getId(), entry);
+		byFireTime.add(entry);
+	}
+
+	synchronized void putAll(List<NotificationData> batch, long[] fireTimes) {
+		for (int i = 0; i < batch.size(); i++) {
+			put(batch.get(i), fireTimes[i]);
+		}
+	}
+
+	synchronized void remove(int notificationId) {
+		Entry entry = byId.get(notificationId);
+		if (entry != null) {
+			byFireTime.remove(entry);
+			unlink(entry);
+		}
+	}
+
+	/**
+	 * Removes an entry from the ID and channel indexes
+	 */
+	private void unlink(Entry entry) {
+		int notificationId = entry.data.getId();
+		byId.remove(notificationId);
+		TreeMap<Integer, Entry> channelEntries = byChannel.get(entry.data.getChannelId());
+		channelEntries.remove(notificationId);
+		if (channelEntries.isEmpty()) {
+			byChannel.remove(entry.data.getChannelId());
+		}
+	}
+
+	/**
+	 * Returns all scheduled notifications in ascending ID order
+	 */
+	synchronized List<NotificationData> getAll(long now) {
+		expire(now);
+		return toDataList(byId.values(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns the scheduled notifications of a channel in ascending ID order
+	 */
+	synchronized List<NotificationData> getByChannel(String channelId, long now) {
+		expire(now);
+		TreeMap<Integer, Entry> channelEntries = byChannel.get(channelId);
+		return channelEntries == null ? Collections.emptyList() : toDataList(channelEntries.values(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns up to {@code limit} notifications that are due next, in ascending fire time order
+	 */
+	synchronized List<NotificationData> getNextDue(int limit, long now) {
+		expire(now);
+		return toDataList(byFireTime, limit);
+	}
+
+	/**
+	 * Drops notifications that have already been delivered and advances repeating notifications to their next
+	 * occurrence.
+	 */
+	private void expire(long now) {
+		List<Entry> advanced = null;
+
+		while (!byFireTime.isEmpty() && byFireTime.first().fireTime <= now) {
+			Entry entry = byFireTime.pollFirst();
+			NotificationData data = entry.data;
+
+			if (data.isRepeating()) {
+				entry.fireTime = RepeatSchedule.getNextFireTime(data, entry.fireTime, now);
+				if (advanced == null) {
+					advanced = new ArrayList<>();
+				}
+				advanced.add(entry);
+			} else {
+				unlink(entry);
+			}
+		}
+
+		if (advanced != null) {
+			byFireTime.addAll(advanced);
+		}
+	}
+
+	private static List<NotificationData> toDataList(Iterable<Entry> entries, int limit) {
+		List<NotificationData> result = new ArrayList<>();
+		for (Entry entry : entries) {
+			if (result.size() >= limit) {
+				break;
+			}
+			result.add(entry.data);
+		}
+		return result;
+	}
+}
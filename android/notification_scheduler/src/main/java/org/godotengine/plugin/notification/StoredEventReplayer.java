@@ -0,0 +1,158 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.SchedulerSettings;
+import org.godotengine.plugin.notification.store.EventOutbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Replays events that were stored in the {@link EventOutbox} while the app was not running, or by the notification
+ * receiver's process.
+ * Stored events are either emitted synchronously ({@link SchedulerSettings#REPLAY_MODE_IMMEDIATE}), or read on a
+ * background thread and then delivered on the main thread, a bounded number per frame
+ * ({@link SchedulerSettings#REPLAY_MODE_PER_FRAME}) or all at once with dismissed events in a single batch signal
+ * ({@link SchedulerSettings#REPLAY_MODE_BATCH}).
+ *
+ * <p>Once all events have been delivered, the sequence number of the last one is emitted, and events remain stored
+ * until GDScript acknowledges that sequence number.
+ */
+final class StoredEventReplayer {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + StoredEventReplayer.class.getSimpleName();
+
+	private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "nsp-replay");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final NotificationSchedulerPlugin plugin;
+	private final int replayMode;
+	private final int eventsPerFrame;
+	private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+	private final ConcurrentLinkedQueue<EventOutbox.Event> queue = new ConcurrentLinkedQueue<>();
+	private final Choreographer.FrameCallback frameCallback = frameTimeNanos -> deliverFrame();
+
+	// Only accessed on the thread that delivers events
+	private int deliveredCount = 0;
+	private int lastDeliveredSequence = 0;
+
+	private volatile boolean isLoadingDone = false;
+	private volatile boolean isCancelled = false;
+
+	StoredEventReplayer(NotificationSchedulerPlugin plugin, SchedulerSettings settings) {
+		this.plugin = plugin;
+		this.replayMode = settings.getReplayMode();
+		this.eventsPerFrame = settings.getReplayEventsPerFrame();
+	}
+
+	void start() {
+		if (replayMode == SchedulerSettings.REPLAY_MODE_IMMEDIATE) {
+			load();
+			deliverAll();
+			return;
+		}
+
+		if (replayMode == SchedulerSettings.REPLAY_MODE_PER_FRAME) {
+			mainHandler.post(() -> Choreographer.getInstance().postFrameCallback(frameCallback));
+		}
+		executor.execute(this::load);
+	}
+
+	/**
+	 * Stops delivery. Events that have not been acknowledged remain stored.
+	 */
+	void cancel() {
+		isCancelled = true;
+		mainHandler.post(() -> Choreographer.getInstance().removeFrameCallback(frameCallback));
+	}
+
+	private void load() {
+		long startTime = Metrics.start();
+		List<EventOutbox.Event> events = plugin.takeStoredEvents();
+
+		if (!events.isEmpty()) {
+			PluginLog.i(LOG_TAG, "Found %d stored events.", events.size());
+			queue.addAll(events);
+		}
+
+		isLoadingDone = true;
+		Metrics.record(Metrics.OP_EVENT_REPLAY, startTime);
+
+		if (replayMode == SchedulerSettings.REPLAY_MODE_BATCH) {
+			mainHandler.post(this::deliverAll);
+		}
+	}
+
+	private void deliverFrame() {
+		if (isCancelled) {
+			return;
+		}
+
+		// Read before the queue is checked, so that events added right before loading completes are not missed
+		boolean isDone = isLoadingDone;
+
+		EventOutbox.Event event;
+		int count = 0;
+		while (count < eventsPerFrame && (event = queue.poll()) != null) {
+			deliver(event);
+			count++;
+		}
+
+		if (!isDone || !queue.isEmpty()) {
+			Choreographer.getInstance().postFrameCallback(frameCallback);
+		} else {
+			complete();
+		}
+	}
+
+	private void deliverAll() {
+		if (isCancelled) {
+			return;
+		}
+
+		List<NotificationData> dismissedBatch = new ArrayList<>();
+		EventOutbox.Event event;
+		while ((event = queue.poll()) != null) {
+			if (replayMode == SchedulerSettings.REPLAY_MODE_BATCH && event.getType() == EventOutbox.EVENT_DISMISSED) {
+				dismissedBatch.add(event.getData());
+				deliveredCount++;
+				lastDeliveredSequence = event.getSequence();
+			} else {
+				deliver(event);
+			}
+		}
+
+		if (!dismissedBatch.isEmpty()) {
+			plugin.deliverNotificationsDismissedBatch(dismissedBatch);
+		}
+		complete();
+	}
+
+	private void deliver(EventOutbox.Event event) {
+		plugin.deliverStoredEvent(event);
+		deliveredCount++;
+		lastDeliveredSequence = event.getSequence();
+	}
+
+	private void complete() {
+		if (deliveredCount > 0) {
+			PluginLog.i(LOG_TAG, "Replayed %d stored events.", deliveredCount);
+			plugin.deliverEventsReplayed(lastDeliveredSequence);
+		}
+		plugin.onReplayCompleted(this);
+	}
+}
@@ -4,6 +4,7 @@
 
 package org.godotengine.plugin.notification.model;
 
+import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.os.Build;
 
@@ -18,6 +19,19 @@ public class ChannelData {
 	private static String DATA_KEY_DESCRIPTION = "description";
 	private static String DATA_KEY_IMPORTANCE = "importance";
 	private static String DATA_KEY_BADGE_ENABLED = "badge_enabled";
+	private static String DATA_KEY_COALESCE_WINDOW = "coalesce_window";
+	private static String DATA_KEY_GROUP_ID = "group_id";
+	private static String DATA_KEY_SOUND_ENABLED = "sound_enabled";
+	private static String DATA_KEY_VIBRATION_ENABLED = "vibration_enabled";
+	private static String DATA_KEY_VIBRATION_PATTERN = "vibration_pattern";
+	private static String DATA_KEY_LIGHTS_ENABLED = "lights_enabled";
+	private static String DATA_KEY_LIGHT_COLOR = "light_color";
+	private static String DATA_KEY_LOCKSCREEN_VISIBILITY = "lockscreen_visibility";
+	private static String DATA_KEY_BYPASS_DND = "bypass_dnd";
+	private static String DATA_KEY_QUOTA_MAX_COUNT = "quota_max_count";
+	private static String DATA_KEY_QUOTA_WINDOW = "quota_window";
+	private static String DATA_KEY_QUIET_HOURS_START = "quiet_hours_start";
+	private static String DATA_KEY_QUIET_HOURS_END = "quiet_hours_end";
 
 	private Dictionary data;
 
@@ -45,6 +59,118 @@ public class ChannelData {
 		return (boolean) data.get(DATA_KEY_BADGE_ENABLED);
 	}
 
+	/**
+	 * Notifications of the channel that are due within this many seconds of each other are delivered as a group
+	 */
+	public int getCoalesceWindow() {
+		return data.containsKey(DATA_KEY_COALESCE_WINDOW) ? (int) data.get(DATA_KEY_COALESCE_WINDOW) : 0;
+	}
+
+	/**
+	 * Maximum number of notifications of the channel that are posted within any {@link #getQuotaWindow()}, or 0 for
+	 * no limit
+	 */
+	public int getQuotaMaxCount() {
+		return data.containsKey(DATA_KEY_QUOTA_MAX_COUNT) ? (int) data.get(DATA_KEY_QUOTA_MAX_COUNT) : 0;
+	}
+
+	/**
+	 * Length of the rolling window of the channel's quota, in seconds
+	 */
+	public int getQuotaWindow() {
+		return data.containsKey(DATA_KEY_QUOTA_WINDOW) ? (int) data.get(DATA_KEY_QUOTA_WINDOW) : 0;
+	}
+
+	/**
+	 * @return true if the channel has its own quiet hours, which replace the global ones
+	 */
+	public boolean hasQuietHours() {
+		return data.containsKey(DATA_KEY_QUIET_HOURS_START) && data.containsKey(DATA_KEY_QUIET_HOURS_END);
+	}
+
+	/**
+	 * Start of the channel's daily quiet hours, in minutes after midnight
+	 */
+	public int getQuietHoursStart() {
+		return data.containsKey(DATA_KEY_QUIET_HOURS_START) ? (int) data.get(DATA_KEY_QUIET_HOURS_START) : 0;
+	}
+
+	/**
+	 * End of the channel's daily quiet hours, in minutes after midnight
+	 */
+	public int getQuietHoursEnd() {
+		return data.containsKey(DATA_KEY_QUIET_HOURS_END) ? (int) data.get(DATA_KEY_QUIET_HOURS_END) : 0;
+	}
+
+	/**
+	 * ID of the channel group that the channel belongs to, or null
+	 */
+	public String getGroupId() {
+		return (String) data.get(DATA_KEY_GROUP_ID);
+	}
+
+	/**
+	 * Pattern of vibration durations in milliseconds, alternating between off and on, or null
+	 */
+	public long[] getVibrationPattern() {
+		Object value = data.get(DATA_KEY_VIBRATION_PATTERN);
+		if (!(value instanceof Object[])) {
+			return null;
+		}
+
+		Object[] pattern = (Object[]) value;
+		long[] result = new long[pattern.length];
+		for (int i = 0; i < pattern.length; i++) {
+			result[i] = ((Number) pattern[i]).longValue();
+		}
+		return result;
+	}
+
+	/**
+	 * Builds the system channel. Properties that are not set keep the system's defaults.
+	 */
+	@RequiresApi(api = Build.VERSION_CODES.O)
+	public NotificationChannel createChannel() {
+		NotificationChannel channel = new NotificationChannel(getId(), getName(), getImportance());
+		channel.setDescription(getDescription());
+		channel.setShowBadge(getBadgeEnabled());
+
+		if (data.containsKey(DATA_KEY_GROUP_ID)) {
+			channel.setGroup(getGroupId());
+		}
+
+		if (data.containsKey(DATA_KEY_SOUND_ENABLED) && !(boolean) data.get(DATA_KEY_SOUND_ENABLED)) {
+			channel.setSound(null, null);
+		}
+
+		if (data.containsKey(DATA_KEY_VIBRATION_ENABLED)) {
+			channel.enableVibration((boolean) data.get(DATA_KEY_VIBRATION_ENABLED));
+		}
+
+		long[] vibrationPattern = getVibrationPattern();
+		if (vibrationPattern != null) {
+			channel.setVibrationPattern(vibrationPattern);
+		}
+
+		if (data.containsKey(DATA_KEY_LIGHTS_ENABLED)) {
+			channel.enableLights((boolean) data.get(DATA_KEY_LIGHTS_ENABLED));
+		}
+
+		if (data.containsKey(DATA_KEY_LIGHT_COLOR)) {
+			channel.setLightColor(((Number) data.get(DATA_KEY_LIGHT_COLOR)).intValue());
+		}
+
+		if (data.containsKey(DATA_KEY_LOCKSCREEN_VISIBILITY)) {
+			channel.setLockscreenVisibility(((Number) data.get(DATA_KEY_LOCKSCREEN_VISIBILITY)).intValue());
+		}
+
+		if (data.containsKey(DATA_KEY_BYPASS_DND)) {
+			channel.setBypassDnd((boolean) data.get(DATA_KEY_BYPASS_DND));
+		}
+
+		return channel;
+	}
+
 	@RequiresApi(api = Build.VERSION_CODES.N)
 	public boolean isValid() {
 		if (data.containsKey(DATA_KEY_IMPORTANCE) == false) {
@@ -0,0 +1,55 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.model;
+
+import android.app.NotificationChannelGroup;
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+import org.godotengine.godot.Dictionary;
+
+public class ChannelGroupData {
+
+	private static String DATA_KEY_ID = "id";
+	private static String DATA_KEY_NAME = "name";
+	private static String DATA_KEY_DESCRIPTION = "description";
+
+	private Dictionary data;
+
+	public ChannelGroupData(Dictionary data) {
+		this.data = data;
+	}
+
+	public String getId() {
+		return (String) data.get(DATA_KEY_ID);
+	}
+
+	public String getName() {
+		return (String) data.get(DATA_KEY_NAME);
+	}
+
+	public String getDescription() {
+		return (String) data.get(DATA_KEY_DESCRIPTION);
+	}
+
+	/**
+	 * Builds the system channel group. The description is only supported from API level 28.
+	 */
+	@RequiresApi(api = Build.VERSION_CODES.O)
+	public NotificationChannelGroup createGroup() {
+		NotificationChannelGroup group = new NotificationChannelGroup(getId(), getName());
+		if (data.containsKey(DATA_KEY_DESCRIPTION) && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+			group.setDescription(getDescription());
+		}
+		return group;
+	}
+
+	public boolean isValid() {
+		return data.containsKey(DATA_KEY_ID) &&
+				data.containsKey(DATA_KEY_NAME);
+	}
+
+}
@@ -10,29 +10,28 @@ import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.content.res.Resources;
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
-import android.graphics.drawable.BitmapDrawable;
-import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.os.Bundle;
-import android.util.Log;
 
 import androidx.core.app.ActivityCompat;
 import androidx.core.app.NotificationCompat;
 
-import java.util.Iterator;
-
-import org.json.JSONObject;
-
 import org.godotengine.godot.Dictionary;
-import org.godotengine.plugin.notification.CancelNotificationReceiver;
+import org.godotengine.plugin.notification.IconCache;
 import org.godotengine.plugin.notification.NotificationSchedulerPlugin;
-import org.godotengine.plugin.notification.ResultActivity;
-
-
-public class NotificationData {
+import org.godotengine.plugin.notification.PendingIntentRegistry;
+import org.godotengine.plugin.notification.PluginLog;
+
+
+/**
+ * Immutable notification data with typed fields.
+ *
+ * <p>Instances are created via {@link NotificationDataCodec} or {@link Builder}. Custom data is kept in the form that
+ * it was decoded from and is only converted when it is accessed. The Godot {@link Dictionary} representation is
+ * only built when {@link #getRawData()} is called.
+ */
+public final class NotificationData {
 	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + NotificationData.class.getSimpleName();
 
 	public static final String DATA_KEY_ID = "notification_id";
@@ -46,323 +45,309 @@ public class NotificationData {
 	public static final String DATA_KEY_INTERVAL = "interval";
 	public static final String DATA_KEY_BADGE_COUNT= "badge_count";
 	public static final String DATA_KEY_CUSTOM_DATA = "custom_data";
+	public static final String DATA_KEY_PRECISION = "precision";
+	public static final String DATA_KEY_PRECISION_WINDOW = "precision_window";
+	public static final String DATA_KEY_REPEAT_TIME = "repeat_time";
+	public static final String DATA_KEY_REPEAT_DAYS = "repeat_days";
+	public static final String DATA_KEY_MISSED_POLICY = "missed_policy";
 
 	public static final String OPTION_KEY_RESTART_APP = "restart_app";
 
-	private static final String ICON_RESOURCE_TYPE = "drawable";
-
-	private static final int DEFAULT_LARGE_ICON_WIDTH = 512;
-	private static final int DEFAULT_LARGE_ICON_HEIGHT = 512;
-
-	private Dictionary data;
-
-	public NotificationData(Dictionary data) {
-		this.data = data;
-	}
-
-	public NotificationData(JSONObject json) {
-		this.data = new Dictionary();
-		if (json.has(DATA_KEY_ID)) {
-			data.put(DATA_KEY_ID, json.opt(DATA_KEY_ID));
-		}
-		if (json.has(DATA_KEY_CHANNEL_ID)) {
-			data.put(DATA_KEY_CHANNEL_ID, json.opt(DATA_KEY_CHANNEL_ID));
-		}
-		if (json.has(DATA_KEY_TITLE)) {
-			data.put(DATA_KEY_TITLE, json.opt(DATA_KEY_TITLE));
-		}
-		if (json.has(DATA_KEY_CONTENT)) {
-			data.put(DATA_KEY_CONTENT, json.opt(DATA_KEY_CONTENT));
-		}
-		if (json.has(DATA_KEY_SMALL_ICON_NAME)) {
-			data.put(DATA_KEY_SMALL_ICON_NAME, json.opt(DATA_KEY_SMALL_ICON_NAME));
-		}
-		if (json.has(DATA_KEY_LARGE_ICON_NAME)) {
-			data.put(DATA_KEY_LARGE_ICON_NAME, json.opt(DATA_KEY_LARGE_ICON_NAME));
-		}
-		if (json.has(DATA_KEY_DELAY)) {
-			data.put(DATA_KEY_DELAY, json.opt(DATA_KEY_DELAY));
-		}
-		if (json.has(DATA_KEY_DEEPLINK)) {
-			data.put(DATA_KEY_DEEPLINK, json.opt(DATA_KEY_DEEPLINK));
-		}
-		if (json.has(DATA_KEY_INTERVAL)) {
-			data.put(DATA_KEY_INTERVAL, json.opt(DATA_KEY_INTERVAL));
-		}
-		if (json.has(DATA_KEY_BADGE_COUNT)) {
-			data.put(DATA_KEY_BADGE_COUNT, json.opt(DATA_KEY_BADGE_COUNT));
-		}
-		if (json.has(DATA_KEY_CUSTOM_DATA)) {
-			Object customDataObj = json.opt(DATA_KEY_CUSTOM_DATA);
-			if (customDataObj instanceof JSONObject) {
-				JSONObject customDataJson = (JSONObject) customDataObj;
-				if (customDataJson != null) {
-					Dictionary customDataDict = new Dictionary();
-
-					Iterator<String> keys = customDataJson.keys();
-					while (keys.hasNext()) {
-						String key = keys.next();
-						customDataDict.put(key, customDataJson.opt(key));
-					}
-
-					data.put(DATA_KEY_CUSTOM_DATA, customDataDict);
-				} else {
-					Log.w(LOG_TAG, "Custom data bundle is null. Skipping.");
-				}
-			} else {
-				Log.w(LOG_TAG, "Unexpected custom data type (" + customDataObj.getClass().getName() + "). Skipping.");
-			}
-		}
-		if (json.has(OPTION_KEY_RESTART_APP)) {
-			data.put(OPTION_KEY_RESTART_APP, json.opt(OPTION_KEY_RESTART_APP));
-		}
+	// Delivery precision values
+	public static final int PRECISION_EXACT = 0;
+	public static final int PRECISION_WINDOW = 1;
+	public static final int PRECISION_INEXACT = 2;
+	public static final int PRECISION_NON_WAKEUP = 3;
+
+	// Handling of repeating occurrences that were missed while no alarm was armed (eg. while the device was off)
+	public static final int MISSED_COLLAPSE = 0;
+	public static final int MISSED_SKIP = 1;
+
+	private static final int MINUTES_PER_DAY = 24 * 60;
+
+	// Presence flags of primitive fields
+	private static final int FLAG_ID = 1;
+	private static final int FLAG_DELAY = 1 << 1;
+	private static final int FLAG_INTERVAL = 1 << 2;
+	private static final int FLAG_BADGE_COUNT = 1 << 3;
+	private static final int FLAG_REPEAT_TIME = 1 << 4;
+
+	private final int flags;
+	private final int id;
+	private final int delay;
+	private final int interval;
+	private final int badgeCount;
+	private final int precision;
+	private final int precisionWindow;
+	private final int repeatTime;
+	private final int repeatDays;
+	private final int missedPolicy;
+	private final String channelId;
+	private final String title;
+	private final String content;
+	private final String smallIconName;
+	private final String largeIconName;
+	private final String deeplink;
+	private final boolean restartApp;
+
+	// Dictionary, JSONObject, Bundle or encoded binary custom data; null if there is no custom data
+	private final Object customDataSource;
+
+	// Lazily materialized representations
+	private volatile Dictionary customData;
+	private volatile Bundle customDataBundle;
+	private volatile Dictionary rawData;
+
+	private NotificationData(Builder builder) {
+		this.flags = builder.flags;
+		this.id = builder.id;
+		this.delay = builder.delay;
+		this.interval = builder.interval;
+		this.badgeCount = builder.badgeCount;
+		this.precision = builder.precision;
+		this.precisionWindow = builder.precisionWindow;
+		this.repeatTime = builder.repeatTime;
+		this.repeatDays = builder.repeatDays;
+		this.missedPolicy = builder.missedPolicy;
+		this.channelId = builder.channelId;
+		this.title = builder.title;
+		this.content = builder.content;
+		this.smallIconName = builder.smallIconName;
+		this.largeIconName = builder.largeIconName;
+		this.deeplink = builder.deeplink;
+		this.restartApp = builder.restartApp;
+		this.customDataSource = builder.customDataSource;
+		this.rawData = builder.rawData;
 	}
 
-	public NotificationData(Intent intent) {
-		this.data = new Dictionary();
-		if (intent.hasExtra(DATA_KEY_ID)) {
-			data.put(DATA_KEY_ID, intent.getIntExtra(DATA_KEY_ID, -1));
-		}
-		if (intent.hasExtra(DATA_KEY_CHANNEL_ID)) {
-			data.put(DATA_KEY_CHANNEL_ID, intent.getStringExtra(DATA_KEY_CHANNEL_ID));
-		}
-		if (intent.hasExtra(DATA_KEY_TITLE)) {
-			data.put(DATA_KEY_TITLE, intent.getStringExtra(DATA_KEY_TITLE));
-		}
-		if (intent.hasExtra(DATA_KEY_CONTENT)) {
-			data.put(DATA_KEY_CONTENT, intent.getStringExtra(DATA_KEY_CONTENT));
-		}
-		if (intent.hasExtra(DATA_KEY_SMALL_ICON_NAME)) {
-			data.put(DATA_KEY_SMALL_ICON_NAME, intent.getStringExtra(DATA_KEY_SMALL_ICON_NAME));
-		}
-		if (intent.hasExtra(DATA_KEY_LARGE_ICON_NAME)) {
-			data.put(DATA_KEY_LARGE_ICON_NAME, intent.getStringExtra(DATA_KEY_LARGE_ICON_NAME));
-		}
-		if (intent.hasExtra(DATA_KEY_DELAY)) {
-			data.put(DATA_KEY_DELAY, intent.getIntExtra(DATA_KEY_DELAY, -1));
-		}
-		if (intent.hasExtra(DATA_KEY_DEEPLINK)) {
-			data.put(DATA_KEY_DEEPLINK, intent.getStringExtra(DATA_KEY_DEEPLINK));
-		}
-		if (intent.hasExtra(DATA_KEY_INTERVAL)) {
-			data.put(DATA_KEY_INTERVAL, intent.getIntExtra(DATA_KEY_INTERVAL, -1));
-		}
-		if (intent.hasExtra(DATA_KEY_BADGE_COUNT)) {
-			data.put(DATA_KEY_BADGE_COUNT, intent.getIntExtra(DATA_KEY_BADGE_COUNT, -1));
-		}
-		if (intent.hasExtra(DATA_KEY_CUSTOM_DATA)) {
-			Bundle bundle = intent.getBundleExtra(DATA_KEY_CUSTOM_DATA);
-			if (bundle != null) {
-				Dictionary dict = new Dictionary();
-
-				for (String key : bundle.keySet()) {
-					@SuppressWarnings("deprecation")
-					Object value = bundle.get(key);
-					dict.put(key, value);
-				}
-
-				data.put(DATA_KEY_CUSTOM_DATA, dict);
-			} else {
-				Log.w(LOG_TAG, "Custom data bundle is null. Skipping.");
-			}
-		}
-		if (intent.hasExtra(OPTION_KEY_RESTART_APP)) {
-			data.put(OPTION_KEY_RESTART_APP, intent.getBooleanExtra(OPTION_KEY_RESTART_APP, true));
-		}
+	public boolean hasId() {
+		return (flags & FLAG_ID) != 0;
 	}
 
-	public Integer getId() {
-		return (Integer) data.get(DATA_KEY_ID);
+	public int getId() {
+		return id;
 	}
 
 	public String getChannelId() {
-		return (String) data.get(DATA_KEY_CHANNEL_ID);
+		return channelId;
 	}
 
 	public String getTitle() {
-		return (String) data.get(DATA_KEY_TITLE);
+		return title;
 	}
 
 	public String getContent() {
-		return (String) data.get(DATA_KEY_CONTENT);
+		return content;
 	}
 
 	public String getSmallIconName() {
-		return (String) data.get(DATA_KEY_SMALL_ICON_NAME);
+		return smallIconName;
 	}
 
 	public boolean hasLargeIconName() {
-		return data.containsKey(DATA_KEY_LARGE_ICON_NAME);
+		return largeIconName != null;
 	}
 
 	public String getLargeIconName() {
-		return (String) data.get(DATA_KEY_LARGE_ICON_NAME);
+		return largeIconName;
+	}
+
+	public boolean hasDelay() {
+		return (flags & FLAG_DELAY) != 0;
 	}
 
 	/**
 	 * How many seconds from now to schedule first notification
 	 */
-	public Integer getDelay() {
-		return (Integer) data.get(DATA_KEY_DELAY);
+	public int getDelay() {
+		return delay;
 	}
 
 	public boolean hasDeeplink() {
-		return data.containsKey(DATA_KEY_DEEPLINK);
+		return deeplink != null;
 	}
 
 	/**
 	 * URI to process as app link when notification opened
 	 */
 	public String getDeeplink() {
-		return (String) data.get(DATA_KEY_DEEPLINK);
+		return deeplink;
 	}
 
 	public boolean hasInterval() {
-		return data.containsKey(DATA_KEY_INTERVAL);
+		return (flags & FLAG_INTERVAL) != 0;
 	}
 
 	/**
 	 * Interval in seconds between each repeating notification
 	 */
-	public Integer getInterval() {
-		return (Integer) data.get(DATA_KEY_INTERVAL);
+	public int getInterval() {
+		return interval;
 	}
 
 	public boolean hasBadgeCount() {
-		return data.containsKey(DATA_KEY_BADGE_COUNT);
+		return (flags & FLAG_BADGE_COUNT) != 0;
 	}
 
-	public Integer getBadgeCount() {
-		return (data.containsKey(DATA_KEY_BADGE_COUNT)) ? (Integer) data.get(DATA_KEY_BADGE_COUNT) : (Integer) 0;
+	public int getBadgeCount() {
+		return badgeCount;
 	}
 
-	public boolean hasCustomData() {
-		return data.containsKey(DATA_KEY_CUSTOM_DATA);
+	/**
+	 * How precisely the notification must be delivered; one of the {@code PRECISION_*} values
+	 */
+	public int getPrecision() {
+		return precision;
 	}
 
-	public Bundle getCustomDataBundle() {
-		Bundle bundle = new Bundle();
-		Object customDataObj = data.get(DATA_KEY_CUSTOM_DATA);
-
-		if (customDataObj instanceof Dictionary) {
-			Dictionary dict = (Dictionary) customDataObj;
-
-			for (Object rawKey : dict.keySet()) {
-				// Ensure key is a String
-				if (!(rawKey instanceof String)) {
-					Log.w(LOG_TAG, "Skipping entry: key is not a String (" +
-							(rawKey != null ? rawKey.getClass().getName() : "null") + ")");
-					continue;
-				}
-
-				String key = (String) rawKey;
-				Object value = dict.get(key);
-
-				if (value == null) {
-					Log.w(LOG_TAG, "Skipping entry for key '" + key + "': value is null");
-					continue;
-				}
-
-				// Accept supported types
-				if (value instanceof Boolean) {
-					bundle.putBoolean(key, (Boolean) value);
-				} else if (value instanceof Integer) {
-					bundle.putInt(key, (Integer) value);
-				} else if (value instanceof Long) {
-					bundle.putLong(key, (Long) value);
-				} else if (value instanceof Float) {
-					bundle.putFloat(key, (Float) value);
-				} else if (value instanceof Double) {
-					bundle.putDouble(key, (Double) value);
-				} else if (value instanceof String) {
-					bundle.putString(key, (String) value);
-				} else {
-					Log.w(LOG_TAG, "Skipping key '" + key + "': unsupported value type " + value.getClass().getName());
-				}
-			}
-		}
+	/**
+	 * Length in seconds of the delivery window when precision is {@link #PRECISION_WINDOW}
+	 */
+	public int getPrecisionWindow() {
+		return precisionWindow;
+	}
 
-		return bundle;
+	public boolean hasRepeatTime() {
+		return (flags & FLAG_REPEAT_TIME) != 0;
 	}
 
 	/**
-	 * If enabled, app will be restarted when notification is opened
+	 * Local time of day of a calendar-based repeating notification, in minutes after midnight
 	 */
-	public boolean hasRestartAppOption() {
-		return data.containsKey(OPTION_KEY_RESTART_APP);
+	public int getRepeatTime() {
+		return repeatTime;
 	}
 
-	public void populateIntent(Intent intent) {
-		intent.putExtra(DATA_KEY_ID, this.getId());
-		intent.putExtra(DATA_KEY_CHANNEL_ID, this.getChannelId());
-		intent.putExtra(DATA_KEY_TITLE, this.getTitle());
-		intent.putExtra(DATA_KEY_CONTENT, this.getContent());
-		intent.putExtra(DATA_KEY_DELAY, this.getDelay());
-		intent.putExtra(DATA_KEY_SMALL_ICON_NAME, this.getSmallIconName());
+	/**
+	 * Days of the week on which a calendar-based repeating notification is delivered, as a bitmask with bit 0 for
+	 * Sunday through bit 6 for Saturday; 0 for every day
+	 */
+	public int getRepeatDays() {
+		return repeatDays;
+	}
 
-		if (this.hasLargeIconName()) {
-			intent.putExtra(DATA_KEY_LARGE_ICON_NAME, this.getLargeIconName());
-		}
+	/**
+	 * One of the {@code MISSED_*} values
+	 */
+	public int getMissedPolicy() {
+		return missedPolicy;
+	}
 
-		if (this.hasInterval()) {
-			intent.putExtra(DATA_KEY_INTERVAL, this.getInterval());
-		}
+	/**
+	 * A notification repeats either at a fixed interval or at a local time of day. The calendar rule takes precedence
+	 * if both are set.
+	 */
+	public boolean isRepeating() {
+		return hasRepeatTime() || (hasInterval() && interval > 0);
+	}
 
-		if (this.hasDeeplink()) {
-			intent.putExtra(DATA_KEY_DEEPLINK, this.getDeeplink());
-		}
+	public boolean hasCustomData() {
+		return customDataSource != null;
+	}
+
+	/**
+	 * Custom data in the form that it was decoded from
+	 */
+	Object getCustomDataSource() {
+		return customDataSource;
+	}
 
-		if (this.getBadgeCount() > 0) {
-			intent.putExtra(DATA_KEY_BADGE_COUNT, this.getBadgeCount());
+	public Dictionary getCustomData() {
+		Dictionary result = customData;
+		if (result == null && customDataSource != null) {
+			result = NotificationDataCodec.customDataToDictionary(customDataSource);
+			customData = result;
 		}
+		return result;
+	}
 
-		if (this.hasCustomData()) {
-			intent.putExtra(DATA_KEY_CUSTOM_DATA, this.getCustomDataBundle());
+	/**
+	 * Returns custom data as a bundle. The returned bundle is shared and must not be modified.
+	 */
+	public Bundle getCustomDataBundle() {
+		Bundle result = customDataBundle;
+		if (result == null) {
+			result = customDataSource == null ? new Bundle() : NotificationDataCodec.customDataToBundle(customDataSource);
+			customDataBundle = result;
 		}
+		return result;
+	}
 
-		if (this.hasRestartAppOption()) {
-			intent.putExtra(OPTION_KEY_RESTART_APP, true);
+	/**
+	 * If enabled, app will be restarted when notification is opened
+	 */
+	public boolean hasRestartAppOption() {
+		return restartApp;
+	}
+
+	public void populateIntent(Intent intent) {
+		NotificationDataCodec.writeToIntent(this, intent);
+	}
+
+	/**
+	 * @param payload binary form of this notification's data, or null to pass data as individual extras
+	 */
+	private void populateIntent(Intent intent, byte[] payload) {
+		if (payload == null) {
+			populateIntent(intent);
+		} else {
+			NotificationDataCodec.writePayloadToIntent(id, payload, intent);
 		}
 	}
 
 	public boolean isValid() {
-		return data.containsKey(DATA_KEY_ID) &&
-				data.containsKey(DATA_KEY_CHANNEL_ID) &&
-				data.containsKey(DATA_KEY_TITLE) &&
-				data.containsKey(DATA_KEY_CONTENT) &&
-				data.containsKey(DATA_KEY_SMALL_ICON_NAME) &&
-				data.containsKey(DATA_KEY_DELAY);
+		return hasId() &&
+				channelId != null &&
+				title != null &&
+				content != null &&
+				smallIconName != null &&
+				hasDelay() &&
+				(!hasRepeatTime() || (repeatTime >= 0 && repeatTime < MINUTES_PER_DAY));
 	}
 
 	public Notification buildNotification(Context context) {
+		return buildNotification(context, null);
+	}
+
+	/**
+	 * @param groupKey key of the group to add the notification to, or null. Notifications in a group do not alert, as
+	 *			the group's summary alerts instead.
+	 */
+	public Notification buildNotification(Context context, String groupKey) {
 		if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
-			Log.w(LOG_TAG, "buildNotification():: unable to process notification as current SDK is " +
+			PluginLog.w(LOG_TAG, "buildNotification():: unable to process notification as current SDK is " +
 					Build.VERSION.SDK_INT + " and required SDK is " + Build.VERSION_CODES.M);
 			return null;
 		}
 
 		if (Build.VERSION.SDK_INT > Build.VERSION_CODES.TIRAMISU &&
 				ActivityCompat.checkSelfPermission(context, Manifest.permission.POST_NOTIFICATIONS) != PackageManager.PERMISSION_GRANTED) {
-			Log.w(LOG_TAG, "buildNotification():: unable to build notification as " + Manifest.permission.POST_NOTIFICATIONS
+			PluginLog.w(LOG_TAG, "buildNotification():: unable to build notification as " + Manifest.permission.POST_NOTIFICATIONS
 					+ " permission is not granted");
 			return null;
 		}
 
-		Intent notificationActionIntent = new Intent(context, ResultActivity.class);
+		// Encoded once and shared by the content and delete intents
+		byte[] payload = NotificationSchedulerPlugin.getSettings(context).getIntentEncoding() == SchedulerSettings.INTENT_ENCODING_EXTRAS
+				? null : NotificationDataCodec.toBytes(this);
+
+		Intent notificationActionIntent = PendingIntentRegistry.createIntent(context, PendingIntentRegistry.KIND_CONTENT);
 		notificationActionIntent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK | Intent.FLAG_ACTIVITY_NO_HISTORY);
-		this.populateIntent(notificationActionIntent);
+		this.populateIntent(notificationActionIntent, payload);
 
-		Intent onDismissIntent = new Intent(context, CancelNotificationReceiver.class);
-		this.populateIntent(onDismissIntent);
-		PendingIntent onDismissPendingIntent = PendingIntent.getBroadcast(context, 0, onDismissIntent, PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
-		Log.i(LOG_TAG, String.format("%s():: received notification id:'%d' - channel id:%s - title:'%s' - content:'%s' - small icon name:'%s",
-				"onReceive", this.getId(), this.getChannelId(), this.getTitle(), this.getContent(), this.getSmallIconName()));
+		Intent onDismissIntent = PendingIntentRegistry.createIntent(context, PendingIntentRegistry.KIND_DISMISS);
+		this.populateIntent(onDismissIntent, payload);
+		PendingIntent onDismissPendingIntent = PendingIntentRegistry.get(context, PendingIntentRegistry.KIND_DISMISS, this.getId(), onDismissIntent);
+		if (PluginLog.isLoggable(PluginLog.LEVEL_INFO)) {
+			PluginLog.i(LOG_TAG, String.format("%s():: received notification id:'%d' - channel id:%s - title:'%s' - content:'%s' - small icon name:'%s",
+					"onReceive", this.getId(), this.getChannelId(), this.getTitle(), this.getContent(), this.getSmallIconName()));
+		}
 
-		PendingIntent pendingIntent = PendingIntent.getActivity(context, 0, notificationActionIntent, PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+		PendingIntent pendingIntent = PendingIntentRegistry.get(context, PendingIntentRegistry.KIND_CONTENT, this.getId(), notificationActionIntent);
 
-		Resources resources = context.getResources();
+		IconCache iconCache = IconCache.getInstance(context);
 		NotificationCompat.Builder notificationBuilder = new NotificationCompat.Builder(context, this.getChannelId())
-				.setSmallIcon(resources.getIdentifier(this.getSmallIconName(), ICON_RESOURCE_TYPE, context.getPackageName()))
+				.setSmallIcon(iconCache.getResourceId(context, this.getSmallIconName()))
 				.setContentTitle(this.getTitle())
 				.setContentText(this.getContent())
 				.setPriority(NotificationCompat.PRIORITY_DEFAULT)
@@ -372,25 +357,9 @@ public class NotificationData {
 				.setAutoCancel(true);
 
 		if (this.hasLargeIconName()) {
-			int largeIconId = resources.getIdentifier(this.getLargeIconName(), ICON_RESOURCE_TYPE, context.getPackageName());
-			
-			if (largeIconId != 0) {
-				// Use Context to load the drawable (supports Vectors correctly)
-				Drawable drawable = null;
-				try {
-					drawable = context.getDrawable(largeIconId);
-				} catch (Resources.NotFoundException e) {
-					Log.w(LOG_TAG, "Resource not found for large icon: " + this.getLargeIconName());
-				}
-
-				if (drawable != null) {
-					Bitmap largeIconBitmap = drawableToBitmap(drawable);
-					notificationBuilder.setLargeIcon(largeIconBitmap);
-				} else {
-					Log.w(LOG_TAG, "Could not load drawable for large icon: " + this.getLargeIconName());
-				}
-			} else {
-				Log.w(LOG_TAG, "Large icon resource ID not found for name: " + this.getLargeIconName());
+			Bitmap largeIconBitmap = iconCache.getLargeIcon(context, this.getLargeIconName());
+			if (largeIconBitmap != null) {
+				notificationBuilder.setLargeIcon(largeIconBitmap);
 			}
 		}
 
@@ -398,32 +367,173 @@ public class NotificationData {
 			notificationBuilder.setNumber(this.getBadgeCount());
 		}
 
+		if (groupKey != null) {
+			notificationBuilder.setGroup(groupKey)
+					.setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_SUMMARY);
+		}
+
 		return notificationBuilder.build();
 	}
 
-	private Bitmap drawableToBitmap(Drawable drawable) {
-		if (drawable instanceof BitmapDrawable) {
-			return ((BitmapDrawable) drawable).getBitmap();
+	/**
+	 * Returns the Godot dictionary representation, which is built on first use
+	 */
+	public Dictionary getRawData() {
+		Dictionary result = rawData;
+		if (result == null) {
+			result = NotificationDataCodec.toDictionary(this);
+			rawData = result;
 		}
+		return result;
+	}
+
+	public Builder toBuilder() {
+		Builder builder = new Builder();
+		builder.flags = flags;
+		builder.id = id;
+		builder.delay = delay;
+		builder.interval = interval;
+		builder.badgeCount = badgeCount;
+		builder.precision = precision;
+		builder.precisionWindow = precisionWindow;
+		builder.repeatTime = repeatTime;
+		builder.repeatDays = repeatDays;
+		builder.missedPolicy = missedPolicy;
+		builder.channelId = channelId;
+		builder.title = title;
+		builder.content = content;
+		builder.smallIconName = smallIconName;
+		builder.largeIconName = largeIconName;
+		builder.deeplink = deeplink;
+		builder.restartApp = restartApp;
+		builder.customDataSource = customDataSource;
+		return builder;
+	}
 
-		// Handle VectorDrawables and other XML drawables
-		int width = drawable.getIntrinsicWidth();
-		int height = drawable.getIntrinsicHeight();
-		
-		// Default to a square if intrinsic size is missing (edge case for some XML shapes)
-		if (width <= 0 || height <= 0) {
-			width = DEFAULT_LARGE_ICON_WIDTH; 
-			height = DEFAULT_LARGE_ICON_HEIGHT;
+	public static final class Builder {
+		private int flags;
+		private int id;
+		private int delay;
+		private int interval;
+		private int badgeCount;
+		private int precision = PRECISION_EXACT;
+		private int precisionWindow;
+		private int repeatTime;
+		private int repeatDays;
+		private int missedPolicy = MISSED_COLLAPSE;
+		private String channelId;
+		private String title;
+		private String content;
+		private String smallIconName;
+		private String largeIconName;
+		private String deeplink;
+		private boolean restartApp;
+		private Object customDataSource;
+		private Dictionary rawData;
+
+		public Builder setId(int id) {
+			this.id = id;
+			this.flags |= FLAG_ID;
+			return this;
 		}
 
-		Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-		Canvas canvas = new Canvas(bitmap);
-		drawable.setBounds(0, 0, canvas.getWidth(), canvas.getHeight());
-		drawable.draw(canvas);
-		return bitmap;
-	}
+		public Builder setChannelId(String channelId) {
+			this.channelId = channelId;
+			return this;
+		}
 
-	public Dictionary getRawData() {
-		return data;
+		public Builder setTitle(String title) {
+			this.title = title;
+			return this;
+		}
+
+		public Builder setContent(String content) {
+			this.content = content;
+			return this;
+		}
+
+		public Builder setSmallIconName(String smallIconName) {
+			this.smallIconName = smallIconName;
+			return this;
+		}
+
+		public Builder setLargeIconName(String largeIconName) {
+			this.largeIconName = largeIconName;
+			return this;
+		}
+
+		public Builder setDelay(int delay) {
+			this.delay = delay;
+			this.flags |= FLAG_DELAY;
+			return this;
+		}
+
+		public Builder setDeeplink(String deeplink) {
+			this.deeplink = deeplink;
+			return this;
+		}
+
+		public Builder setInterval(int interval) {
+			this.interval = interval;
+			this.flags |= FLAG_INTERVAL;
+			return this;
+		}
+
+		public Builder setBadgeCount(int badgeCount) {
+			this.badgeCount = badgeCount;
+			this.flags |= FLAG_BADGE_COUNT;
+			return this;
+		}
+
+		public Builder setPrecision(int precision) {
+			this.precision = precision;
+			return this;
+		}
+
+		public Builder setPrecisionWindow(int precisionWindow) {
+			this.precisionWindow = precisionWindow;
+			return this;
+		}
+
+		public Builder setRepeatTime(int repeatTime) {
+			this.repeatTime = repeatTime;
+			this.flags |= FLAG_REPEAT_TIME;
+			return this;
+		}
+
+		public Builder setRepeatDays(int repeatDays) {
+			this.repeatDays = repeatDays;
+			return this;
+		}
+
+		public Builder setMissedPolicy(int missedPolicy) {
+			this.missedPolicy = missedPolicy;
+			return this;
+		}
+
+		public Builder setRestartApp(boolean restartApp) {
+			this.restartApp = restartApp;
+			return this;
+		}
+
+		/**
+		 * @param customData Dictionary, JSONObject, Bundle or custom data encoded by {@link NotificationDataCodec}
+		 */
+		public Builder setCustomData(Object customData) {
+			this.customDataSource = customData;
+			return this;
+		}
+
+		/**
+		 * Dictionary that the data was decoded from, to be reused by {@link NotificationData#getRawData()}
+		 */
+		Builder setRawData(Dictionary rawData) {
+			this.rawData = rawData;
+			return this;
+		}
+
+		public NotificationData build() {
+			return new NotificationData(this);
+		}
 	}
 }
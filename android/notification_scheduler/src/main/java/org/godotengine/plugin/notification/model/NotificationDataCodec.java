@@ -0,0 +1,754 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.model;
+
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_BADGE_COUNT;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_CHANNEL_ID;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_CONTENT;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_CUSTOM_DATA;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_DEEPLINK;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_DELAY;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_ID;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_INTERVAL;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_LARGE_ICON_NAME;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_MISSED_POLICY;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_PRECISION;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_PRECISION_WINDOW;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_REPEAT_DAYS;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_REPEAT_TIME;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_SMALL_ICON_NAME;
+import static org.godotengine.plugin.notification.model.NotificationData.DATA_KEY_TITLE;
+import static org.godotengine.plugin.notification.model.NotificationData.MISSED_COLLAPSE;
+import static org.godotengine.plugin.notification.model.NotificationData.OPTION_KEY_RESTART_APP;
+import static org.godotengine.plugin.notification.model.NotificationData.PRECISION_EXACT;
+
+import android.content.Intent;
+import android.os.Bundle;
+
+import org.godotengine.godot.Dictionary;
+import org.godotengine.plugin.notification.NotificationSchedulerPlugin;
+import org.godotengine.plugin.notification.PluginLog;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Converts {@link NotificationData} to and from Godot dictionaries, JSON, intent extras and a compact binary form.
+ *
+ * <p>All formats share the field mapping in {@link #read(FieldReader)} and {@link #write(NotificationData, FieldWriter)},
+ * and only differ in how a single field is read or written.
+ *
+ * <p>Binary form: a version byte, followed by tagged fields and {@link #TAG_END}. Integers are 4 bytes and strings are
+ * a 4-byte length followed by UTF-8 bytes, both big-endian. The restart option has no value. Custom data is a 4-byte
+ * length followed by a 2-byte entry count and entries of key, type byte and value.
+ *
+ * <p>In intents, the binary form is passed in the {@link #EXTRA_PAYLOAD} extra along with the notification ID extra.
+ * {@link #fromIntent(Intent)} accepts both binary and per-field intents.
+ */
+public final class NotificationDataCodec {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + NotificationDataCodec.class.getSimpleName();
+
+	public static final String EXTRA_PAYLOAD = "notification_payload";
+
+	private static final byte BINARY_VERSION = 1;
+
+	private static final byte TAG_END = 0;
+	private static final byte TAG_ID = 1;
+	private static final byte TAG_CHANNEL_ID = 2;
+	private static final byte TAG_TITLE = 3;
+	private static final byte TAG_CONTENT = 4;
+	private static final byte TAG_SMALL_ICON_NAME = 5;
+	private static final byte TAG_LARGE_ICON_NAME = 6;
+	private static final byte TAG_DELAY = 7;
+	private static final byte TAG_DEEPLINK = 8;
+	private static final byte TAG_INTERVAL = 9;
+	private static final byte TAG_BADGE_COUNT = 10;
+	private static final byte TAG_CUSTOM_DATA = 11;
+	private static final byte TAG_RESTART_APP = 12;
+	private static final byte TAG_PRECISION = 13;
+	private static final byte TAG_PRECISION_WINDOW = 14;
+	private static final byte TAG_REPEAT_TIME = 15;
+	private static final byte TAG_REPEAT_DAYS = 16;
+	private static final byte TAG_MISSED_POLICY = 17;
+	private static final int TAG_COUNT = 18;
+
+	private static final byte TYPE_BOOLEAN = 1;
+	private static final byte TYPE_INT = 2;
+	private static final byte TYPE_LONG = 3;
+	private static final byte TYPE_FLOAT = 4;
+	private static final byte TYPE_DOUBLE = 5;
+	private static final byte TYPE_STRING = 6;
+
+	private NotificationDataCodec() {
+	}
+
+	/**
+	 * Reads single fields of an encoded notification
+	 */
+	interface FieldReader {
+		boolean has(String key);
+		int getInt(String key);
+		String getString(String key);
+
+		/**
+		 * Returns custom data in a form accepted by {@link NotificationData.Builder#setCustomData(Object)}, or null
+		 */
+		Object getCustomData(String key);
+	}
+
+	/**
+	 * Writes single fields of an encoded notification
+	 */
+	interface FieldWriter {
+		void putInt(String key, int value);
+		void putString(String key, String value);
+		void putBoolean(String key, boolean value);
+		void putCustomData(String key, NotificationData data);
+	}
+
+	static NotificationData.Builder read(FieldReader reader) {
+		NotificationData.Builder builder = new NotificationData.Builder();
+
+		if (reader.has(DATA_KEY_ID)) {
+			builder.setId(reader.getInt(DATA_KEY_ID));
+		}
+		if (reader.has(DATA_KEY_CHANNEL_ID)) {
+			builder.setChannelId(reader.getString(DATA_KEY_CHANNEL_ID));
+		}
+		if (reader.has(DATA_KEY_TITLE)) {
+			builder.setTitle(reader.getString(DATA_KEY_TITLE));
+		}
+		if (reader.has(DATA_KEY_CONTENT)) {
+			builder.setContent(reader.getString(DATA_KEY_CONTENT));
+		}
+		if (reader.has(DATA_KEY_SMALL_ICON_NAME)) {
+			builder.setSmallIconName(reader.getString(DATA_KEY_SMALL_ICON_NAME));
+		}
+		if (reader.has(DATA_KEY_LARGE_ICON_NAME)) {
+			builder.setLargeIconName(reader.getString(DATA_KEY_LARGE_ICON_NAME));
+		}
+		if (reader.has(DATA_KEY_DELAY)) {
+			builder.setDelay(reader.getInt(DATA_KEY_DELAY));
+		}
+		if (reader.has(DATA_KEY_DEEPLINK)) {
+			builder.setDeeplink(reader.getString(DATA_KEY_DEEPLINK));
+		}
+		if (reader.has(DATA_KEY_INTERVAL)) {
+			builder.setInterval(reader.getInt(DATA_KEY_INTERVAL));
+		}
+		if (reader.has(DATA_KEY_BADGE_COUNT)) {
+			builder.setBadgeCount(reader.getInt(DATA_KEY_BADGE_COUNT));
+		}
+		if (reader.has(DATA_KEY_CUSTOM_DATA)) {
+			builder.setCustomData(reader.getCustomData(DATA_KEY_CUSTOM_DATA));
+		}
+		if (reader.has(OPTION_KEY_RESTART_APP)) {
+			builder.setRestartApp(true);
+		}
+		if (reader.has(DATA_KEY_PRECISION)) {
+			builder.setPrecision(reader.getInt(DATA_KEY_PRECISION));
+		}
+		if (reader.has(DATA_KEY_PRECISION_WINDOW)) {
+			builder.setPrecisionWindow(reader.getInt(DATA_KEY_PRECISION_WINDOW));
+		}
+		if (reader.has(DATA_KEY_REPEAT_TIME)) {
+			builder.setRepeatTime(reader.getInt(DATA_KEY_REPEAT_TIME));
+		}
+		if (reader.has(DATA_KEY_REPEAT_DAYS)) {
+			builder.setRepeatDays(reader.getInt(DATA_KEY_REPEAT_DAYS));
+		}
+		if (reader.has(DATA_KEY_MISSED_POLICY)) {
+			builder.setMissedPolicy(reader.getInt(DATA_KEY_MISSED_POLICY));
+		}
+
+		return builder;
+	}
+
+	static void write(NotificationData data, FieldWriter writer) {
+		if (data.hasId()) {
+			writer.putInt(DATA_KEY_ID, data.getId());
+		}
+		if (data.getChannelId() != null) {
+			writer.putString(DATA_KEY_CHANNEL_ID, data.getChannelId());
+		}
+		if (data.getTitle() != null) {
+			writer.putString(DATA_KEY_TITLE, data.getTitle());
+		}
+		if (data.getContent() != null) {
+			writer.putString(DATA_KEY_CONTENT, data.getContent());
+		}
+		if (data.getSmallIconName() != null) {
+			writer.putString(DATA_KEY_SMALL_ICON_NAME, data.getSmallIconName());
+		}
+		if (data.hasLargeIconName()) {
+			writer.putString(DATA_KEY_LARGE_ICON_NAME, data.getLargeIconName());
+		}
+		if (data.hasDelay()) {
+			writer.putInt(DATA_KEY_DELAY, data.getDelay());
+		}
+		if (data.hasDeeplink()) {
+			writer.putString(DATA_KEY_DEEPLINK, data.getDeeplink());
+		}
+		if (data.hasInterval()) {
+			writer.putInt(DATA_KEY_INTERVAL, data.getInterval());
+		}
+		if (data.hasBadgeCount()) {
+			writer.putInt(DATA_KEY_BADGE_COUNT, data.getBadgeCount());
+		}
+		if (data.hasCustomData()) {
+			writer.putCustomData(DATA_KEY_CUSTOM_DATA, data);
+		}
+		if (data.hasRestartAppOption()) {
+			writer.putBoolean(OPTION_KEY_RESTART_APP, true);
+		}
+		// Exact delivery is the default, so it is not written
+		if (data.getPrecision() != PRECISION_EXACT) {
+			writer.putInt(DATA_KEY_PRECISION, data.getPrecision());
+		}
+		if (data.getPrecisionWindow() > 0) {
+			writer.putInt(DATA_KEY_PRECISION_WINDOW, data.getPrecisionWindow());
+		}
+		if (data.hasRepeatTime()) {
+			writer.putInt(DATA_KEY_REPEAT_TIME, data.getRepeatTime());
+		}
+		if (data.getRepeatDays() != 0) {
+			writer.putInt(DATA_KEY_REPEAT_DAYS, data.getRepeatDays());
+		}
+		if (data.getMissedPolicy() != MISSED_COLLAPSE) {
+			writer.putInt(DATA_KEY_MISSED_POLICY, data.getMissedPolicy());
+		}
+	}
+
+	public static NotificationData fromDictionary(final Dictionary dictionary) {
+		return read(new FieldReader() {
+			@Override
+			public boolean has(String key) {
+				return dictionary.get(key) != null;
+			}
+
+			@Override
+			public int getInt(String key) {
+				return ((Number) dictionary.get(key)).intValue();
+			}
+
+			@Override
+			public String getString(String key) {
+				return (String) dictionary.get(key);
+			}
+
+			@Override
+			public Object getCustomData(String key) {
+				Object customData = dictionary.get(key);
+				if (customData instanceof Dictionary) {
+					return customData;
+				}
+				PluginLog.w(LOG_TAG, "Unexpected custom data type (" + customData.getClass().getName() + "). Skipping.");
+				return null;
+			}
+		}).setRawData(dictionary).build();
+	}
+
+	public static Dictionary toDictionary(NotificationData data) {
+		final Dictionary dictionary = new Dictionary();
+		write(data, new FieldWriter() {
+			@Override
+			public void putInt(String key, int value) {
+				dictionary.put(key, value);
+			}
+
+			@Override
+			public void putString(String key, String value) {
+				dictionary.put(key, value);
+			}
+
+			@Override
+			public void putBoolean(String key, boolean value) {
+				dictionary.put(key, value);
+			}
+
+			@Override
+			public void putCustomData(String key, NotificationData data) {
+				dictionary.put(key, data.getCustomData());
+			}
+		});
+		return dictionary;
+	}
+
+	public static NotificationData fromJson(final JSONObject json) {
+		return read(new FieldReader() {
+			@Override
+			public boolean has(String key) {
+				return json.has(key);
+			}
+
+			@Override
+			public int getInt(String key) {
+				return json.optInt(key, -1);
+			}
+
+			@Override
+			public String getString(String key) {
+				return json.optString(key, null);
+			}
+
+			@Override
+			public Object getCustomData(String key) {
+				Object customData = json.opt(key);
+				if (customData instanceof JSONObject) {
+					return customData;
+				}
+				PluginLog.w(LOG_TAG, "Unexpected custom data type (" + customData.getClass().getName() + "). Skipping.");
+				return null;
+			}
+		}).build();
+	}
+
+	public static JSONObject toJson(NotificationData data) {
+		final JSONObject json = new JSONObject();
+		write(data, new FieldWriter() {
+			@Override
+			public void putInt(String key, int value) {
+				putJson(json, key, value);
+			}
+
+			@Override
+			public void putString(String key, String value) {
+				putJson(json, key, value);
+			}
+
+			@Override
+			public void putBoolean(String key, boolean value) {
+				putJson(json, key, value);
+			}
+
+			@Override
+			public void putCustomData(String key, NotificationData data) {
+				Object source = data.getCustomDataSource();
+				putJson(json, key, source instanceof JSONObject ? source : new JSONObject(data.getCustomData()));
+			}
+		});
+		return json;
+	}
+
+	private static void putJson(JSONObject json, String key, Object value) {
+		try {
+			json.put(key, value);
+		} catch (JSONException e) {
+			// Only thrown for null keys and non-finite numbers, neither of which are written
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	public static NotificationData fromIntent(final Intent intent) {
+		byte[] payload = intent.getByteArrayExtra(EXTRA_PAYLOAD);
+		if (payload != null) {
+			try {
+				return fromBytes(payload);
+			} catch (IllegalArgumentException e) {
+				PluginLog.e(LOG_TAG, "Failed to decode notification payload. Reading extras instead.", e);
+			}
+		}
+
+		return read(new FieldReader() {
+			@Override
+			public boolean has(String key) {
+				return intent.hasExtra(key);
+			}
+
+			@Override
+			public int getInt(String key) {
+				return intent.getIntExtra(key, -1);
+			}
+
+			@Override
+			public String getString(String key) {
+				return intent.getStringExtra(key);
+			}
+
+			@Override
+			public Object getCustomData(String key) {
+				Bundle bundle = intent.getBundleExtra(key);
+				if (bundle == null) {
+					PluginLog.w(LOG_TAG, "Custom data bundle is null. Skipping.");
+				}
+				return bundle;
+			}
+		}).build();
+	}
+
+	public static void writeToIntent(NotificationData data, final Intent intent) {
+		write(data, new FieldWriter() {
+			@Override
+			public void putInt(String key, int value) {
+				intent.putExtra(key, value);
+			}
+
+			@Override
+			public void putString(String key, String value) {
+				intent.putExtra(key, value);
+			}
+
+			@Override
+			public void putBoolean(String key, boolean value) {
+				intent.putExtra(key, value);
+			}
+
+			@Override
+			public void putCustomData(String key, NotificationData data) {
+				intent.putExtra(key, data.getCustomDataBundle());
+			}
+		});
+	}
+
+	/**
+	 * Writes notification data in binary form, as a single extra
+	 *
+	 * @param payload notification data encoded by {@link #toBytes(NotificationData)}
+	 */
+	public static void writePayloadToIntent(int notificationId, byte[] payload, Intent intent) {
+		// The ID is also passed separately, as receivers check for it before decoding
+		intent.putExtra(DATA_KEY_ID, notificationId);
+		intent.putExtra(EXTRA_PAYLOAD, payload);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the data is not in a supported binary form
+	 */
+	public static NotificationData fromBytes(byte[] bytes) {
+		return fromBytes(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the data is not in a supported binary form
+	 */
+	public static NotificationData fromBytes(byte[] bytes, int offset, int length) {
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+		final int[] offsets = new int[TAG_COUNT];
+		Arrays.fill(offsets, -1);
+
+		try {
+			byte version = buffer.get();
+			if (version != BINARY_VERSION) {
+				throw new IllegalArgumentException("Unsupported binary version: " + version);
+			}
+
+			// Record the offset of each field's value, so that fields are only decoded once read
+			byte tag;
+			while ((tag = buffer.get()) != TAG_END) {
+				if (tag < 0 || tag >= TAG_COUNT) {
+					throw new IllegalArgumentException("Unknown field tag: " + tag);
+				}
+				offsets[tag] = buffer.position();
+				switch (tag) {
+					case TAG_ID:
+					case TAG_DELAY:
+					case TAG_INTERVAL:
+					case TAG_BADGE_COUNT:
+					case TAG_PRECISION:
+					case TAG_PRECISION_WINDOW:
+					case TAG_REPEAT_TIME:
+					case TAG_REPEAT_DAYS:
+					case TAG_MISSED_POLICY:
+						buffer.position(buffer.position() + Integer.BYTES);
+						break;
+					case TAG_RESTART_APP:
+						break;
+					default:
+						int valueLength = buffer.getInt();
+						buffer.position(buffer.position() + valueLength);
+				}
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Malformed notification data: " + e.getMessage(), e);
+		}
+
+		return read(new FieldReader() {
+			@Override
+			public boolean has(String key) {
+				return offsets[tagOf(key)] >= 0;
+			}
+
+			@Override
+			public int getInt(String key) {
+				return buffer.getInt(offsets[tagOf(key)]);
+			}
+
+			@Override
+			public String getString(String key) {
+				int position = offsets[tagOf(key)];
+				return new String(bytes, position + Integer.BYTES, buffer.getInt(position), StandardCharsets.UTF_8);
+			}
+
+			@Override
+			public Object getCustomData(String key) {
+				int position = offsets[tagOf(key)];
+				int start = position + Integer.BYTES;
+				return Arrays.copyOfRange(bytes, start, start + buffer.getInt(position));
+			}
+		}).build();
+	}
+
+	public static byte[] toBytes(NotificationData data) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		final DataOutputStream out = new DataOutputStream(bytes);
+
+		try {
+			out.writeByte(BINARY_VERSION);
+			write(data, new FieldWriter() {
+				@Override
+				public void putInt(String key, int value) {
+					try {
+						out.writeByte(tagOf(key));
+						out.writeInt(value);
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+
+				@Override
+				public void putString(String key, String value) {
+					try {
+						out.writeByte(tagOf(key));
+						writeString(out, value);
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+
+				@Override
+				public void putBoolean(String key, boolean value) {
+					try {
+						out.writeByte(tagOf(key));
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+
+				@Override
+				public void putCustomData(String key, NotificationData data) {
+					Object source = data.getCustomDataSource();
+					byte[] customData = source instanceof byte[] ? (byte[]) source : encodeCustomData(data.getCustomData());
+					try {
+						out.writeByte(tagOf(key));
+						out.writeInt(customData.length);
+						out.write(customData);
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			});
+			out.writeByte(TAG_END);
+		} catch (IOException e) {
+			// Not thrown by ByteArrayOutputStream
+			throw new IllegalStateException(e);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private static byte tagOf(String key) {
+		switch (key) {
+			case DATA_KEY_ID: return TAG_ID;
+			case DATA_KEY_CHANNEL_ID: return TAG_CHANNEL_ID;
+			case DATA_KEY_TITLE: return TAG_TITLE;
+			case DATA_KEY_CONTENT: return TAG_CONTENT;
+			case DATA_KEY_SMALL_ICON_NAME: return TAG_SMALL_ICON_NAME;
+			case DATA_KEY_LARGE_ICON_NAME: return TAG_LARGE_ICON_NAME;
+			case DATA_KEY_DELAY: return TAG_DELAY;
+			case DATA_KEY_DEEPLINK: return TAG_DEEPLINK;
+			case DATA_KEY_INTERVAL: return TAG_INTERVAL;
+			case DATA_KEY_BADGE_COUNT: return TAG_BADGE_COUNT;
+			case DATA_KEY_CUSTOM_DATA: return TAG_CUSTOM_DATA;
+			case OPTION_KEY_RESTART_APP: return TAG_RESTART_APP;
+			case DATA_KEY_PRECISION: return TAG_PRECISION;
+			case DATA_KEY_PRECISION_WINDOW: return TAG_PRECISION_WINDOW;
+			case DATA_KEY_REPEAT_TIME: return TAG_REPEAT_TIME;
+			case DATA_KEY_REPEAT_DAYS: return TAG_REPEAT_DAYS;
+			case DATA_KEY_MISSED_POLICY: return TAG_MISSED_POLICY;
+			default: throw new IllegalArgumentException("Unknown key: " + key);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+
+	private static byte[] encodeCustomData(Dictionary customData) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		DataOutputStream out = new DataOutputStream(bytes);
+		int count = 0;
+
+		try {
+			out.writeShort(0); // count placeholder
+			for (Map.Entry<String, Object> entry : customData.entrySet()) {
+				String key = entry.getKey();
+				Object value = entry.getValue();
+
+				if (key == null || value == null) {
+					PluginLog.w(LOG_TAG, "Skipping custom data entry with null key or value");
+					continue;
+				}
+
+				if (value instanceof Boolean) {
+					writeString(out, key);
+					out.writeByte(TYPE_BOOLEAN);
+					out.writeBoolean((Boolean) value);
+				} else if (value instanceof Integer) {
+					writeString(out, key);
+					out.writeByte(TYPE_INT);
+					out.writeInt((Integer) value);
+				} else if (value instanceof Long) {
+					writeString(out, key);
+					out.writeByte(TYPE_LONG);
+					out.writeLong((Long) value);
+				} else if (value instanceof Float) {
+					writeString(out, key);
+					out.writeByte(TYPE_FLOAT);
+					out.writeFloat((Float) value);
+				} else if (value instanceof Double) {
+					writeString(out, key);
+					out.writeByte(TYPE_DOUBLE);
+					out.writeDouble((Double) value);
+				} else if (value instanceof String) {
+					writeString(out, key);
+					out.writeByte(TYPE_STRING);
+					writeString(out, (String) value);
+				} else {
+					PluginLog.w(LOG_TAG, "Skipping key '" + key + "': unsupported value type " + value.getClass().getName());
+					continue;
+				}
+				count++;
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+
+		byte[] result = bytes.toByteArray();
+		result[0] = (byte) (count >> 8);
+		result[1] = (byte) count;
+		return result;
+	}
+
+	private static void decodeCustomData(byte[] encoded, Dictionary dictionary) {
+		ByteBuffer buffer = ByteBuffer.wrap(encoded);
+
+		try {
+			int count = buffer.getShort() & 0xFFFF;
+			for (int i = 0; i < count; i++) {
+				String key = readString(buffer);
+				byte type = buffer.get();
+				switch (type) {
+					case TYPE_BOOLEAN:
+						dictionary.put(key, buffer.get() != 0);
+						break;
+					case TYPE_INT:
+						dictionary.put(key, buffer.getInt());
+						break;
+					case TYPE_LONG:
+						dictionary.put(key, buffer.getLong());
+						break;
+					case TYPE_FLOAT:
+						dictionary.put(key, buffer.getFloat());
+						break;
+					case TYPE_DOUBLE:
+						dictionary.put(key, buffer.getDouble());
+						break;
+					case TYPE_STRING:
+						dictionary.put(key, readString(buffer));
+						break;
+					default:
+						PluginLog.w(LOG_TAG, "Unknown custom data type " + type + " for key '" + key + "'. Skipping remaining entries.");
+						return;
+				}
+			}
+		} catch (RuntimeException e) {
+			// Custom data is decoded lazily, so malformed data must not throw from NotificationData#getRawData()
+			PluginLog.e(LOG_TAG, "Malformed custom data. Skipping remaining entries.", e);
+		}
+	}
+
+	static Dictionary customDataToDictionary(Object source) {
+		if (source instanceof Dictionary) {
+			return (Dictionary) source;
+		}
+
+		Dictionary dictionary = new Dictionary();
+		if (source instanceof JSONObject) {
+			JSONObject json = (JSONObject) source;
+			Iterator<String> keys = json.keys();
+			while (keys.hasNext()) {
+				String key = keys.next();
+				dictionary.put(key, json.opt(key));
+			}
+		} else if (source instanceof Bundle) {
+			Bundle bundle = (Bundle) source;
+			for (String key : bundle.keySet()) {
+				@SuppressWarnings("deprecation")
+				Object value = bundle.get(key);
+				dictionary.put(key, value);
+			}
+		} else if (source instanceof byte[]) {
+			decodeCustomData((byte[]) source, dictionary);
+		}
+		return dictionary;
+	}
+
+	static Bundle customDataToBundle(Object source) {
+		if (source instanceof Bundle) {
+			return (Bundle) source;
+		}
+
+		Bundle bundle = new Bundle();
+		for (Map.Entry<String, Object> entry : customDataToDictionary(source).entrySet()) {
+			String key = entry.getKey();
+			Object value = entry.getValue();
+
+			if (value == null) {
+				PluginLog.w(LOG_TAG, "Skipping entry for key '" + key + "': value is null");
+				continue;
+			}
+
+			// Accept supported types
+			if (value instanceof Boolean) {
+				bundle.putBoolean(key, (Boolean) value);
+			} else if (value instanceof Integer) {
+				bundle.putInt(key, (Integer) value);
+			} else if (value instanceof Long) {
+				bundle.putLong(key, (Long) value);
+			} else if (value instanceof Float) {
+				bundle.putFloat(key, (Float) value);
+			} else if (value instanceof Double) {
+				bundle.putDouble(key, (Double) value);
+			} else if (value instanceof String) {
+				bundle.putString(key, (String) value);
+			} else {
+				PluginLog.w(LOG_TAG, "Skipping key '" + key + "': unsupported value type " + value.getClass().getName());
+			}
+		}
+		return bundle;
+	}
+}
@@ -0,0 +1,50 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.model;
+
+/**
+ * A notification that has been persisted by the schedule store along with its absolute fire time.
+ */
+public class ScheduledNotification {
+
+	private final int id;
+	private final NotificationData data;
+	private final long fireTime;
+	private final long occurrenceTime;
+
+	public ScheduledNotification(int id, NotificationData data, long fireTime) {
+		this(id, data, fireTime, fireTime);
+	}
+
+	public ScheduledNotification(int id, NotificationData data, long fireTime, long occurrenceTime) {
+		this.id = id;
+		this.data = data;
+		this.fireTime = fireTime;
+		this.occurrenceTime = occurrenceTime;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public NotificationData getData() {
+		return data;
+	}
+
+	/**
+	 * Absolute time (milliseconds since epoch) when the notification is due
+	 */
+	public long getFireTime() {
+		return fireTime;
+	}
+
+	/**
+	 * Absolute time (milliseconds since epoch) of the occurrence before quiet hours were applied to it. Differs from
+	 * the fire time when the occurrence was shifted to the end of quiet hours.
+	 */
+	public long getOccurrenceTime() {
+		return occurrenceTime;
+	}
+}
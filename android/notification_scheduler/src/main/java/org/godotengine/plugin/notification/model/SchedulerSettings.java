@@ -0,0 +1,223 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.model;
+
+import org.godotengine.godot.Dictionary;
+import org.godotengine.plugin.notification.store.ConfigMap;
+
+/**
+ * Plugin-wide settings passed to {@code initialize()}. Settings are persisted in a {@link ConfigMap}, so that they also
+ * apply to the receivers that run while the app is not running or in a process of their own.
+ */
+public class SchedulerSettings {
+
+	public static final String DATA_KEY_ALARM_MODE = "alarm_mode";
+	public static final String DATA_KEY_SCHEDULE_STORE = "schedule_store";
+	public static final String DATA_KEY_REPLAY_MODE = "replay_mode";
+	public static final String DATA_KEY_REPLAY_EVENTS_PER_FRAME = "replay_events_per_frame";
+	public static final String DATA_KEY_INTENT_ENCODING = "intent_encoding";
+	public static final String DATA_KEY_LOG_LEVEL = "log_level";
+	public static final String DATA_KEY_EVENT_DELIVERY = "event_delivery";
+	public static final String DATA_KEY_QUOTA_DAILY_CAP = "quota_daily_cap";
+	public static final String DATA_KEY_QUOTA_MIN_SPACING = "quota_min_spacing";
+	public static final String DATA_KEY_QUOTA_ACTION = "quota_action";
+	public static final String DATA_KEY_QUIET_HOURS_START = "quiet_hours_start";
+	public static final String DATA_KEY_QUIET_HOURS_END = "quiet_hours_end";
+	public static final String DATA_KEY_QUIET_HOURS_POLICY = "quiet_hours_policy";
+	public static final String DATA_KEY_QUIET_HOURS_TIME_ZONE = "quiet_hours_time_zone";
+
+	/** One alarm is registered for each scheduled notification */
+	public static final int ALARM_MODE_PER_NOTIFICATION = 0;
+	/** A single alarm is registered for the earliest scheduled notification */
+	public static final int ALARM_MODE_NEXT_DUE = 1;
+
+	public static final int SCHEDULE_STORE_JOURNAL = 0;
+	public static final int SCHEDULE_STORE_PREFERENCES = 1;
+
+	/** Stored events are emitted synchronously when the app starts */
+	public static final int REPLAY_MODE_IMMEDIATE = 0;
+	/** Stored events are emitted a bounded number per frame */
+	public static final int REPLAY_MODE_PER_FRAME = 1;
+	/** Stored events are emitted in a single batch signal */
+	public static final int REPLAY_MODE_BATCH = 2;
+
+	/** Notification data is passed as individual intent extras */
+	public static final int INTENT_ENCODING_EXTRAS = 0;
+	/** Notification data is passed as a single binary intent extra */
+	public static final int INTENT_ENCODING_BINARY = 1;
+	/** Alarm intents only pass the notification ID and data is read from the schedule store when the alarm fires */
+	public static final int INTENT_ENCODING_STORE_KEY = 2;
+
+	/** Each event is emitted with its own signal */
+	public static final int EVENT_DELIVERY_SIGNALS = 0;
+	/** Events are queued until they are drained with {@code drain_events()} */
+	public static final int EVENT_DELIVERY_POLL = 1;
+	/** Events are queued and emitted in a single signal per frame */
+	public static final int EVENT_DELIVERY_FRAME = 2;
+
+	/** Notifications that exceed a delivery quota are not posted */
+	public static final int QUOTA_ACTION_DROP = 0;
+	/** Notifications that exceed a delivery quota are rescheduled for when the quotas allow them */
+	public static final int QUOTA_ACTION_DEFER = 1;
+	/** Notifications that exceed a delivery quota are posted silently into their channel's notification group */
+	public static final int QUOTA_ACTION_MERGE = 2;
+
+	/** Occurrences that fall within quiet hours are delivered when the quiet hours end */
+	public static final int QUIET_HOURS_POLICY_SHIFT = 0;
+	/** Occurrences that fall within quiet hours are not delivered */
+	public static final int QUIET_HOURS_POLICY_DROP = 1;
+
+	private static final int DEFAULT_ALARM_MODE = ALARM_MODE_PER_NOTIFICATION;
+	private static final int DEFAULT_SCHEDULE_STORE = SCHEDULE_STORE_JOURNAL;
+	private static final int DEFAULT_REPLAY_MODE = REPLAY_MODE_IMMEDIATE;
+	private static final int DEFAULT_REPLAY_EVENTS_PER_FRAME = 8;
+	private static final int DEFAULT_INTENT_ENCODING = INTENT_ENCODING_EXTRAS;
+	/** Negative log level selects the default level of the build type */
+	private static final int DEFAULT_LOG_LEVEL = -1;
+	private static final int DEFAULT_EVENT_DELIVERY = EVENT_DELIVERY_SIGNALS;
+	/** Zero disables the quota */
+	private static final int DEFAULT_QUOTA_DAILY_CAP = 0;
+	private static final int DEFAULT_QUOTA_MIN_SPACING = 0;
+	private static final int DEFAULT_QUOTA_ACTION = QUOTA_ACTION_DROP;
+	/** Equal start and end disable quiet hours */
+	private static final int DEFAULT_QUIET_HOURS_START = 0;
+	private static final int DEFAULT_QUIET_HOURS_END = 0;
+	private static final int DEFAULT_QUIET_HOURS_POLICY = QUIET_HOURS_POLICY_SHIFT;
+	/** Empty time zone ID selects the device's time zone */
+	private static final String DEFAULT_QUIET_HOURS_TIME_ZONE = "";
+
+	private Dictionary data;
+
+	public SchedulerSettings(Dictionary data) {
+		this.data = data;
+	}
+
+	public int getAlarmMode() {
+		return data.containsKey(DATA_KEY_ALARM_MODE) ? (int) data.get(DATA_KEY_ALARM_MODE) : DEFAULT_ALARM_MODE;
+	}
+
+	public boolean isNextDueAlarmMode() {
+		return getAlarmMode() == ALARM_MODE_NEXT_DUE;
+	}
+
+	public int getScheduleStore() {
+		return data.containsKey(DATA_KEY_SCHEDULE_STORE) ? (int) data.get(DATA_KEY_SCHEDULE_STORE) : DEFAULT_SCHEDULE_STORE;
+	}
+
+	public int getReplayMode() {
+		return data.containsKey(DATA_KEY_REPLAY_MODE) ? (int) data.get(DATA_KEY_REPLAY_MODE) : DEFAULT_REPLAY_MODE;
+	}
+
+	public int getReplayEventsPerFrame() {
+		int eventsPerFrame = data.containsKey(DATA_KEY_REPLAY_EVENTS_PER_FRAME) ? (int) data.get(DATA_KEY_REPLAY_EVENTS_PER_FRAME)
+				: DEFAULT_REPLAY_EVENTS_PER_FRAME;
+		return Math.max(1, eventsPerFrame);
+	}
+
+	public int getIntentEncoding() {
+		return data.containsKey(DATA_KEY_INTENT_ENCODING) ? (int) data.get(DATA_KEY_INTENT_ENCODING) : DEFAULT_INTENT_ENCODING;
+	}
+
+	public int getLogLevel() {
+		return data.containsKey(DATA_KEY_LOG_LEVEL) ? (int) data.get(DATA_KEY_LOG_LEVEL) : DEFAULT_LOG_LEVEL;
+	}
+
+	public int getEventDelivery() {
+		return data.containsKey(DATA_KEY_EVENT_DELIVERY) ? (int) data.get(DATA_KEY_EVENT_DELIVERY) : DEFAULT_EVENT_DELIVERY;
+	}
+
+	/**
+	 * @return true if events are queued instead of being emitted with a signal each
+	 */
+	public boolean isEventQueueEnabled() {
+		return getEventDelivery() != EVENT_DELIVERY_SIGNALS;
+	}
+
+	/**
+	 * Maximum number of notifications posted per calendar day, or 0 for no limit
+	 */
+	public int getQuotaDailyCap() {
+		return data.containsKey(DATA_KEY_QUOTA_DAILY_CAP) ? (int) data.get(DATA_KEY_QUOTA_DAILY_CAP) : DEFAULT_QUOTA_DAILY_CAP;
+	}
+
+	/**
+	 * Minimum number of seconds between posted notifications, or 0 for no minimum
+	 */
+	public int getQuotaMinSpacing() {
+		return data.containsKey(DATA_KEY_QUOTA_MIN_SPACING) ? (int) data.get(DATA_KEY_QUOTA_MIN_SPACING) : DEFAULT_QUOTA_MIN_SPACING;
+	}
+
+	public int getQuotaAction() {
+		return data.containsKey(DATA_KEY_QUOTA_ACTION) ? (int) data.get(DATA_KEY_QUOTA_ACTION) : DEFAULT_QUOTA_ACTION;
+	}
+
+	/**
+	 * Start of the daily quiet hours, in minutes after midnight
+	 */
+	public int getQuietHoursStart() {
+		return data.containsKey(DATA_KEY_QUIET_HOURS_START) ? (int) data.get(DATA_KEY_QUIET_HOURS_START) : DEFAULT_QUIET_HOURS_START;
+	}
+
+	/**
+	 * End of the daily quiet hours, in minutes after midnight; quiet hours that end before they start end on the next day
+	 */
+	public int getQuietHoursEnd() {
+		return data.containsKey(DATA_KEY_QUIET_HOURS_END) ? (int) data.get(DATA_KEY_QUIET_HOURS_END) : DEFAULT_QUIET_HOURS_END;
+	}
+
+	public int getQuietHoursPolicy() {
+		return data.containsKey(DATA_KEY_QUIET_HOURS_POLICY) ? (int) data.get(DATA_KEY_QUIET_HOURS_POLICY) : DEFAULT_QUIET_HOURS_POLICY;
+	}
+
+	/**
+	 * ID of the time zone of quiet hours, or an empty string for the device's time zone
+	 */
+	public String getQuietHoursTimeZone() {
+		return data.containsKey(DATA_KEY_QUIET_HOURS_TIME_ZONE) ? (String) data.get(DATA_KEY_QUIET_HOURS_TIME_ZONE)
+				: DEFAULT_QUIET_HOURS_TIME_ZONE;
+	}
+
+	public void save(ConfigMap config) {
+		config.edit()
+				.putInt(DATA_KEY_ALARM_MODE, getAlarmMode())
+				.putInt(DATA_KEY_SCHEDULE_STORE, getScheduleStore())
+				.putInt(DATA_KEY_REPLAY_MODE, getReplayMode())
+				.putInt(DATA_KEY_REPLAY_EVENTS_PER_FRAME, getReplayEventsPerFrame())
+				.putInt(DATA_KEY_INTENT_ENCODING, getIntentEncoding())
+				.putInt(DATA_KEY_LOG_LEVEL, getLogLevel())
+				.putInt(DATA_KEY_EVENT_DELIVERY, getEventDelivery())
+				.putInt(DATA_KEY_QUOTA_DAILY_CAP, getQuotaDailyCap())
+				.putInt(DATA_KEY_QUOTA_MIN_SPACING, getQuotaMinSpacing())
+				.putInt(DATA_KEY_QUOTA_ACTION, getQuotaAction())
+				.putInt(DATA_KEY_QUIET_HOURS_START, getQuietHoursStart())
+				.putInt(DATA_KEY_QUIET_HOURS_END, getQuietHoursEnd())
+				.putInt(DATA_KEY_QUIET_HOURS_POLICY, getQuietHoursPolicy())
+				.putString(DATA_KEY_QUIET_HOURS_TIME_ZONE, getQuietHoursTimeZone())
+				.commit();
+	}
+
+	public static SchedulerSettings load(ConfigMap config) {
+		Dictionary data = new Dictionary();
+		data.put(DATA_KEY_ALARM_MODE, config.getInt(DATA_KEY_ALARM_MODE, DEFAULT_ALARM_MODE));
+		data.put(DATA_KEY_SCHEDULE_STORE, config.getInt(DATA_KEY_SCHEDULE_STORE, DEFAULT_SCHEDULE_STORE));
+		data.put(DATA_KEY_REPLAY_MODE, config.getInt(DATA_KEY_REPLAY_MODE, DEFAULT_REPLAY_MODE));
+		data.put(DATA_KEY_REPLAY_EVENTS_PER_FRAME, config.getInt(DATA_KEY_REPLAY_EVENTS_PER_FRAME, DEFAULT_REPLAY_EVENTS_PER_FRAME));
+		data.put(DATA_KEY_INTENT_ENCODING, config.getInt(DATA_KEY_INTENT_ENCODING, DEFAULT_INTENT_ENCODING));
+		data.put(DATA_KEY_LOG_LEVEL, config.getInt(DATA_KEY_LOG_LEVEL, DEFAULT_LOG_LEVEL));
+		data.put(DATA_KEY_EVENT_DELIVERY, config.getInt(DATA_KEY_EVENT_DELIVERY, DEFAULT_EVENT_DELIVERY));
+		data.put(DATA_KEY_QUOTA_DAILY_CAP, config.getInt(DATA_KEY_QUOTA_DAILY_CAP, DEFAULT_QUOTA_DAILY_CAP));
+		data.put(DATA_KEY_QUOTA_MIN_SPACING, config.getInt(DATA_KEY_QUOTA_MIN_SPACING, DEFAULT_QUOTA_MIN_SPACING));
+		data.put(DATA_KEY_QUOTA_ACTION, config.getInt(DATA_KEY_QUOTA_ACTION, DEFAULT_QUOTA_ACTION));
+		data.put(DATA_KEY_QUIET_HOURS_START, config.getInt(DATA_KEY_QUIET_HOURS_START, DEFAULT_QUIET_HOURS_START));
+		data.put(DATA_KEY_QUIET_HOURS_END, config.getInt(DATA_KEY_QUIET_HOURS_END, DEFAULT_QUIET_HOURS_END));
+		data.put(DATA_KEY_QUIET_HOURS_POLICY, config.getInt(DATA_KEY_QUIET_HOURS_POLICY, DEFAULT_QUIET_HOURS_POLICY));
+		data.put(DATA_KEY_QUIET_HOURS_TIME_ZONE, config.getString(DATA_KEY_QUIET_HOURS_TIME_ZONE, DEFAULT_QUIET_HOURS_TIME_ZONE));
+		return new SchedulerSettings(data);
+	}
+
+	public Dictionary getRawData() {
+		return data;
+	}
+}
@@ -0,0 +1,238 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.store;
+
+import android.content.Context;
+
+import org.godotengine.plugin.notification.NotificationSchedulerPlugin;
+import org.godotengine.plugin.notification.PluginLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Map of configuration values that is persisted in a file of its own and shared with the notification receiver's
+ * process.
+ *
+ * <p>SharedPreferences are cached per process and are not read again when another process changes them, so
+ * configuration that the receiver uses is kept in ConfigMaps instead. ConfigMaps are only changed by the app's process.
+ * The receiver calls {@link #reloadIfChanged()} at the start of each broadcast, which reads maps again whose files
+ * have changed since they were last read. Changes are detected by the modification time and length of the files.
+ *
+ * <p>Values are read without locking from an immutable snapshot, which is replaced when the map is changed or read
+ * again.
+ */
+public final class ConfigMap {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + ConfigMap.class.getSimpleName();
+
+	private static final int FILE_VERSION = 1;
+
+	private static final byte TYPE_INT = 0;
+	private static final byte TYPE_STRING = 1;
+
+	private static final Map<String, ConfigMap> instances = new HashMap<>();
+
+	private final File file;
+	private volatile Map<String, Object> values;
+
+	// Modification time and length of the file when it was last read or written
+	private long lastModified;
+	private long length;
+
+	private ConfigMap(File file) {
+		this.file = file;
+		load();
+	}
+
+	/**
+	 * Returns the map that is persisted in the app's files directory with the given file name.
+	 */
+	public static synchronized ConfigMap get(Context context, String name) {
+		ConfigMap configMap = instances.get(name);
+		if (configMap == null) {
+			configMap = new ConfigMap(new File(context.getApplicationContext().getFilesDir(), name));
+			instances.put(name, configMap);
+		}
+		return configMap;
+	}
+
+	/**
+	 * Reads the maps of this process again whose files were changed by another process.
+	 *
+	 * @return true if any map was read again
+	 */
+	public static synchronized boolean reloadIfChanged() {
+		boolean isReloaded = false;
+		for (ConfigMap configMap : instances.values()) {
+			if (configMap.reloadIfStale()) {
+				isReloaded = true;
+			}
+		}
+		return isReloaded;
+	}
+
+	public int getInt(String key, int defaultValue) {
+		Object value = values.get(key);
+		return value instanceof Integer ? (Integer) value : defaultValue;
+	}
+
+	public String getString(String key, String defaultValue) {
+		Object value = values.get(key);
+		return value instanceof String ? (String) value : defaultValue;
+	}
+
+	/**
+	 * @return unmodifiable snapshot of all values
+	 */
+	public Map<String, Object> getAll() {
+		return values;
+	}
+
+	public boolean isEmpty() {
+		return values.isEmpty();
+	}
+
+	public Editor edit() {
+		return new Editor();
+	}
+
+	/**
+	 * Collects changes that are applied to the map and written to its file together by {@link #commit()}.
+	 */
+	public final class Editor {
+		// Removed keys are mapped to null
+		private final Map<String, Object> changes = new HashMap<>();
+
+		private Editor() {
+		}
+
+		public Editor putInt(String key, int value) {
+			changes.put(key, value);
+			return this;
+		}
+
+		public Editor putString(String key, String value) {
+			changes.put(key, value);
+			return this;
+		}
+
+		public Editor remove(String key) {
+			changes.put(key, null);
+			return this;
+		}
+
+		/**
+		 * @return false if the changes could not be written
+		 */
+		public boolean commit() {
+			return ConfigMap.this.commit(changes);
+		}
+	}
+
+	private synchronized boolean commit(Map<String, Object> changes) {
+		Map<String, Object> newValues = new HashMap<>(values);
+		for (Map.Entry<String, Object> change : changes.entrySet()) {
+			if (change.getValue() == null) {
+				newValues.remove(change.getKey());
+			} else {
+				newValues.put(change.getKey(), change.getValue());
+			}
+		}
+
+		if (newValues.equals(values)) {
+			return true;
+		}
+
+		if (!write(newValues)) {
+			return false;
+		}
+		values = Collections.unmodifiableMap(newValues);
+		return true;
+	}
+
+	private synchronized boolean reloadIfStale() {
+		if (file.lastModified() == lastModified && file.length() == length) {
+			return false;
+		}
+		load();
+		PluginLog.d(LOG_TAG, "Reloaded %s", file.getName());
+		return true;
+	}
+
+	private void load() {
+		// Read before the contents, so that a change made while the file is read is detected by the next check
+		lastModified = file.lastModified();
+		length = file.length();
+
+		Map<String, Object> newValues = new HashMap<>();
+		if (file.exists()) {
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+				if (in.readInt() == FILE_VERSION) {
+					int count = in.readInt();
+					for (int i = 0; i < count; i++) {
+						String key = in.readUTF();
+						byte type = in.readByte();
+						if (type == TYPE_INT) {
+							newValues.put(key, in.readInt());
+						} else if (type == TYPE_STRING) {
+							newValues.put(key, in.readUTF());
+						} else {
+							throw new IOException("Unknown value type " + type);
+						}
+					}
+				}
+			} catch (IOException e) {
+				PluginLog.w(LOG_TAG, "Failed to read " + file.getName(), e);
+				newValues.clear();
+			}
+		}
+		values = Collections.unmodifiableMap(newValues);
+	}
+
+	private boolean write(Map<String, Object> newValues) {
+		File tempFile = new File(file.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			out.writeInt(FILE_VERSION);
+			out.writeInt(newValues.size());
+			for (Map.Entry<String, Object> entry : newValues.entrySet()) {
+				out.writeUTF(entry.getKey());
+				if (entry.getValue() instanceof Integer) {
+					out.writeByte(TYPE_INT);
+					out.writeInt((Integer) entry.getValue());
+				} else {
+					out.writeByte(TYPE_STRING);
+					out.writeUTF((String) entry.getValue());
+				}
+			}
+		} catch (IOException e) {
+			PluginLog.w(LOG_TAG, "Failed to write " + file.getName(), e);
+			return false;
+		}
+
+		long previousLastModified = lastModified;
+		if (!tempFile.renameTo(file)) {
+			PluginLog.w(LOG_TAG, "Failed to replace " + file.getName());
+			return false;
+		}
+
+		// Modification times have a coarse resolution on some file systems, so a change made soon after the previous
+		// one is given a later time explicitly, for other processes to notice it
+		lastModified = file.lastModified();
+		if (lastModified <= previousLastModified && file.setLastModified(previousLastModified + 1000L)) {
+			lastModified = file.lastModified();
+		}
+		length = file.length();
+		return true;
+	}
+}
@@ -0,0 +1,333 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.store;
+
+import android.content.Context;
+
+import org.godotengine.plugin.notification.NotificationSchedulerPlugin;
+import org.godotengine.plugin.notification.PluginLog;
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.NotificationDataCodec;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Durable outbox of notification events that occur while the app is not ready to receive them, backed by an
+ * append-only binary log (see {@link RecordLog}). The log is shared by the app process and the notification receiver's
+ * process, which stores fired events.
+ *
+ * <p>Each appended event is assigned the next sequence number. Events stay in the outbox until they are acknowledged,
+ * so that they are delivered at least once even if the process dies before or during delivery. Acknowledgements are
+ * cumulative: acknowledging a sequence number acknowledges all events up to and including it.
+ *
+ * <p>The log is compacted once acknowledged records outnumber pending ones. Compaction writes a base record first, so
+ * that sequence numbers keep increasing across compactions.
+ */
+public class EventOutbox {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + EventOutbox.class.getSimpleName();
+
+	public static final int EVENT_OPENED = 1;
+	public static final int EVENT_DISMISSED = 2;
+	public static final int EVENT_FIRED = 3;
+
+	private static final String DIRECTORY_NAME = "notification_scheduler";
+	private static final String FILE_NAME = "events.journal";
+	private static final int OUTBOX_MAGIC = 0x4E534531; // "NSE1"
+
+	private static final byte RECORD_TYPE_EVENT = 1;
+	private static final byte RECORD_TYPE_ACK = 2;
+	private static final byte RECORD_TYPE_BASE = 3;
+
+	private static final int COMPACTION_MIN_RECORDS = 64;
+	private static final int COMPACTION_RATIO = 2;
+
+	/**
+	 * Pending event whose notification data is only decoded when it is requested
+	 */
+	private static class Entry {
+		final int sequence;
+		final byte eventType;
+		final long time;
+		final long scheduledTime;
+		final byte[] payload;
+
+		Entry(int sequence, byte eventType, long time, long scheduledTime, byte[] payload) {
+			this.sequence = sequence;
+			this.eventType = eventType;
+			this.time = time;
+			this.scheduledTime = scheduledTime;
+			this.payload = payload;
+		}
+	}
+
+	public static class Event {
+		private final int sequence;
+		private final int type;
+		private final long time;
+		private final long scheduledTime;
+		private final NotificationData data;
+
+		Event(int sequence, int type, long time, long scheduledTime, NotificationData data) {
+			this.sequence = sequence;
+			this.type = type;
+			this.time = time;
+			this.scheduledTime = scheduledTime;
+			this.data = data;
+		}
+
+		public int getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * @return {@link EventOutbox#EVENT_OPENED}, {@link EventOutbox#EVENT_DISMISSED} or {@link EventOutbox#EVENT_FIRED}
+		 */
+		public int getType() {
+			return type;
+		}
+
+		/**
+		 * Time (milliseconds since epoch) when the event occurred
+		 */
+		public long getTime() {
+			return time;
+		}
+
+		/**
+		 * Time (milliseconds since epoch) when the notification was scheduled to be delivered; only set for fired
+		 * events
+		 */
+		public long getScheduledTime() {
+			return scheduledTime;
+		}
+
+		public NotificationData getData() {
+			return data;
+		}
+	}
+
+	private final RecordLog log;
+
+	// Pending events in sequence order; acknowledgements are cumulative, so their sequence numbers are contiguous
+	private final ArrayDeque<Entry> pending = new ArrayDeque<>();
+	private int nextSequence = 1;
+	private int acknowledgedSequence = 0;
+
+	private final RecordLog.RecordHandler handler = new RecordLog.RecordHandler() {
+		@Override
+		public void onReset() {
+			pending.clear();
+			nextSequence = 1;
+			acknowledgedSequence = 0;
+		}
+
+		@Override
+		public void onRecord(ByteBuffer record) {
+			applyRecord(record);
+		}
+	};
+
+	public EventOutbox(Context context) {
+		this.log = new RecordLog(new File(new File(context.getNoBackupFilesDir(), DIRECTORY_NAME), FILE_NAME), OUTBOX_MAGIC);
+	}
+
+	/**
+	 * @return sequence number of the appended event, or -1 if it could not be persisted
+	 */
+	public synchronized int append(int eventType, NotificationData data) {
+		return appendAll(eventType, Collections.singletonList(data));
+	}
+
+	/**
+	 * Appends events with a single write.
+	 *
+	 * @return sequence number of the last appended event, or -1 if the events could not be persisted
+	 */
+	public synchronized int appendAll(int eventType, List<NotificationData> batch) {
+		long time = System.currentTimeMillis();
+		List<byte[]> records = new ArrayList<>(batch.size());
+		for (NotificationData data : batch) {
+			records.add(encodeEvent((byte) eventType, time, 0, NotificationDataCodec.toBytes(data)));
+		}
+		return append(records);
+	}
+
+	/**
+	 * Appends {@link #EVENT_FIRED} events for notifications that were delivered at {@code deliveredTime}.
+	 *
+	 * @return sequence number of the last appended event, or -1 if the events could not be persisted
+	 */
+	public synchronized int appendFired(List<ScheduledNotification> fired, long deliveredTime) {
+		List<byte[]> records = new ArrayList<>(fired.size());
+		for (ScheduledNotification scheduledNotification : fired) {
+			records.add(encodeEvent((byte) EVENT_FIRED, deliveredTime, scheduledNotification.getFireTime(),
+					NotificationDataCodec.toBytes(scheduledNotification.getData())));
+		}
+		return append(records);
+	}
+
+	private int append(List<byte[]> records) {
+		try {
+			log.append(handler, records);
+		} catch (IOException e) {
+			PluginLog.e(LOG_TAG, "Failed to write event outbox: " + e.getMessage());
+			return -1;
+		}
+
+		return nextSequence - 1;
+	}
+
+	/**
+	 * Acknowledges the oldest events so that at most {@code maxPending} events remain pending.
+	 *
+	 * @return number of events that were dropped
+	 */
+	public synchronized int trim(int maxPending) {
+		sync();
+
+		int excess = pending.size() - maxPending;
+		if (excess <= 0) {
+			return 0;
+		}
+
+		PluginLog.w(LOG_TAG, "Event outbox is full. Dropping " + excess + " oldest events.");
+		acknowledge(pending.peekFirst().sequence + excess - 1);
+		return excess;
+	}
+
+	/**
+	 * Returns pending events with sequence numbers greater than {@code afterSequence}, in sequence order, including
+	 * events appended by other processes. Events whose data cannot be decoded are skipped; they are acknowledged along
+	 * with later events.
+	 */
+	public synchronized List<Event> getPending(int afterSequence) {
+		sync();
+
+		List<Event> result = new ArrayList<>(pending.size());
+		for (Entry entry : pending) {
+			if (entry.sequence <= afterSequence) {
+				continue;
+			}
+
+			try {
+				result.add(new Event(entry.sequence, entry.eventType, entry.time, entry.scheduledTime,
+						NotificationDataCodec.fromBytes(entry.payload)));
+			} catch (IllegalArgumentException e) {
+				PluginLog.e(LOG_TAG, "Failed to decode event " + entry.sequence + ": " + e.getMessage());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Acknowledges all events up to and including {@code sequence}.
+	 */
+	public synchronized void acknowledge(int sequence) {
+		sync();
+
+		if (sequence <= acknowledgedSequence) {
+			return;
+		}
+
+		try {
+			log.append(handler, Collections.singletonList(ByteBuffer.allocate(5).put(RECORD_TYPE_ACK).putInt(sequence).array()));
+		} catch (IOException e) {
+			PluginLog.e(LOG_TAG, "Failed to write event outbox: " + e.getMessage());
+			return;
+		}
+
+		compactIfNeeded();
+	}
+
+	/**
+	 * @return number of events that have not been acknowledged
+	 */
+	public synchronized int size() {
+		sync();
+		return pending.size();
+	}
+
+	/**
+	 * Releases the outbox's lock file when the outbox is no longer used.
+	 */
+	public synchronized void close() {
+		log.close();
+	}
+
+	private void sync() {
+		try {
+			log.read(handler);
+		} catch (IOException e) {
+			PluginLog.e(LOG_TAG, "Failed to read event outbox: " + e.getMessage());
+		}
+	}
+
+	private void compactIfNeeded() {
+		int recordCount = log.getRecordCount();
+		if (recordCount <= COMPACTION_MIN_RECORDS || recordCount <= COMPACTION_RATIO * (pending.size() + 1)) {
+			return;
+		}
+
+		try {
+			log.rewrite(handler, () -> {
+				List<byte[]> records = new ArrayList<>(pending.size() + 1);
+				records.add(ByteBuffer.allocate(5).put(RECORD_TYPE_BASE).putInt(acknowledgedSequence).array());
+				for (Entry entry : pending) {
+					records.add(encodeEvent(entry.eventType, entry.time, entry.scheduledTime, entry.payload));
+				}
+				return records;
+			});
+		} catch (IOException e) {
+			PluginLog.e(LOG_TAG, "Failed to compact event outbox: " + e.getMessage());
+		}
+	}
+
+	private void applyRecord(ByteBuffer record) {
+		byte type = record.get();
+		switch (type) {
+			case RECORD_TYPE_EVENT:
+				byte eventType = record.get();
+				long time = record.getLong();
+				long scheduledTime = record.getLong();
+				byte[] payload = new byte[record.remaining()];
+				record.get(payload);
+				pending.add(new Entry(nextSequence++, eventType, time, scheduledTime, payload));
+				break;
+
+			case RECORD_TYPE_ACK:
+				acknowledgedSequence = Math.max(acknowledgedSequence, record.getInt());
+				while (!pending.isEmpty() && pending.peekFirst().sequence <= acknowledgedSequence) {
+					pending.pollFirst();
+				}
+				break;
+
+			case RECORD_TYPE_BASE:
+				acknowledgedSequence = record.getInt();
+				nextSequence = acknowledgedSequence + 1;
+				pending.clear();
+				break;
+
+			default:
+				PluginLog.w(LOG_TAG, "Skipping outbox record of unknown type " + type);
+		}
+	}
+
+	private static byte[] encodeEvent(byte eventType, long time, long scheduledTime, byte[] payload) {
+		return ByteBuffer.allocate(18 + payload.length)
+				.put(RECORD_TYPE_EVENT)
+				.put(eventType)
+				.putLong(time)
+				.putLong(scheduledTime)
+				.put(payload)
+				.array();
+	}
+}
@@ -0,0 +1,397 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.store;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+
+import org.godotengine.plugin.notification.NotificationSchedulerPlugin;
+import org.godotengine.plugin.notification.PluginLog;
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.NotificationDataCodec;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Schedule store backed by an append-only binary journal (see {@link RecordLog}). Each change appends a small record
+ * instead of rewriting the whole store, so the cost of a change does not depend on the number of pending
+ * notifications. The journal is compacted on a background thread once superseded records outnumber live ones.
+ *
+ * <p>The journal is shared by the app process and the notification receiver's process. Changes made by the other
+ * process are picked up before every operation.
+ */
+public class JournalScheduleStore implements ScheduleStore {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + JournalScheduleStore.class.getSimpleName();
+
+	private static final String DIRECTORY_NAME = "notification_scheduler";
+	private static final String FILE_NAME = "schedule.journal";
+	private static final int JOURNAL_MAGIC = 0x4E534A31; // "NSJ1"
+
+	private static final byte RECORD_TYPE_PUT = 1;
+	private static final byte RECORD_TYPE_REMOVE = 2;
+	private static final byte RECORD_TYPE_CLEAR = 3;
+	// Put of an occurrence that was shifted by quiet hours, with the time of the occurrence before the shift
+	private static final byte RECORD_TYPE_PUT_SHIFTED = 4;
+
+	// Payloads are written in binary form. JSON payloads written by earlier versions are still read.
+	private static final byte PAYLOAD_FORMAT_JSON = 1;
+	private static final byte PAYLOAD_FORMAT_BINARY = 2;
+
+	private static final int COMPACTION_MIN_RECORDS = 256;
+	private static final int COMPACTION_RATIO = 2;
+
+	private static final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "nsp-journal-compaction");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Persisted notification whose payload is only decoded when it is requested
+	 */
+	private static class Entry {
+		final int id;
+		final long fireTime;
+		final long occurrenceTime;
+		final byte format;
+		final byte[] payload;
+		ScheduledNotification decoded;
+
+		Entry(int id, long fireTime, long occurrenceTime, byte format, byte[] payload) {
+			this.id = id;
+			this.fireTime = fireTime;
+			this.occurrenceTime = occurrenceTime;
+			this.format = format;
+			this.payload = payload;
+		}
+	}
+
+	private final RecordLog log;
+	private final Map<Integer, Entry> entries = new HashMap<>();
+	private final RecordLog.RecordHandler handler = new RecordLog.RecordHandler() {
+		@Override
+		public void onReset() {
+			entries.clear();
+			appliedCount++;
+		}
+
+		@Override
+		public void onRecord(ByteBuffer record) {
+			applyRecord(record);
+			appliedCount++;
+		}
+	};
+
+	private boolean compactionPending = false;
+
+	// Set once the log is closed, so that a compaction that is still queued does not reopen it
+	private boolean closed = false;
+
+	// Resets and records applied to the entries, and records appended by this instance
+	private long appliedCount = 0;
+	private long appendedCount = 0;
+
+	public JournalScheduleStore(Context context) {
+		this.log = new RecordLog(new File(new File(context.getNoBackupFilesDir(), DIRECTORY_NAME), FILE_NAME), JOURNAL_MAGIC);
+	}
+
+	@Override
+	public synchronized void put(NotificationData data, long fireTime, long occurrenceTime) {
+		append(Collections.singletonList(encodePut(data, fireTime, occurrenceTime)));
+	}
+
+	@Override
+	public synchronized void putAll(List<NotificationData> batch, long[] fireTimes, long[] occurrenceTimes) {
+		List<byte[]> records = new ArrayList<>(batch.size());
+
+		for (int i = 0; i < batch.size(); i++) {
+			records.add(encodePut(batch.get(i), fireTimes[i], occurrenceTimes[i]));
+		}
+
+		if (!records.isEmpty()) {
+			append(records);
+		}
+	}
+
+	@Override
+	public synchronized boolean remove(int notificationId) {
+		return removeAll(new int[] { notificationId }) > 0;
+	}
+
+	@Override
+	public synchronized int removeAll(int[] notificationIds) {
+		sync();
+
+		List<byte[]> records = new ArrayList<>(notificationIds.length);
+		for (int notificationId : notificationIds) {
+			if (entries.containsKey(notificationId)) {
+				records.add(ByteBuffer.allocate(5).put(RECORD_TYPE_REMOVE).putInt(notificationId).array());
+			}
+		}
+
+		if (!records.isEmpty()) {
+			append(records);
+		}
+		return records.size();
+	}
+
+	@Nullable
+	@Override
+	public synchronized ScheduledNotification get(int notificationId) {
+		sync();
+
+		Entry entry = entries.get(notificationId);
+		if (entry == null) {
+			return null;
+		}
+
+		ScheduledNotification result = decode(entry);
+		if (result == null) {
+			removeAll(new int[] { notificationId });
+		}
+		return result;
+	}
+
+	@Override
+	public synchronized List<ScheduledNotification> getAll() {
+		sync();
+
+		List<ScheduledNotification> result = new ArrayList<>(entries.size());
+		List<Integer> undecodable = new ArrayList<>();
+
+		for (Entry entry : entries.values()) {
+			ScheduledNotification scheduledNotification = decode(entry);
+			if (scheduledNotification == null) {
+				undecodable.add(entry.id);
+			} else {
+				result.add(scheduledNotification);
+			}
+		}
+
+		if (!undecodable.isEmpty()) {
+			int[] ids = new int[undecodable.size()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = undecodable.get(i);
+			}
+			removeAll(ids);
+		}
+
+		return result;
+	}
+
+	@Override
+	public synchronized List<ScheduledNotification> getAll(int[] notificationIds) {
+		sync();
+
+		List<ScheduledNotification> result = new ArrayList<>(notificationIds.length);
+		List<Integer> undecodable = new ArrayList<>();
+
+		for (int notificationId : notificationIds) {
+			Entry entry = entries.get(notificationId);
+			if (entry == null) {
+				continue;
+			}
+
+			ScheduledNotification scheduledNotification = decode(entry);
+			if (scheduledNotification == null) {
+				undecodable.add(notificationId);
+			} else {
+				result.add(scheduledNotification);
+			}
+		}
+
+		if (!undecodable.isEmpty()) {
+			int[] ids = new int[undecodable.size()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = undecodable.get(i);
+			}
+			removeAll(ids);
+		}
+
+		return result;
+	}
+
+	@Override
+	public synchronized long getFireTime(int notificationId) {
+		sync();
+
+		Entry entry = entries.get(notificationId);
+		return entry == null ? -1 : entry.fireTime;
+	}
+
+	@Override
+	public synchronized void forEachFireTime(FireTimeVisitor visitor) {
+		sync();
+
+		for (Entry entry : entries.values()) {
+			visitor.visit(entry.id, entry.fireTime);
+		}
+	}
+
+	@Override
+	public synchronized int size() {
+		sync();
+		return entries.size();
+	}
+
+	@Override
+	public synchronized void clear() {
+		append(Collections.singletonList(new byte[] { RECORD_TYPE_CLEAR }));
+	}
+
+	@Override
+	public synchronized long getExternalChangeCount() {
+		sync();
+		return appliedCount - appendedCount;
+	}
+
+	@Override
+	public synchronized void close() {
+		closed = true;
+		log.close();
+	}
+
+	/**
+	 * Rewrites the journal so that it only contains the live notifications.
+	 */
+	public synchronized void compact() {
+		if (closed) {
+			compactionPending = false;
+			return;
+		}
+
+		try {
+			int before = log.getRecordCount();
+			log.rewrite(handler, () -> {
+				List<byte[]> records = new ArrayList<>(entries.size());
+				for (Entry entry : entries.values()) {
+					records.add(encodePut(entry.id, entry.fireTime, entry.occurrenceTime, entry.format, entry.payload));
+				}
+				return records;
+			});
+			PluginLog.d(LOG_TAG, "Compacted schedule journal from %s to %s records.", before, log.getRecordCount());
+		} catch (IOException e) {
+			PluginLog.e(LOG_TAG, "Failed to compact schedule journal: " + e.getMessage());
+		} finally {
+			compactionPending = false;
+		}
+	}
+
+	private void sync() {
+		try {
+			log.read(handler);
+		} catch (IOException e) {
+			PluginLog.e(LOG_TAG, "Failed to read schedule journal: " + e.getMessage());
+		}
+		scheduleCompactionIfNeeded();
+	}
+
+	private void append(List<byte[]> records) {
+		try {
+			log.append(handler, records);
+			appendedCount += records.size();
+		} catch (IOException e) {
+			PluginLog.e(LOG_TAG, "Failed to write schedule journal: " + e.getMessage());
+		}
+		scheduleCompactionIfNeeded();
+	}
+
+	private void scheduleCompactionIfNeeded() {
+		int recordCount = log.getRecordCount();
+		if (!closed && !compactionPending && recordCount > COMPACTION_MIN_RECORDS && recordCount > COMPACTION_RATIO * entries.size()) {
+			compactionPending = true;
+			compactionExecutor.execute(this::compact);
+		}
+	}
+
+	private void applyRecord(ByteBuffer record) {
+		byte type = record.get();
+		switch (type) {
+			case RECORD_TYPE_PUT:
+			case RECORD_TYPE_PUT_SHIFTED:
+				int id = record.getInt();
+				long fireTime = record.getLong();
+				long occurrenceTime = type == RECORD_TYPE_PUT_SHIFTED ? record.getLong() : fireTime;
+				byte format = record.get();
+				byte[] payload = new byte[record.remaining()];
+				record.get(payload);
+				entries.put(id, new Entry(id, fireTime, occurrenceTime, format, payload));
+				break;
+
+			case RECORD_TYPE_REMOVE:
+				entries.remove(record.getInt());
+				break;
+
+			case RECORD_TYPE_CLEAR:
+				entries.clear();
+				break;
+
+			default:
+				PluginLog.w(LOG_TAG, "Skipping journal record of unknown type " + type);
+		}
+	}
+
+	private static byte[] encodePut(NotificationData data, long fireTime, long occurrenceTime) {
+		return encodePut(data.getId(), fireTime, occurrenceTime, PAYLOAD_FORMAT_BINARY, NotificationDataCodec.toBytes(data));
+	}
+
+	private static byte[] encodePut(int id, long fireTime, long occurrenceTime, byte format, byte[] payload) {
+		if (occurrenceTime != fireTime) {
+			return ByteBuffer.allocate(22 + payload.length)
+					.put(RECORD_TYPE_PUT_SHIFTED)
+					.putInt(id)
+					.putLong(fireTime)
+					.putLong(occurrenceTime)
+					.put(format)
+					.put(payload)
+					.array();
+		}
+
+		return ByteBuffer.allocate(14 + payload.length)
+				.put(RECORD_TYPE_PUT)
+				.putInt(id)
+				.putLong(fireTime)
+				.put(format)
+				.put(payload)
+				.array();
+	}
+
+	@Nullable
+	private static ScheduledNotification decode(Entry entry) {
+		if (entry.decoded == null) {
+			NotificationData data;
+			try {
+				if (entry.format == PAYLOAD_FORMAT_BINARY) {
+					data = NotificationDataCodec.fromBytes(entry.payload);
+				} else if (entry.format == PAYLOAD_FORMAT_JSON) {
+					data = NotificationDataCodec.fromJson(new JSONObject(new String(entry.payload, StandardCharsets.UTF_8)));
+				} else {
+					PluginLog.e(LOG_TAG, "Unsupported payload format " + entry.format + " for notification " + entry.id);
+					return null;
+				}
+			} catch (JSONException | IllegalArgumentException e) {
+				PluginLog.e(LOG_TAG, "Failed to decode scheduled notification " + entry.id + ": " + e.getMessage());
+				return null;
+			}
+			entry.decoded = new ScheduledNotification(entry.id, data, entry.fireTime, entry.occurrenceTime);
+		}
+		return entry.decoded;
+	}
+}
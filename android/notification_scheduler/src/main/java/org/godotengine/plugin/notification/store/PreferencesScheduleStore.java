@@ -0,0 +1,192 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.store;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.Nullable;
+
+import org.godotengine.plugin.notification.NotificationSchedulerPlugin;
+import org.godotengine.plugin.notification.PluginLog;
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.NotificationDataCodec;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Legacy schedule store that keeps one JSON string per notification ID in a SharedPreferences file. Every change
+ * rewrites the whole file, so this store is mainly kept as a migration source for {@link JournalScheduleStore}.
+ */
+public class PreferencesScheduleStore implements ScheduleStore {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + PreferencesScheduleStore.class.getSimpleName();
+
+	public static final String PREF_NAME = "scheduled_notifications";
+
+	private static final String DATA_KEY_FIRE_TIME = "fire_time_ms"; // Internal key for absolute time
+	private static final String DATA_KEY_OCCURRENCE_TIME = "occurrence_time_ms"; // Only stored if it differs
+
+	private final SharedPreferences schedulePrefs;
+
+	public PreferencesScheduleStore(Context context) {
+		this.schedulePrefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+	}
+
+	@Override
+	public void put(NotificationData data, long fireTime, long occurrenceTime) {
+		try {
+			// Store in a separate shared prefs map: key=ID, value=JSON
+			schedulePrefs.edit().putString(String.valueOf(data.getId()), toJson(data, fireTime, occurrenceTime)).apply();
+		} catch (JSONException e) {
+			PluginLog.e(LOG_TAG, "Failed to save scheduled notification: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public void putAll(List<NotificationData> batch, long[] fireTimes, long[] occurrenceTimes) {
+		SharedPreferences.Editor editor = schedulePrefs.edit();
+
+		for (int i = 0; i < batch.size(); i++) {
+			NotificationData data = batch.get(i);
+			try {
+				editor.putString(String.valueOf(data.getId()), toJson(data, fireTimes[i], occurrenceTimes[i]));
+			} catch (JSONException e) {
+				PluginLog.e(LOG_TAG, "Failed to save scheduled notification " + data.getId() + ": " + e.getMessage());
+			}
+		}
+
+		editor.apply();
+	}
+
+	@Override
+	public boolean remove(int notificationId) {
+		if (schedulePrefs.contains(String.valueOf(notificationId))) {
+			schedulePrefs.edit().remove(String.valueOf(notificationId)).apply();
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public int removeAll(int[] notificationIds) {
+		SharedPreferences.Editor editor = schedulePrefs.edit();
+		int count = 0;
+
+		for (int notificationId : notificationIds) {
+			if (schedulePrefs.contains(String.valueOf(notificationId))) {
+				editor.remove(String.valueOf(notificationId));
+				count++;
+			}
+		}
+
+		if (count > 0) {
+			editor.apply();
+		}
+		return count;
+	}
+
+	@Nullable
+	@Override
+	public ScheduledNotification get(int notificationId) {
+		String jsonString = schedulePrefs.getString(String.valueOf(notificationId), null);
+		if (jsonString == null) {
+			return null;
+		}
+
+		try {
+			return fromJson(notificationId, jsonString);
+		} catch (JSONException e) {
+			PluginLog.e(LOG_TAG, "Failed to parse scheduled notification " + notificationId + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	@Override
+	public List<ScheduledNotification> getAll(int[] notificationIds) {
+		List<ScheduledNotification> result = new ArrayList<>(notificationIds.length);
+		for (int notificationId : notificationIds) {
+			ScheduledNotification scheduledNotification = get(notificationId);
+			if (scheduledNotification != null) {
+				result.add(scheduledNotification);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<ScheduledNotification> getAll() {
+		Map<String, ?> allEntries = schedulePrefs.getAll();
+		List<ScheduledNotification> result = new ArrayList<>(allEntries.size());
+
+		for (Map.Entry<String, ?> entry : allEntries.entrySet()) {
+			try {
+				result.add(fromJson(Integer.parseInt(entry.getKey()), (String) entry.getValue()));
+			} catch (Exception e) {
+				PluginLog.e(LOG_TAG, "Failed to parse scheduled notification " + entry.getKey() + ": " + e.getMessage());
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public long getFireTime(int notificationId) {
+		ScheduledNotification scheduledNotification = get(notificationId);
+		return scheduledNotification == null ? -1 : scheduledNotification.getFireTime();
+	}
+
+	@Override
+	public void forEachFireTime(FireTimeVisitor visitor) {
+		for (ScheduledNotification scheduledNotification : getAll()) {
+			visitor.visit(scheduledNotification.getId(), scheduledNotification.getFireTime());
+		}
+	}
+
+	@Override
+	public int size() {
+		return schedulePrefs.getAll().size();
+	}
+
+	@Override
+	public void clear() {
+		schedulePrefs.edit().clear().commit();
+	}
+
+	@Override
+	public long getExternalChangeCount() {
+		// SharedPreferences are cached per process, so changes made by other processes are never seen
+		return 0;
+	}
+
+	@Override
+	public void close() {
+		// SharedPreferences are managed by the system
+	}
+
+	private static String toJson(NotificationData data, long fireTime, long occurrenceTime) throws JSONException {
+		JSONObject json = NotificationDataCodec.toJson(data);
+
+		// Inject the absolute fire time into the JSON so we know when it was supposed to fire
+		json.put(DATA_KEY_FIRE_TIME, fireTime);
+		if (occurrenceTime != fireTime) {
+			json.put(DATA_KEY_OCCURRENCE_TIME, occurrenceTime);
+		}
+
+		return json.toString();
+	}
+
+	private static ScheduledNotification fromJson(int notificationId, String jsonString) throws JSONException {
+		JSONObject json = new JSONObject(jsonString);
+		long fireTime = json.optLong(DATA_KEY_FIRE_TIME, -1);
+		return new ScheduledNotification(notificationId, NotificationDataCodec.fromJson(json), fireTime,
+				json.optLong(DATA_KEY_OCCURRENCE_TIME, fireTime));
+	}
+}
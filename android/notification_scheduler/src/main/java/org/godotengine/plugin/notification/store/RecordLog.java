@@ -0,0 +1,361 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.store;
+
+
+import org.godotengine.plugin.notification.NotificationSchedulerPlugin;
+import org.godotengine.plugin.notification.PluginLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of length-prefixed, CRC-checked records that can be shared by several processes.
+ *
+ * <p>File layout: a 16-byte header (magic, format version, generation) followed by records, each written as
+ * {@code [int length][int crc32][payload]}. A record that was only partially written (eg. the process was killed
+ * mid-write) fails the length or CRC check and is truncated away the next time the log is read.
+ *
+ * <p>Every operation holds an exclusive lock on a separate {@code .lock} file, so that the log file itself can be
+ * atomically replaced by {@link #rewrite}. The generation in the header is incremented on every rewrite, which
+ * lets other processes detect that their in-memory state is stale and must be rebuilt.
+ *
+ * <p>File locks are held on behalf of the whole process, and locking a file that the process has already locked throws
+ * {@link java.nio.channels.OverlappingFileLockException}. All logs of a process that use the same lock file therefore
+ * share a single channel, and a process-local lock is acquired before the file lock. The channel is closed once all
+ * logs that use it have been {@link #close closed}.
+ */
+class RecordLog {
+	private static final String LOG_TAG = NotificationSchedulerPlugin.LOG_TAG + "::" + RecordLog.class.getSimpleName();
+
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_SIZE = 16;
+	private static final int RECORD_HEADER_SIZE = 8;
+	private static final int MAX_RECORD_SIZE = 1024 * 1024;
+
+	interface RecordHandler {
+		/**
+		 * Called before the log is replayed from the beginning. All state derived from previous records must be discarded.
+		 */
+		void onReset();
+
+		/**
+		 * @param record buffer positioned at the start of the record's payload with its limit set to the payload's end
+		 */
+		void onRecord(ByteBuffer record);
+	}
+
+	interface Snapshot {
+		/**
+		 * @return records that fully describe the current state
+		 */
+		List<byte[]> getRecords();
+	}
+
+	/**
+	 * Lock file that is shared by the logs of this process that use it
+	 */
+	private static class SharedLock {
+		final String path;
+		final ReentrantLock processLock = new ReentrantLock();
+		FileChannel channel;
+		FileLock fileLock;
+		int useCount = 0;
+
+		SharedLock(String path) {
+			this.path = path;
+		}
+	}
+
+	private static final Map<String, SharedLock> sharedLocks = new HashMap<>();
+
+	private final File file;
+	private final File lockFile;
+	private final int magic;
+
+	private SharedLock sharedLock;
+	private long generation = -1;
+	private long position = HEADER_SIZE;
+	private int recordCount = 0;
+
+	RecordLog(File file, int magic) {
+		this.file = file;
+		this.lockFile = new File(file.getPath() + ".lock");
+		this.magic = magic;
+	}
+
+	File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return number of records in the log, including records that have been superseded by later ones
+	 */
+	synchronized int getRecordCount() {
+		return recordCount;
+	}
+
+	/**
+	 * Replays records that were appended since the last call, including records appended by other processes.
+	 */
+	synchronized void read(RecordHandler handler) throws IOException {
+		lock();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			catchUp(raf, handler);
+		} finally {
+			unlock();
+		}
+	}
+
+	/**
+	 * Replays records appended by other processes, then appends {@code records} and passes them to {@code handler}.
+	 */
+	synchronized void append(RecordHandler handler, List<byte[]> records) throws IOException {
+		lock();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			catchUp(raf, handler);
+
+			int totalSize = 0;
+			for (byte[] record : records) {
+				totalSize += RECORD_HEADER_SIZE + record.length;
+			}
+
+			// Frame all records into a single buffer so that they are appended with a single write
+			ByteBuffer buffer = ByteBuffer.allocate(totalSize);
+			CRC32 crc = new CRC32();
+			for (byte[] record : records) {
+				crc.reset();
+				crc.update(record, 0, record.length);
+				buffer.putInt(record.length);
+				buffer.putInt((int) crc.getValue());
+				buffer.put(record);
+			}
+
+			raf.seek(position);
+			raf.write(buffer.array(), 0, totalSize);
+			position += totalSize;
+			recordCount += records.size();
+
+			for (byte[] record : records) {
+				handler.onRecord(ByteBuffer.wrap(record));
+			}
+		} finally {
+			unlock();
+		}
+	}
+
+	/**
+	 * Replays records appended by other processes, then atomically replaces the log with the records returned by
+	 * {@code snapshot}.
+	 */
+	synchronized void rewrite(RecordHandler handler, Snapshot snapshot) throws IOException {
+		lock();
+		try {
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+				catchUp(raf, handler);
+			}
+
+			List<byte[]> records = snapshot.getRecords();
+			long newGeneration = generation + 1;
+			long newPosition = HEADER_SIZE;
+
+			File tempFile = new File(file.getPath() + ".tmp");
+			try (RandomAccessFile raf = new RandomAccessFile(tempFile, "rw")) {
+				raf.setLength(0);
+				writeHeader(raf, newGeneration);
+
+				CRC32 crc = new CRC32();
+				for (byte[] record : records) {
+					crc.reset();
+					crc.update(record, 0, record.length);
+					raf.writeInt(record.length);
+					raf.writeInt((int) crc.getValue());
+					raf.write(record);
+					newPosition += RECORD_HEADER_SIZE + record.length;
+				}
+
+				// Data must be on disk before the rename makes it visible
+				raf.getChannel().force(true);
+			}
+
+			if (!tempFile.renameTo(file)) {
+				throw new IOException("Failed to replace " + file.getName());
+			}
+
+			generation = newGeneration;
+			position = newPosition;
+			recordCount = records.size();
+		} finally {
+			unlock();
+		}
+	}
+
+	/**
+	 * Stops sharing the lock file with the other logs of this process, and closes it if no other log uses it. The log
+	 * shares the lock file again if it is used after it was closed.
+	 */
+	synchronized void close() {
+		if (sharedLock == null) {
+			return;
+		}
+
+		synchronized (sharedLocks) {
+			if (--sharedLock.useCount == 0) {
+				sharedLocks.remove(sharedLock.path);
+				if (sharedLock.channel != null) {
+					try {
+						sharedLock.channel.close();
+					} catch (IOException e) {
+						PluginLog.w(LOG_TAG, "Failed to close " + lockFile.getName(), e);
+					}
+				}
+			}
+		}
+		sharedLock = null;
+	}
+
+	private void lock() throws IOException {
+		if (sharedLock == null) {
+			synchronized (sharedLocks) {
+				sharedLock = sharedLocks.get(lockFile.getAbsolutePath());
+				if (sharedLock == null) {
+					sharedLock = new SharedLock(lockFile.getAbsolutePath());
+					sharedLocks.put(sharedLock.path, sharedLock);
+				}
+				sharedLock.useCount++;
+			}
+		}
+
+		sharedLock.processLock.lock();
+		if (sharedLock.processLock.getHoldCount() > 1) {
+			// The file is already locked by an enclosing operation of this thread
+			return;
+		}
+		try {
+			if (sharedLock.channel == null) {
+				File directory = file.getParentFile();
+				if (directory != null && !directory.exists() && !directory.mkdirs()) {
+					throw new IOException("Failed to create directory " + directory.getPath());
+				}
+				sharedLock.channel = new RandomAccessFile(lockFile, "rw").getChannel();
+			}
+			sharedLock.fileLock = sharedLock.channel.lock();
+		} catch (IOException | RuntimeException e) {
+			sharedLock.processLock.unlock();
+			throw e;
+		}
+	}
+
+	private void unlock() throws IOException {
+		try {
+			if (sharedLock.processLock.getHoldCount() == 1) {
+				FileLock fileLock = sharedLock.fileLock;
+				sharedLock.fileLock = null;
+				fileLock.release();
+			}
+		} finally {
+			sharedLock.processLock.unlock();
+		}
+	}
+
+	private void catchUp(RandomAccessFile raf, RecordHandler handler) throws IOException {
+		long length = raf.length();
+
+		if (length < HEADER_SIZE) {
+			// New file or torn header
+			if (generation >= 0) {
+				handler.onReset();
+			}
+			raf.setLength(0);
+			writeHeader(raf, generation + 1);
+			generation = generation + 1;
+			position = HEADER_SIZE;
+			recordCount = 0;
+			return;
+		}
+
+		raf.seek(0);
+		int fileMagic = raf.readInt();
+		int fileVersion = raf.readInt();
+		long fileGeneration = raf.readLong();
+
+		if (fileMagic != magic || fileVersion != FORMAT_VERSION) {
+			PluginLog.e(LOG_TAG, String.format("Discarding %s due to unexpected header (magic: %x, version: %d)",
+					file.getName(), fileMagic, fileVersion));
+			handler.onReset();
+			raf.setLength(0);
+			writeHeader(raf, generation + 1);
+			generation = generation + 1;
+			position = HEADER_SIZE;
+			recordCount = 0;
+			return;
+		}
+
+		if (fileGeneration != generation || position > length) {
+			// Log was rewritten by another process (or never read by this one)
+			handler.onReset();
+			generation = fileGeneration;
+			position = HEADER_SIZE;
+			recordCount = 0;
+		}
+
+		if (position == length) {
+			return;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate((int) (length - position));
+		raf.seek(position);
+		raf.readFully(buffer.array());
+
+		CRC32 crc = new CRC32();
+		int goodEnd = 0;
+		while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+			int recordLength = buffer.getInt();
+			int recordCrc = buffer.getInt();
+
+			if (recordLength < 0 || recordLength > MAX_RECORD_SIZE || recordLength > buffer.remaining()) {
+				break;
+			}
+
+			crc.reset();
+			crc.update(buffer.array(), buffer.position(), recordLength);
+			if ((int) crc.getValue() != recordCrc) {
+				break;
+			}
+
+			ByteBuffer record = buffer.slice();
+			record.limit(recordLength);
+			handler.onRecord(record);
+
+			buffer.position(buffer.position() + recordLength);
+			goodEnd = buffer.position();
+			recordCount++;
+		}
+
+		if (goodEnd < buffer.capacity()) {
+			PluginLog.w(LOG_TAG, String.format("Truncating %d bytes of incomplete record data from %s",
+					buffer.capacity() - goodEnd, file.getName()));
+			raf.setLength(position + goodEnd);
+		}
+
+		position += goodEnd;
+	}
+
+	private void writeHeader(RandomAccessFile raf, long headerGeneration) throws IOException {
+		raf.seek(0);
+		raf.writeInt(magic);
+		raf.writeInt(FORMAT_VERSION);
+		raf.writeLong(headerGeneration);
+	}
+}
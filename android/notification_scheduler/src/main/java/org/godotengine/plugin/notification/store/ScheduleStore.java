@@ -0,0 +1,84 @@
+//
+// © 2024-present https://github.com/cengiz-pz
+//
+
+package org.godotengine.plugin.notification.store;
+
+import androidx.annotation.Nullable;
+
+import org.godotengine.plugin.notification.model.NotificationData;
+import org.godotengine.plugin.notification.model.ScheduledNotification;
+
+import java.util.List;
+
+/**
+ * Persistent storage for scheduled notifications, used to restore alarms after reboot. Implementations must be
+ * thread-safe.
+ */
+public interface ScheduleStore {
+
+	interface FireTimeVisitor {
+		void visit(int notificationId, long fireTime);
+	}
+
+	/**
+	 * @param occurrenceTime time of the occurrence before quiet hours were applied (see
+	 *                       {@link ScheduledNotification#getOccurrenceTime()})
+	 */
+	void put(NotificationData data, long fireTime, long occurrenceTime);
+
+	/**
+	 * Persists all notifications in {@code batch} in a single transaction.
+	 *
+	 * @param fireTimes absolute fire time of each element of {@code batch}, in the same order
+	 * @param occurrenceTimes time of each occurrence before quiet hours were applied, in the same order
+	 */
+	void putAll(List<NotificationData> batch, long[] fireTimes, long[] occurrenceTimes);
+
+	/**
+	 * @return true if a notification with the given ID was stored
+	 */
+	boolean remove(int notificationId);
+
+	/**
+	 * Removes all notifications with the given IDs in a single transaction.
+	 *
+	 * @return number of notifications removed
+	 */
+	int removeAll(int[] notificationIds);
+
+	@Nullable
+	ScheduledNotification get(int notificationId);
+
+	List<ScheduledNotification> getAll();
+
+	/**
+	 * Returns the stored notifications with the given IDs. IDs that are not stored are skipped.
+	 */
+	List<ScheduledNotification> getAll(int[] notificationIds);
+
+	/**
+	 * @return absolute fire time of the notification with the given ID, or -1 if it is not stored
+	 */
+	long getFireTime(int notificationId);
+
+	/**
+	 * Visits the ID and fire time of every stored notification without decoding the notification data.
+	 */
+	void forEachFireTime(FireTimeVisitor visitor);
+
+	int size();
+
+	void clear();
+
+	/**
+	 * Returns the number of changes that other processes are known to have made to the store, so that state derived
+	 * from the store can be rebuilt when it changes. Changes made through this instance are not counted.
+	 */
+	long getExternalChangeCount();
+
+	/**
+	 * Releases resources that the store holds when it is no longer used.
+	 */
+	void close();
+}
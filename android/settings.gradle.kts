@@ -23,3 +23,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "godot-notification-scheduler-plugin"
 include(":notification_scheduler")
+include(":benchmark")
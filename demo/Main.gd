@@ -14,6 +14,11 @@ extends Node
 @export var notification_title: String = "Godot Notification Scheduler Demo"
 @export var notification_text: String = "This is a demo notification. Have you received it?"
 
+@export_category("Scheduler Settings")
+# With FRAME, opened and dismissed events reach the handlers below through the notification_events batch signal.
+# With POLL, they are printed by _process().
+@export var event_delivery: SchedulerSettings.EventDelivery = SchedulerSettings.EventDelivery.SIGNALS
+
 @onready var notification_scheduler: NotificationScheduler = $NotificationScheduler as NotificationScheduler
 @onready var _label: RichTextLabel = $CanvasLayer/MainContainer/VBoxContainer/RichTextLabel as RichTextLabel
 @onready var _delay_slider: HSlider = $CanvasLayer/MainContainer/VBoxContainer/VBoxContainer/HBoxContainer/DelayHSlider as HSlider
@@ -52,7 +57,16 @@ func _ready() -> void:
 	var __popup_menu: PopupMenu = $CanvasLayer/MainContainer/VBoxContainer/VBoxContainer/ActionHBoxContainer/MenuButton.get_popup()
 	__popup_menu.id_pressed.connect(_on_notification_id_selected)
 
-	notification_scheduler.initialize()
+	notification_scheduler.initialize(SchedulerSettings.new().set_event_delivery(event_delivery))
+
+
+func _process(_delta: float) -> void:
+	if event_delivery == SchedulerSettings.EventDelivery.POLL and OS.get_name() == "Android":
+		for __event in notification_scheduler.drain_events():
+			var __notification: NotificationData = __event[NotificationScheduler.EVENT_KEY_NOTIFICATION_DATA]
+			_print_to_screen("Polled %s event of notification %d" % [
+					NotificationScheduler.EventType.find_key(__event[NotificationScheduler.EVENT_KEY_TYPE]),
+					__notification.get_id()])
 
 
 func _on_notification_scheduler_initialization_completed() -> void:
@@ -27,6 +27,7 @@ extern NSString * const PENDING_ACTION_KEY;
 @property (nonatomic) NSInteger interval;
 @property (nonatomic) NSInteger badgeCount;
 @property (nonatomic) BOOL restartApp;
+@property (nonatomic) NSTimeInterval scheduleTime; // Time when the notification was scheduled, since 1970
 @property (nonatomic, strong) NSDictionary* customData;
 @property (nonatomic, strong) UNMutableNotificationContent* notificationContent;
 
@@ -37,6 +38,8 @@ extern NSString * const PENDING_ACTION_KEY;
 - (NSString *) getKey;
 - (NSString *)getIdWithSequence:(int) sequence;
 - (BOOL) isSequenceOf:(NSString *) identifier;
+- (NSTimeInterval) getNextFireTime:(NSTimeInterval) now;
+- (NSTimeInterval) getLastFireTime:(NSTimeInterval) time;
 - (void)isUNCPending:(void (^)(BOOL isPending))handler;
 - (void)isUNCDelivered:(void (^)(BOOL isDelivered))handler;
 
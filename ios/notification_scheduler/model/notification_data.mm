@@ -24,6 +24,7 @@ static NSString * const NOTIFICATION_DEEPLINK_KEY = @"deeplink";
 static NSString * const NOTIFICATION_CUSTOM_DATA_KEY = @"custom_data";
 
 static NSString * const NOTIFICATION_RESTART_APP_KEY = @"restart_app";
+static NSString * const NOTIFICATION_SCHEDULE_TIME_KEY = @"schedule_time";
 
 static const String NOTIFICATION_ID_PROPERTY = [NSPConverter toGodotString:NOTIFICATION_ID_KEY];
 static const String NOTIFICATION_CHANNEL_ID_PROPERTY = [NSPConverter toGodotString:NOTIFICATION_CHANNEL_ID_KEY];
@@ -102,6 +103,8 @@ static const String NOTIFICATION_RESTART_APP_PROPERTY = [NSPConverter toGodotStr
 		// Unsupported fields
 		self.smallIconName = nsDict[NOTIFICATION_SMALL_ICON_NAME_KEY];
 		self.restartApp = nsDict[NOTIFICATION_RESTART_APP_KEY];
+		// Internal fields
+		self.scheduleTime = [nsDict[NOTIFICATION_SCHEDULE_TIME_KEY] doubleValue];
 	}
 	return self;
 }
@@ -180,6 +183,9 @@ static const String NOTIFICATION_RESTART_APP_PROPERTY = [NSPConverter toGodotStr
 	if (self.restartApp) {
 		dict[NOTIFICATION_RESTART_APP_KEY] = @(YES);
 	}
+	if (self.scheduleTime != 0) {
+		dict[NOTIFICATION_SCHEDULE_TIME_KEY] = @(self.scheduleTime);
+	}
 	
 	return [dict copy];
 }
@@ -196,6 +202,35 @@ static const String NOTIFICATION_RESTART_APP_PROPERTY = [NSPConverter toGodotStr
 	return [[NotificationData stripSequence:identifier] compare: self.notificationId] == NSOrderedSame;
 }
 
+// Returns the first fire time of the notification that is not before now, or -1 if it has no such fire time.
+// Notifications that were cached without their schedule time are treated as if they were scheduled now.
+- (NSTimeInterval)getNextFireTime:(NSTimeInterval) now {
+	NSTimeInterval fireTime = (self.scheduleTime > 0 ? self.scheduleTime : now) + self.delay;
+	if (fireTime >= now) {
+		return fireTime;
+	}
+	if (self.interval <= 0) {
+		return -1;
+	}
+	return fireTime + ceil((now - fireTime) / self.interval) * self.interval;
+}
+
+// Returns the last fire time of the notification that is not after time, or -1 if it has no such fire time or was
+// cached without its schedule time.
+- (NSTimeInterval)getLastFireTime:(NSTimeInterval) time {
+	if (self.scheduleTime <= 0) {
+		return -1;
+	}
+	NSTimeInterval fireTime = self.scheduleTime + self.delay;
+	if (fireTime > time) {
+		return -1;
+	}
+	if (self.interval <= 0) {
+		return fireTime;
+	}
+	return fireTime + floor((time - fireTime) / self.interval) * self.interval;
+}
+
 - (void)isUNCPending:(void (^)(BOOL isPending))handler {
 	UNUserNotificationCenter *center = [UNUserNotificationCenter currentNotificationCenter];
 	[center getPendingNotificationRequestsWithCompletionHandler:^(NSArray<UNNotificationRequest *> * _Nonnull requests) {
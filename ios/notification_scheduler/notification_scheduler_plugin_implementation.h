@@ -14,6 +14,10 @@
 extern String const INITIALIZATION_COMPLETED;
 extern String const NOTIFICATION_OPENED_SIGNAL;
 extern String const NOTIFICATION_DISMISSED_SIGNAL;
+extern String const NOTIFICATIONS_DISMISSED_BATCH_SIGNAL;
+extern String const NOTIFICATION_FIRED_SIGNAL;
+extern String const EVENTS_REPLAYED_SIGNAL;
+extern String const NOTIFICATION_EVENTS_SIGNAL;
 extern String const POST_NOTIFICATIONS_PERMISSION_GRANTED_SIGNAL;
 extern String const POST_NOTIFICATIONS_PERMISSION_DENIED_SIGNAL;
 extern String const BATTERY_OPTIMIZATIONS_PERMISSION_GRANTED_SIGNAL;
@@ -33,6 +37,8 @@ private:
 	void _process_queued_notifications();
 	void _remove_notification_from_cache(NotificationData* notificationData, NSString* notificationTypeDesc = @"");
 	void _remove_notification_from_UNC(NotificationData* notificationData);
+	int _cancel_cached_notifications(BOOL (^filter)(NotificationData* notificationData));
+	NSArray<NotificationData*>* _get_cached_notifications(BOOL (^filter)(NotificationData* notificationData));
 	void schedule_notification(NotificationData* notificationData);
 	void schedule_repeating_sequence(NotificationData* notificationData, int count);
 
@@ -40,21 +46,34 @@ public:
 	static NotificationSchedulerPlugin* get_singleton();
 
 	// Plugin methods
-	Error initialize();
+	Error initialize(Dictionary settings);
 	bool has_post_notifications_permission();
 	Error request_post_notifications_permission();
 	bool is_ignoring_battery_optimizations();
 	Error request_ignore_battery_optimizations_permission();
 	Error create_notification_channel(Dictionary dict);
+	PackedInt32Array create_notification_channels(Array channelDataArray, Array groupDataArray);
 	Error schedule(Dictionary notificationData);
+	PackedInt32Array schedule_batch(Array notificationDataArray);
 	Error cancel(int notificationId);
+	int cancel_all();
+	int cancel_by_channel(String channelId);
+	int cancel_range(int firstId, int lastId);
+	bool is_scheduled(int notificationId);
+	Array get_scheduled_notifications();
+	Array get_scheduled_by_channel(String channelId);
+	Array get_next_due(int limit);
+	Dictionary get_metrics();
 	Error set_badge_count(int badgeCount);
 	int get_notification_id(int defaultValue);
 	Error open_app_info_settings();
+	Error acknowledge_events(int sequence);
+	Array drain_events(int maxCount);
 
 	// Internal methods
 	void handle_completion(NSString* notificationId);
 	void emit_notification_event(const String &p_signal, NSString *p_notification_id);
+	void emit_notification_fired_event(NSString *p_notification_id, NSDate *p_delivery_date);
 
 	NotificationSchedulerPlugin();
 	~NotificationSchedulerPlugin();
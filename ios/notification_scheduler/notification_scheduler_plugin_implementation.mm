@@ -15,6 +15,10 @@
 String const INITIALIZATION_COMPLETED = "initialization_completed";
 String const NOTIFICATION_OPENED_SIGNAL = "notification_opened";
 String const NOTIFICATION_DISMISSED_SIGNAL = "notification_dismissed";
+String const NOTIFICATIONS_DISMISSED_BATCH_SIGNAL = "notifications_dismissed_batch";
+String const NOTIFICATION_FIRED_SIGNAL = "notification_fired";
+String const EVENTS_REPLAYED_SIGNAL = "events_replayed";
+String const NOTIFICATION_EVENTS_SIGNAL = "notification_events";
 String const POST_NOTIFICATIONS_PERMISSION_GRANTED_SIGNAL = "post_notifications_permission_granted";
 String const POST_NOTIFICATIONS_PERMISSION_DENIED_SIGNAL = "post_notifications_permission_denied";
 String const BATTERY_OPTIMIZATIONS_PERMISSION_GRANTED_SIGNAL = "battery_optimizations_permission_granted";
@@ -27,24 +31,41 @@ void NotificationSchedulerPlugin::_bind_methods() {
 	ClassDB::bind_method(D_METHOD("has_post_notifications_permission"), &NotificationSchedulerPlugin::has_post_notifications_permission);
 	ClassDB::bind_method(D_METHOD("request_post_notifications_permission"), &NotificationSchedulerPlugin::request_post_notifications_permission);
 	ClassDB::bind_method(D_METHOD("create_notification_channel"), &NotificationSchedulerPlugin::create_notification_channel);
+	ClassDB::bind_method(D_METHOD("create_notification_channels"), &NotificationSchedulerPlugin::create_notification_channels);
 	ClassDB::bind_method(D_METHOD("schedule"), &NotificationSchedulerPlugin::schedule);
+	ClassDB::bind_method(D_METHOD("schedule_batch"), &NotificationSchedulerPlugin::schedule_batch);
 	ClassDB::bind_method(D_METHOD("cancel"), &NotificationSchedulerPlugin::cancel);
+	ClassDB::bind_method(D_METHOD("cancel_all"), &NotificationSchedulerPlugin::cancel_all);
+	ClassDB::bind_method(D_METHOD("cancel_by_channel"), &NotificationSchedulerPlugin::cancel_by_channel);
+	ClassDB::bind_method(D_METHOD("cancel_range"), &NotificationSchedulerPlugin::cancel_range);
+	ClassDB::bind_method(D_METHOD("is_scheduled"), &NotificationSchedulerPlugin::is_scheduled);
+	ClassDB::bind_method(D_METHOD("get_scheduled_notifications"), &NotificationSchedulerPlugin::get_scheduled_notifications);
+	ClassDB::bind_method(D_METHOD("get_scheduled_by_channel"), &NotificationSchedulerPlugin::get_scheduled_by_channel);
+	ClassDB::bind_method(D_METHOD("get_next_due"), &NotificationSchedulerPlugin::get_next_due);
+	ClassDB::bind_method(D_METHOD("get_metrics"), &NotificationSchedulerPlugin::get_metrics);
 	ClassDB::bind_method(D_METHOD("set_badge_count"), &NotificationSchedulerPlugin::set_badge_count);
 	ClassDB::bind_method(D_METHOD("get_notification_id"), &NotificationSchedulerPlugin::get_notification_id);
 	ClassDB::bind_method(D_METHOD("open_app_info_settings"), &NotificationSchedulerPlugin::open_app_info_settings);
+	ClassDB::bind_method(D_METHOD("acknowledge_events"), &NotificationSchedulerPlugin::acknowledge_events);
+	ClassDB::bind_method(D_METHOD("drain_events"), &NotificationSchedulerPlugin::drain_events);
 	ClassDB::bind_method(D_METHOD("is_ignoring_battery_optimizations"), &NotificationSchedulerPlugin::is_ignoring_battery_optimizations);
 	ClassDB::bind_method(D_METHOD("request_ignore_battery_optimizations_permission"), &NotificationSchedulerPlugin::request_ignore_battery_optimizations_permission);
 
 	ADD_SIGNAL(MethodInfo(INITIALIZATION_COMPLETED));
 	ADD_SIGNAL(MethodInfo(NOTIFICATION_OPENED_SIGNAL, PropertyInfo(Variant::DICTIONARY, "notification_data")));
 	ADD_SIGNAL(MethodInfo(NOTIFICATION_DISMISSED_SIGNAL, PropertyInfo(Variant::DICTIONARY, "notification_data")));
+	ADD_SIGNAL(MethodInfo(NOTIFICATIONS_DISMISSED_BATCH_SIGNAL, PropertyInfo(Variant::ARRAY, "notifications")));
+	ADD_SIGNAL(MethodInfo(NOTIFICATION_FIRED_SIGNAL, PropertyInfo(Variant::DICTIONARY, "event")));
+	ADD_SIGNAL(MethodInfo(EVENTS_REPLAYED_SIGNAL, PropertyInfo(Variant::INT, "last_sequence")));
+	ADD_SIGNAL(MethodInfo(NOTIFICATION_EVENTS_SIGNAL, PropertyInfo(Variant::ARRAY, "events")));
 	ADD_SIGNAL(MethodInfo(POST_NOTIFICATIONS_PERMISSION_GRANTED_SIGNAL, PropertyInfo(Variant::STRING, "permission_name")));
 	ADD_SIGNAL(MethodInfo(POST_NOTIFICATIONS_PERMISSION_DENIED_SIGNAL, PropertyInfo(Variant::STRING, "permission_name")));
 	ADD_SIGNAL(MethodInfo(BATTERY_OPTIMIZATIONS_PERMISSION_GRANTED_SIGNAL, PropertyInfo(Variant::STRING, "permission_name")));
 	ADD_SIGNAL(MethodInfo(BATTERY_OPTIMIZATIONS_PERMISSION_DENIED_SIGNAL, PropertyInfo(Variant::STRING, "permission_name")));
 }
 
-Error NotificationSchedulerPlugin::initialize() {
+// Settings are only used on Android (the parameter is accepted for platform parity)
+Error NotificationSchedulerPlugin::initialize(Dictionary settings) {
 	NSLog(@"NotificationSchedulerPlugin initialize");
 	if (is_initialized) {
 		NSLog(@"NotificationSchedulerPlugin: ERROR: Already initialized");
@@ -232,12 +253,71 @@ Error NotificationSchedulerPlugin::create_notification_channel(Dictionary dict)
 	return OK;
 }
 
+// Channel groups are not used on iOS
+PackedInt32Array NotificationSchedulerPlugin::create_notification_channels(Array channelDataArray, Array groupDataArray) {
+	PackedInt32Array results;
+	results.resize(channelDataArray.size());
+
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		results.fill(ERR_UNCONFIGURED);
+		return results;
+	}
+
+	UNUserNotificationCenter* center = [UNUserNotificationCenter currentNotificationCenter];
+
+	// Fetch existing categories once for all channels
+	__block NSSet<UNNotificationCategory *> *existingCategories;
+	dispatch_semaphore_t sema = dispatch_semaphore_create(0);
+	[center getNotificationCategoriesWithCompletionHandler:^(NSSet<UNNotificationCategory *> * _Nonnull categories) {
+		existingCategories = categories;
+		dispatch_semaphore_signal(sema);
+	}];
+	dispatch_semaphore_wait(sema, DISPATCH_TIME_FOREVER);
+
+	NSMutableSet *updatedCategories = [existingCategories mutableCopy];
+	NSMutableSet<NSString *> *categoryIds = [NSMutableSet set];
+	for (UNNotificationCategory *category in existingCategories) {
+		[categoryIds addObject:category.identifier];
+	}
+
+	int createdCount = 0;
+	for (int i = 0; i < channelDataArray.size(); i++) {
+		if (channelDataArray[i].get_type() != Variant::DICTIONARY) {
+			NSLog(@"NotificationSchedulerPlugin: ERROR: invalid channel data object at index %d", i);
+			results.set(i, ERR_INVALID_DATA);
+			continue;
+		}
+
+		ChannelData* channelData = [[ChannelData alloc] initWithDictionary:channelDataArray[i]];
+		if ([categoryIds containsObject:channelData.channelId]) {
+			results.set(i, ERR_ALREADY_EXISTS);
+			continue;
+		}
+
+		[categoryIds addObject:channelData.channelId];
+		[updatedCategories addObject:[UNNotificationCategory categoryWithIdentifier:channelData.channelId
+				actions:@[]
+				intentIdentifiers:@[]
+				options:UNNotificationCategoryOptionHiddenPreviewsShowTitle | UNNotificationCategoryOptionCustomDismissAction]];
+		results.set(i, OK);
+		createdCount++;
+	}
+
+	if (createdCount > 0) {
+		[center setNotificationCategories:updatedCategories];
+	}
+
+	return results;
+}
+
 Error NotificationSchedulerPlugin::schedule(Dictionary dict) {
 	if (!is_initialized) {
 		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
 		return ERR_UNCONFIGURED;
 	}
 	NotificationData* notificationData = [[NotificationData alloc] initWithGodotDictionary:dict];
+	notificationData.scheduleTime = [[NSDate date] timeIntervalSince1970];
 	NSLog(@"NotificationSchedulerPlugin schedule(%@)", notificationData.notificationId);
 	
 	// Validate repeatInterval
@@ -279,6 +359,22 @@ Error NotificationSchedulerPlugin::schedule(Dictionary dict) {
 	return OK;
 }
 
+PackedInt32Array NotificationSchedulerPlugin::schedule_batch(Array notificationDataArray) {
+	PackedInt32Array results;
+	results.resize(notificationDataArray.size());
+
+	for (int i = 0; i < notificationDataArray.size(); i++) {
+		if (notificationDataArray[i].get_type() == Variant::DICTIONARY) {
+			results.set(i, schedule(notificationDataArray[i]));
+		} else {
+			NSLog(@"NotificationSchedulerPlugin: ERROR: invalid notification data object at index %d", i);
+			results.set(i, ERR_INVALID_DATA);
+		}
+	}
+
+	return results;
+}
+
 void NotificationSchedulerPlugin::schedule_notification(NotificationData* notificationData) {
 	UNTimeIntervalNotificationTrigger* trigger = [UNTimeIntervalNotificationTrigger triggerWithTimeInterval:notificationData.delay
 				repeats:NO];
@@ -376,6 +472,121 @@ Error NotificationSchedulerPlugin::cancel(int notificationId) {
 	return OK;
 }
 
+int NotificationSchedulerPlugin::cancel_all() {
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		return 0;
+	}
+	NSLog(@"NotificationSchedulerPlugin cancel_all()");
+	return _cancel_cached_notifications(^BOOL(NotificationData* notificationData) {
+		return YES;
+	});
+}
+
+int NotificationSchedulerPlugin::cancel_by_channel(String channelId) {
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		return 0;
+	}
+	NSString* nsChannelId = [NSPConverter toNsString:channelId];
+	NSLog(@"NotificationSchedulerPlugin cancel_by_channel(%@)", nsChannelId);
+	return _cancel_cached_notifications(^BOOL(NotificationData* notificationData) {
+		return [nsChannelId isEqualToString:notificationData.channelId];
+	});
+}
+
+int NotificationSchedulerPlugin::cancel_range(int firstId, int lastId) {
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		return 0;
+	}
+	NSLog(@"NotificationSchedulerPlugin cancel_range(%d, %d)", firstId, lastId);
+	return _cancel_cached_notifications(^BOOL(NotificationData* notificationData) {
+		int notificationId = [notificationData.notificationId intValue];
+		return notificationId >= firstId && notificationId <= lastId;
+	});
+}
+
+bool NotificationSchedulerPlugin::is_scheduled(int notificationId) {
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		return false;
+	}
+	NSString* key = [NotificationData toKey:[NSString stringWithFormat:@"%d", notificationId]];
+	NSDictionary* notificationDict = [[NSUserDefaults standardUserDefaults] dictionaryForKey:key];
+	if (notificationDict == nil) {
+		return false;
+	}
+	NotificationData* notificationData = [[NotificationData alloc] initWithNsDictionary:notificationDict];
+	return [notificationData getNextFireTime:[[NSDate date] timeIntervalSince1970]] >= 0;
+}
+
+Array NotificationSchedulerPlugin::get_scheduled_notifications() {
+	Array result;
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		return result;
+	}
+	for (NotificationData* notificationData in _get_cached_notifications(^BOOL(NotificationData* notificationData) {
+		return YES;
+	})) {
+		result.append([notificationData toGodotDictionary]);
+	}
+	return result;
+}
+
+Array NotificationSchedulerPlugin::get_scheduled_by_channel(String channelId) {
+	Array result;
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		return result;
+	}
+	NSString* nsChannelId = [NSPConverter toNsString:channelId];
+	for (NotificationData* notificationData in _get_cached_notifications(^BOOL(NotificationData* notificationData) {
+		return [nsChannelId isEqualToString:notificationData.channelId];
+	})) {
+		result.append([notificationData toGodotDictionary]);
+	}
+	return result;
+}
+
+Array NotificationSchedulerPlugin::get_next_due(int limit) {
+	Array result;
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		return result;
+	}
+	NSTimeInterval now = [[NSDate date] timeIntervalSince1970];
+	NSArray<NotificationData*>* notifications = [_get_cached_notifications(^BOOL(NotificationData* notificationData) {
+		return YES;
+	}) sortedArrayUsingComparator:^NSComparisonResult(NotificationData* first, NotificationData* second) {
+		NSTimeInterval firstFireTime = [first getNextFireTime:now];
+		NSTimeInterval secondFireTime = [second getNextFireTime:now];
+		return firstFireTime < secondFireTime ? NSOrderedAscending
+				: firstFireTime > secondFireTime ? NSOrderedDescending : NSOrderedSame;
+	}];
+	for (NotificationData* notificationData in notifications) {
+		if (result.size() >= limit) {
+			break;
+		}
+		result.append([notificationData toGodotDictionary]);
+	}
+	return result;
+}
+
+// Only the number of scheduled notifications is tracked on iOS
+Dictionary NotificationSchedulerPlugin::get_metrics() {
+	Dictionary metrics;
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		return metrics;
+	}
+	metrics["store_size"] = (int) [_get_cached_notifications(^BOOL(NotificationData* notificationData) {
+		return YES;
+	}) count];
+	return metrics;
+}
+
 Error NotificationSchedulerPlugin::set_badge_count(int badgeCount) {
 	if (!is_initialized) {
 		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
@@ -421,6 +632,23 @@ Error NotificationSchedulerPlugin::open_app_info_settings() {
 	return OK;
 }
 
+// Events are not stored for replay on iOS, so there is nothing to acknowledge
+Error NotificationSchedulerPlugin::acknowledge_events(int sequence) {
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+		return ERR_UNCONFIGURED;
+	}
+	return OK;
+}
+
+// Events are not queued on iOS, where they are always delivered with their own signals
+Array NotificationSchedulerPlugin::drain_events(int maxCount) {
+	if (!is_initialized) {
+		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
+	}
+	return Array();
+}
+
 void NotificationSchedulerPlugin::emit_notification_event(const String &p_signal, NSString *p_notification_id) {
 	if (!is_initialized) {
 		NSLog(@"emit_notification_event: Plugin not initialized, skipping emit for ID %@", p_notification_id);
@@ -439,6 +667,35 @@ void NotificationSchedulerPlugin::emit_notification_event(const String &p_signal
 	NSLog(@"emit_notification_event: Emitted signal '%s' with data for base ID '%@'", p_signal.utf8().get_data(), base_id);
 }
 
+// Emitted for notifications that are presented while the app is in the foreground, as iOS does not notify the app of
+// notifications that are delivered while it is in the background
+void NotificationSchedulerPlugin::emit_notification_fired_event(NSString *p_notification_id, NSDate *p_delivery_date) {
+	if (!is_initialized) {
+		NSLog(@"emit_notification_fired_event: Plugin not initialized, skipping emit for ID %@", p_notification_id);
+		return;
+	}
+	NSString *base_id = [NotificationData stripSequence: p_notification_id];
+	NSDictionary *notificationDict = [[NSUserDefaults standardUserDefaults] dictionaryForKey: [NotificationData toKey: base_id]];
+	if (notificationDict == nil) {
+		NSLog(@"emit_notification_fired_event: WARNING: No cached data for base ID '%@'", base_id);
+		return;
+	}
+	NotificationData *notificationData = [[NotificationData alloc] initWithNsDictionary:notificationDict];
+
+	// The delivery date of a notification is the date its trigger fired, which is the scheduled time truncated to whole
+	// seconds. The scheduled time is the last occurrence of the notification before then.
+	int64_t deliveredTimeMs = (int64_t) ([[NSDate date] timeIntervalSince1970] * 1000.0);
+	NSTimeInterval scheduledTime = [notificationData getLastFireTime:[p_delivery_date timeIntervalSince1970] + 1];
+	int64_t scheduledTimeMs = scheduledTime < 0 ? deliveredTimeMs : (int64_t) (scheduledTime * 1000.0);
+
+	Dictionary event;
+	event["notification_data"] = [notificationData toGodotDictionary];
+	event["scheduled_time_ms"] = scheduledTimeMs;
+	event["delivered_time_ms"] = deliveredTimeMs;
+	event["lateness_ms"] = deliveredTimeMs - scheduledTimeMs;
+	emit_signal(NOTIFICATION_FIRED_SIGNAL, event);
+}
+
 void NotificationSchedulerPlugin::handle_completion(NSString* notificationId) {
 	if (!is_initialized) {
 		NSLog(@"NotificationSchedulerPlugin: ERROR: Plugin not initialized");
@@ -498,6 +755,53 @@ void NotificationSchedulerPlugin::handle_completion(NSString* notificationId) {
 	}
 }
 
+// Cancel all notifications in plugin's cache that match the filter
+int NotificationSchedulerPlugin::_cancel_cached_notifications(BOOL (^filter)(NotificationData* notificationData)) {
+	NSDictionary* cache = [[NSUserDefaults standardUserDefaults] dictionaryRepresentation];
+	int cancelledCount = 0;
+
+	for (NSString* key in cache) {
+		id value = cache[key];
+		if (![key hasPrefix:NOTIFICATION_KEY_PREFIX] || ![value isKindOfClass:[NSDictionary class]]) {
+			continue;
+		}
+
+		NotificationData* notificationData = [[NotificationData alloc] initWithNsDictionary:value];
+		if (filter(notificationData) && cancel([notificationData.notificationId intValue]) == OK) {
+			cancelledCount++;
+		}
+	}
+
+	return cancelledCount;
+}
+
+// Returns the notifications in plugin's cache that match the filter and have not been delivered yet (or repeat), in
+// ascending ID order
+NSArray<NotificationData*>* NotificationSchedulerPlugin::_get_cached_notifications(BOOL (^filter)(NotificationData* notificationData)) {
+	NSDictionary* cache = [[NSUserDefaults standardUserDefaults] dictionaryRepresentation];
+	NSTimeInterval now = [[NSDate date] timeIntervalSince1970];
+	NSMutableArray<NotificationData*>* notifications = [NSMutableArray array];
+
+	for (NSString* key in cache) {
+		id value = cache[key];
+		if (![key hasPrefix:NOTIFICATION_KEY_PREFIX] || ![value isKindOfClass:[NSDictionary class]]) {
+			continue;
+		}
+
+		NotificationData* notificationData = [[NotificationData alloc] initWithNsDictionary:value];
+		if ([notificationData getNextFireTime:now] >= 0 && filter(notificationData)) {
+			[notifications addObject:notificationData];
+		}
+	}
+
+	[notifications sortUsingComparator:^NSComparisonResult(NotificationData* first, NotificationData* second) {
+		int firstId = [first.notificationId intValue];
+		int secondId = [second.notificationId intValue];
+		return firstId < secondId ? NSOrderedAscending : firstId > secondId ? NSOrderedDescending : NSOrderedSame;
+	}];
+	return notifications;
+}
+
 // Remove persisted data from NSUserDefaults
 void NotificationSchedulerPlugin::_remove_notification_from_cache(NotificationData* notificationData, NSString* notificationTypeDesc) {
 	NSUserDefaults *defaults = [NSUserDefaults standardUserDefaults];
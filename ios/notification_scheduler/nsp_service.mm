@@ -91,6 +91,7 @@ static NSPServiceInitializer initializer;
 	completionHandler(UNNotificationPresentationOptionSound | UNNotificationPresentationOptionBanner);
 	NotificationSchedulerPlugin *plugin = NotificationSchedulerPlugin::get_singleton();
 	if (plugin) {
+		plugin->emit_notification_fired_event(notificationId, notification.date);
 		plugin->emit_notification_event(NOTIFICATION_OPENED_SIGNAL, notificationId);
 		plugin->handle_completion(notificationId);
 	} else {